@@ -100,6 +100,30 @@ INSERT INTO `movimientos` VALUES (2575.00,575.00,'2024-07-27 20:28:25.064000',1,
 /*!40000 ALTER TABLE `movimientos` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `movimientos_seq`
+--
+
+DROP TABLE IF EXISTS `movimientos_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `movimientos_seq` (
+  `secuencia` varchar(255) NOT NULL,
+  `siguiente_valor` bigint DEFAULT NULL,
+  PRIMARY KEY (`secuencia`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `movimientos_seq`
+--
+
+LOCK TABLES `movimientos_seq` WRITE;
+/*!40000 ALTER TABLE `movimientos_seq` DISABLE KEYS */;
+INSERT INTO `movimientos_seq` VALUES ('movimientos',4);
+/*!40000 ALTER TABLE `movimientos_seq` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `personas`
 --
@@ -128,6 +152,30 @@ LOCK TABLES `personas` WRITE;
 INSERT INTO `personas` VALUES (25,1,'Otavalo sn y principal','Masculino','1718891111','Jose Lema','098254785'),(25,2,'Amazonas y NNUU ','Femenino','1718892222','Marianela Montalvo','097548965'),(30,3,'13 junio y Equinoccial','Masculino','1718893333','Juan Osorio ','098874587');
 /*!40000 ALTER TABLE `personas` ENABLE KEYS */;
 UNLOCK TABLES;
+
+--
+-- Table structure for table `personas_seq`
+--
+
+DROP TABLE IF EXISTS `personas_seq`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `personas_seq` (
+  `secuencia` varchar(255) NOT NULL,
+  `siguiente_valor` bigint DEFAULT NULL,
+  PRIMARY KEY (`secuencia`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `personas_seq`
+--
+
+LOCK TABLES `personas_seq` WRITE;
+/*!40000 ALTER TABLE `personas_seq` DISABLE KEYS */;
+INSERT INTO `personas_seq` VALUES ('personas',4);
+/*!40000 ALTER TABLE `personas_seq` ENABLE KEYS */;
+UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
 
 /*!40101 SET SQL_MODE=@OLD_SQL_MODE */;
@@ -0,0 +1,122 @@
+package com.proyecto.neo.app.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara los resultados de una corrida de JMH contra una línea base y termina
+ * con código 1 si algún benchmark empeoró más que el umbral.
+ * <p>
+ * Uso: {@code CompararResultados <baseline.json> <resultados.json> [umbral %]}.
+ * En modo throughput un valor mayor es mejor; en los demás modos, menor.
+ * <p>
+ * Un empeoramiento cuenta como regresión solo si además los intervalos de
+ * confianza al 99,9% de JMH no se solapan; si no, es ruido. Sin intervalo (una
+ * sola iteración de medición) o con iteraciones, tiempos o forks distintos de
+ * los de la línea base, el benchmark se informa como no comparable y no se
+ * juzga.
+ */
+public class CompararResultados {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: CompararResultados <baseline.json> <resultados.json> [umbral %]");
+            System.exit(2);
+        }
+        double umbral = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, Resultado> base = leer(new File(args[0]));
+        Map<String, Resultado> actual = leer(new File(args[1]));
+
+        int regresiones = 0;
+        int noComparables = 0;
+        System.out.printf("%-90s %24s %24s %9s%n", "Benchmark", "Base", "Actual", "Cambio");
+        for (Map.Entry<String, Resultado> entrada : actual.entrySet()) {
+            Resultado resultado = entrada.getValue();
+            Resultado anterior = base.get(entrada.getKey());
+            if (anterior == null) {
+                System.out.printf("%-90s %24s %24s %9s%n", entrada.getKey(), "-", resultado, "nuevo");
+                continue;
+            }
+            // Positivo siempre significa peor, sin importar el modo
+            double cambio = (resultado.valor - anterior.valor) / anterior.valor * 100;
+            if (resultado.mayorEsMejor) {
+                cambio = -cambio;
+            }
+
+            String nota;
+            if (!anterior.configuracion.equals(resultado.configuracion)) {
+                noComparables++;
+                nota = "  NO COMPARABLE (base " + anterior.configuracion + ", actual " + resultado.configuracion + ")";
+            } else if (!anterior.tieneIntervalo() || !resultado.tieneIntervalo()) {
+                noComparables++;
+                nota = "  NO COMPARABLE (sin intervalo de confianza)";
+            } else if (cambio > umbral && resultado.peorSinSolaparCon(anterior)) {
+                regresiones++;
+                nota = "  REGRESIÓN";
+            } else {
+                nota = "";
+            }
+            System.out.printf("%-90s %24s %24s %+8.1f%%%s%n", entrada.getKey(), anterior, resultado, cambio, nota);
+        }
+
+        if (noComparables > 0) {
+            System.out.printf("%d benchmark(s) no se pudieron comparar con la línea base%n", noComparables);
+        }
+        if (regresiones > 0) {
+            System.out.printf("%d benchmark(s) empeoraron más de %.1f%% fuera del intervalo de confianza%n",
+                    regresiones, umbral);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Resultado> leer(File archivo) throws IOException {
+        Map<String, Resultado> resultados = new TreeMap<>();
+        for (JsonNode corrida : new ObjectMapper().readTree(archivo)) {
+            StringBuilder clave = new StringBuilder(corrida.path("benchmark").asText());
+            Map<String, String> parametros = new LinkedHashMap<>();
+            corrida.path("params").fields().forEachRemaining(p -> parametros.put(p.getKey(), p.getValue().asText()));
+            if (!parametros.isEmpty()) {
+                clave.append(parametros);
+            }
+            String modo = corrida.path("mode").asText();
+            JsonNode metrica = corrida.path("primaryMetric");
+            clave.append(" (").append(modo).append(", ").append(metrica.path("scoreUnit").asText()).append(')');
+            String configuracion = String.format("%dx%s/%dx%s, %d fork(s), %d hilo(s)",
+                    corrida.path("warmupIterations").asInt(), corrida.path("warmupTime").asText(),
+                    corrida.path("measurementIterations").asInt(), corrida.path("measurementTime").asText(),
+                    corrida.path("forks").asInt(), corrida.path("threads").asInt());
+            JsonNode intervalo = metrica.path("scoreConfidence");
+            resultados.put(clave.toString(), new Resultado(metrica.path("score").asDouble(),
+                    intervalo.path(0).asDouble(Double.NaN), intervalo.path(1).asDouble(Double.NaN),
+                    "thrpt".equals(modo), configuracion));
+        }
+        return resultados;
+    }
+
+    private record Resultado(double valor, double minimo, double maximo, boolean mayorEsMejor,
+            String configuracion) {
+
+        boolean tieneIntervalo() {
+            return !Double.isNaN(minimo) && !Double.isNaN(maximo);
+        }
+
+        // Todo el intervalo de este resultado queda del lado peor del de la base
+        boolean peorSinSolaparCon(Resultado base) {
+            return mayorEsMejor ? maximo < base.minimo : minimo > base.maximo;
+        }
+
+        @Override
+        public String toString() {
+            return tieneIntervalo()
+                    ? String.format("%.3f ± %.3f", valor, (maximo - minimo) / 2)
+                    : String.format("%.3f", valor);
+        }
+    }
+}
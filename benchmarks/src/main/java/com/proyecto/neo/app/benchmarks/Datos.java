@@ -0,0 +1,87 @@
+package com.proyecto.neo.app.benchmarks;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import com.proyecto.neo.app.movimientos.dto.ReporteFilaDto;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.SaldoDiario;
+
+/**
+ * Datos sintéticos y reproducibles para los benchmarks: mismas cuentas y
+ * movimientos en cada corrida, para que los resultados sean comparables.
+ */
+final class Datos {
+
+    static final LocalDate DESDE = LocalDate.of(2024, 1, 1);
+
+    private Datos() {
+    }
+
+    /**
+     * Filas de reporte de un cliente, ordenadas por cuenta y fecha como las
+     * devuelve la consulta, con un movimiento por día desde {@link #DESDE}.
+     */
+    static List<ReporteFilaDto> filas(int cuentas, int movimientosPorCuenta) {
+        Random aleatorio = new Random(42);
+        List<ReporteFilaDto> filas = new ArrayList<>(cuentas * movimientosPorCuenta);
+        for (int c = 0; c < cuentas; c++) {
+            String numeroCuenta = numeroCuenta(c);
+            Dinero saldo = Dinero.valueOf("1000.00");
+            for (int m = 0; m < movimientosPorCuenta; m++) {
+                Dinero valor = valor(aleatorio);
+                saldo = saldo.sumar(valor);
+                filas.add(new ReporteFilaDto(numeroCuenta, "Ahorro", saldo, fecha(DESDE.plusDays(m)),
+                        valor.esNegativo() ? "Retiro" : "Deposito", valor, saldo));
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * Resúmenes diarios que corresponden a {@link #filas(int, int)}: uno por
+     * cuenta y día.
+     */
+    static List<SaldoDiario> saldos(List<ReporteFilaDto> filas) {
+        List<SaldoDiario> saldos = new ArrayList<>(filas.size());
+        for (ReporteFilaDto fila : filas) {
+            SaldoDiario saldo = new SaldoDiario();
+            saldo.setNumeroCuenta(fila.getNumeroCuenta());
+            saldo.setFecha(fila.getFecha().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+            saldo.setSaldoCierre(fila.getSaldo());
+            saldo.setTotalDebitos(fila.getValor().esNegativo() ? fila.getValor().negar() : Dinero.CERO);
+            saldo.setTotalCreditos(fila.getValor().esNegativo() ? Dinero.CERO : fila.getValor());
+            saldo.setCantidadMovimientos(1L);
+            saldos.add(saldo);
+        }
+        return saldos;
+    }
+
+    /**
+     * Valores de movimiento con dos decimales, entre -100 y 200.
+     */
+    static Dinero[] valores(int cantidad) {
+        Random aleatorio = new Random(42);
+        Dinero[] valores = new Dinero[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = valor(aleatorio);
+        }
+        return valores;
+    }
+
+    static String numeroCuenta(int indice) {
+        return String.format("%010d", 9_000_000_000L + indice);
+    }
+
+    static Date fecha(LocalDate dia) {
+        return Date.from(dia.atTime(10, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static Dinero valor(Random aleatorio) {
+        return Dinero.deCentavos(aleatorio.nextInt(30_000) - 10_000);
+    }
+}
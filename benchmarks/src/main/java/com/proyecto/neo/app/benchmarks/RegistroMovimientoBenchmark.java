@@ -0,0 +1,73 @@
+package com.proyecto.neo.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.proyecto.neo.app.movimientos.MovimientosApplication;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.services.MovimientoService;
+
+/**
+ * Registro de un movimiento a través de la capa de servicio, con la aplicación
+ * completa sobre H2 en memoria: transacción, actualización del saldo, inserción
+ * del movimiento y del resumen diario. Mide ambas estrategias de registro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RegistroMovimientoBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean atomico;
+
+    private ConfigurableApplicationContext contexto;
+    private MovimientoService movimientoService;
+    private String numeroCuenta;
+
+    @Setup
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(MovimientosApplication.class)
+                .profiles("benchmark")
+                .properties("movimientos.registro.atomico=" + atomico)
+                .run();
+        movimientoService = contexto.getBean(MovimientoService.class);
+
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta(Datos.numeroCuenta(0));
+        cuenta.setTipoCuenta("Ahorro");
+        cuenta.setSaldoInicial(Dinero.valueOf("1000.00"));
+        cuenta.setEstado(Boolean.TRUE);
+        cuenta.setClienteId(7L);
+        numeroCuenta = contexto.getBean(CuentaRepository.class).save(cuenta).getNumeroCuenta();
+    }
+
+    @TearDown
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Movimiento registrarDeposito() {
+        return movimientoService.registerMovement(numeroCuenta, "Deposito", Dinero.valueOf("10.00"));
+    }
+}
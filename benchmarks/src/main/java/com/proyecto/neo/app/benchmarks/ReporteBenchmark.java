@@ -0,0 +1,57 @@
+package com.proyecto.neo.app.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
+import com.proyecto.neo.app.movimientos.dto.ReporteFilaDto;
+import com.proyecto.neo.app.movimientos.entities.SaldoDiario;
+import com.proyecto.neo.app.movimientos.services.ReporteService;
+
+/**
+ * Armado del reporte de estado de cuenta a partir de las filas de la consulta
+ * y los resúmenes diarios, sin base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReporteBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int cuentas;
+
+    @Param({ "10", "100", "1000" })
+    public int movimientosPorCuenta;
+
+    private List<ReporteFilaDto> filas;
+    private List<SaldoDiario> saldos;
+    private LocalDate hasta;
+
+    @Setup
+    public void preparar() {
+        filas = Datos.filas(cuentas, movimientosPorCuenta);
+        saldos = Datos.saldos(filas);
+        hasta = Datos.DESDE.plusDays(movimientosPorCuenta);
+    }
+
+    @Benchmark
+    public EstadoCuentaDto ensamblarReporte() {
+        return ReporteService.ensamblarReporte(7L, "Jose Lema", filas, saldos, Datos.DESDE, hasta);
+    }
+}
@@ -0,0 +1,67 @@
+package com.proyecto.neo.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+
+/**
+ * Aritmética de saldos con Dinero tal como la hacen el registro de
+ * movimientos (sumar y validar que el saldo no quede negativo) y los resúmenes
+ * diarios (acumular débitos y créditos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SaldoBenchmark {
+
+    @Param({ "1000" })
+    public int movimientos;
+
+    private Dinero[] valores;
+
+    @Setup
+    public void preparar() {
+        valores = Datos.valores(movimientos);
+    }
+
+    @Benchmark
+    public Dinero aplicarMovimientos() {
+        Dinero saldo = Dinero.valueOf("1000000.00");
+        for (Dinero valor : valores) {
+            Dinero nuevoSaldo = saldo.sumar(valor);
+            if (!nuevoSaldo.esNegativo()) {
+                saldo = nuevoSaldo;
+            }
+        }
+        return saldo;
+    }
+
+    @Benchmark
+    public Dinero[] acumularDebitosYCreditos() {
+        Dinero debitos = Dinero.CERO;
+        Dinero creditos = Dinero.CERO;
+        for (Dinero valor : valores) {
+            if (valor.esNegativo()) {
+                debitos = debitos.restar(valor);
+            } else {
+                creditos = creditos.sumar(valor);
+            }
+        }
+        return new Dinero[] { debitos, creditos };
+    }
+}
@@ -0,0 +1,59 @@
+package com.proyecto.neo.app.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
+import com.proyecto.neo.app.movimientos.dto.ReporteFilaDto;
+import com.proyecto.neo.app.movimientos.services.ReporteService;
+
+/**
+ * Serialización a JSON de reportes grandes, con un ObjectMapper configurado
+ * como el de Spring Boot. La salida se descarta para medir solo Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializacionBenchmark {
+
+    @Param({ "10", "100" })
+    public int cuentas;
+
+    @Param({ "100", "1000" })
+    public int movimientosPorCuenta;
+
+    private ObjectMapper objectMapper;
+    private EstadoCuentaDto reporte;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ReporteFilaDto> filas = Datos.filas(cuentas, movimientosPorCuenta);
+        reporte = ReporteService.ensamblarReporte(7L, "Jose Lema", filas, Datos.saldos(filas), Datos.DESDE,
+                Datos.DESDE.plusDays(movimientosPorCuenta));
+    }
+
+    @Benchmark
+    public void serializarReporte() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), reporte);
+    }
+}
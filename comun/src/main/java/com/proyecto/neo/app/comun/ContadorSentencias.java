@@ -0,0 +1,19 @@
+package com.proyecto.neo.app.comun;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta en el {@link PerfilSql} activo del hilo actual las sentencias SQL que
+ * prepara Hibernate, con su forma para detectar consultas repetidas. Se
+ * registra como inspector de sentencias de Hibernate; sin un perfil activo no
+ * hace nada. Las sentencias que no pasan por Hibernate no se cuentan, aunque
+ * sus filas y su tiempo sí se midan.
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        PerfilSql.registrarSentencia(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,56 @@
+package com.proyecto.neo.app.comun;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Codifica la posición de la última fila devuelta en un token opaco, para que la
+ * página siguiente se pida por clave (keyset) y no por desplazamiento.
+ */
+public final class Continuacion {
+
+    private static final String SEPARADOR = "\n";
+
+    private Continuacion() {
+    }
+
+    public static String codificar(String... claves) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARADOR, claves).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decodificar(String token, int cantidadClaves) {
+        String[] claves;
+        try {
+            claves = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARADOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token de continuación inválido", e);
+        }
+        if (claves.length != cantidadClaves) {
+            throw new IllegalArgumentException("Token de continuación inválido");
+        }
+        return claves;
+    }
+
+    public static int tamanioValido(int tamanio) {
+        if (tamanio < 1 || tamanio > 500) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y 500");
+        }
+        return tamanio;
+    }
+
+    /**
+     * Arma la página a partir de una consulta que pidió una fila más que el
+     * tamaño de página: si esa fila existe, hay página siguiente.
+     */
+    public static <T> PaginaDto<T> pagina(List<T> filas, int tamanio, Function<T, String[]> claves) {
+        if (filas.size() <= tamanio) {
+            return new PaginaDto<>(filas, null);
+        }
+        List<T> elementos = new ArrayList<>(filas.subList(0, tamanio));
+        return new PaginaDto<>(elementos, codificar(claves.apply(elementos.get(tamanio - 1))));
+    }
+}
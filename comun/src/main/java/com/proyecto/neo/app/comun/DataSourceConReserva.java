@@ -0,0 +1,98 @@
+package com.proyecto.neo.app.comun;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Pool de conexiones con una reserva para quien ya tiene una conexión abierta.
+ * <p>
+ * Hibernate reserva los bloques de identificadores de las tablas generadoras
+ * (movimientos_seq, personas_seq) en una transacción aparte, con una segunda
+ * conexión, mientras el resto de los hilos que insertan esperan ese bloque
+ * reteniendo la suya. Si esos hilos ocupan todo el pool, la segunda conexión
+ * nunca llega y todos quedan bloqueados hasta agotar el timeout. Las conexiones
+ * que pide un hilo que ya tiene una salen de la reserva, que nunca usan las
+ * solicitudes de primer nivel, así que no pueden quedar detrás de ellas.
+ * <p>
+ * Las tablas generadoras se mantienen porque MySQL no tiene secuencias y con
+ * IDENTITY Hibernate no puede agrupar los inserts en lotes.
+ */
+public class DataSourceConReserva extends DelegatingDataSource implements AutoCloseable {
+
+    private final DataSource reserva;
+
+    // Conexiones abiertas por cada hilo, sumando las de ambos pools
+    private final ThreadLocal<int[]> abiertas = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DataSourceConReserva(DataSource principal, DataSource reserva) {
+        super(principal);
+        this.reserva = reserva;
+    }
+
+    /**
+     * Crea la reserva como un pool aparte con la misma configuración que el
+     * principal, sin conexiones ociosas.
+     *
+     * @param principal  el pool de la aplicación.
+     * @param conexiones el tamaño máximo de la reserva.
+     * @return el pool principal con su reserva.
+     */
+    public static DataSourceConReserva sobre(HikariDataSource principal, int conexiones) {
+        HikariConfig reserva = new HikariConfig();
+        principal.copyStateTo(reserva);
+        reserva.setPoolName("HikariPool-reserva");
+        reserva.setMaximumPoolSize(conexiones);
+        reserva.setMinimumIdle(0);
+        return new DataSourceConReserva(principal, new HikariDataSource(reserva));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int[] contador = abiertas.get();
+        Connection conexion = contador[0] == 0 ? obtainTargetDataSource().getConnection() : reserva.getConnection();
+        contador[0]++;
+        return contarCierre(conexion, contador);
+    }
+
+    public DataSource getReserva() {
+        return reserva;
+    }
+
+    private static Connection contarCierre(Connection conexion, int[] contador) {
+        boolean[] cerrada = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(DataSourceConReserva.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("close") && !cerrada[0]) {
+                        cerrada[0] = true;
+                        contador[0]--;
+                    }
+                    if (metodo.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return metodo.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable principal) {
+            principal.close();
+        }
+        if (reserva instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+    }
+}
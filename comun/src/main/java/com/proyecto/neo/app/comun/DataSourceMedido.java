@@ -0,0 +1,120 @@
+package com.proyecto.neo.app.comun;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Suma al {@link PerfilSql} activo las filas leídas o modificadas por cada
+ * sentencia que se ejecuta con las conexiones de este pool y su tiempo de
+ * ejecución, sin contar la lectura de los resultados. Las sentencias en sí las
+ * cuenta {@link ContadorSentencias}. Las conexiones que se piden sin un perfil
+ * activo, como las de las tareas en segundo plano, se entregan sin envolver.
+ */
+public class DataSourceMedido extends DelegatingDataSource implements AutoCloseable {
+
+    public DataSourceMedido(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection conexion = obtainTargetDataSource().getConnection();
+        return PerfilSql.activo() ? medir(Connection.class, conexion) : conexion;
+    }
+
+    /**
+     * Envuelve un objeto JDBC. Las sentencias que crea una conexión y los
+     * resultados que devuelve una sentencia también se envuelven.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T medir(Class<T> tipo, T objeto) {
+        return (T) Proxy.newProxyInstance(DataSourceMedido.class.getClassLoader(), new Class<?>[] { tipo },
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    if (objeto instanceof Statement && metodo.getName().startsWith("execute")) {
+                        return ejecutar((Statement) objeto, metodo, args);
+                    }
+                    Object resultado = invocar(objeto, metodo, args);
+                    return envolver(metodo, args, resultado);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object envolver(Method metodo, Object[] args, Object resultado) {
+        if (resultado instanceof ResultSet resultSet && metodo.getName().equals("getResultSet")) {
+            return contarFilas(resultSet);
+        }
+        if (resultado instanceof Statement sentencia && metodo.getDeclaringClass() == Connection.class) {
+            Class<? extends Statement> tipo = sentencia instanceof CallableStatement ? CallableStatement.class
+                    : sentencia instanceof PreparedStatement ? PreparedStatement.class
+                            : Statement.class;
+            return medir((Class<Statement>) tipo, sentencia);
+        }
+        return resultado;
+    }
+
+    private static Object ejecutar(Statement sentencia, Method metodo, Object[] args) throws Throwable {
+        long inicio = System.nanoTime();
+        Object resultado = invocar(sentencia, metodo, args);
+        long duracion = System.nanoTime() - inicio;
+
+        long filas = 0;
+        if (resultado instanceof int[] lote) {
+            for (int afectadas : lote) {
+                filas += Math.max(afectadas, 0);
+            }
+        } else if (resultado instanceof long[] lote) {
+            for (long afectadas : lote) {
+                filas += Math.max(afectadas, 0);
+            }
+        } else if (resultado instanceof Number afectadas) {
+            filas = Math.max(afectadas.longValue(), 0);
+        }
+        PerfilSql.registrarEjecucion(filas, duracion);
+
+        // Las filas de una consulta se suman a medida que se leen
+        return resultado instanceof ResultSet resultSet ? contarFilas(resultSet) : resultado;
+    }
+
+    private static ResultSet contarFilas(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(DataSourceMedido.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    Object resultado = invocar(resultSet, metodo, args);
+                    if (metodo.getName().equals("next") && Boolean.TRUE.equals(resultado)) {
+                        PerfilSql.sumarFilas(1);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Object invocar(Object objeto, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(objeto, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.proyecto.neo.app.comun;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envía las transacciones de solo lectura a una réplica y todo lo demás al
+ * primario.
+ * <p>
+ * La conexión se pide recién con la primera sentencia, cuando la transacción
+ * ya quedó marcada como de solo lectura; por eso el enrutador va detrás de un
+ * {@link LazyConnectionDataSourceProxy}. Una transacción de solo lectura que
+ * participa de otra de escritura sigue en el primario.
+ * <p>
+ * El atraso de la réplica se mide con un latido: cada intervalo se escribe la
+ * hora actual en la tabla latidos_replica del primario y se lee la que llegó a
+ * la réplica. Mientras la diferencia supere el atraso máximo, o la réplica no
+ * responda, las lecturas van al primario.
+ */
+public class DataSourceReplicado extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceReplicado.class);
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final String origen;
+    private final long atrasoMaximoMs;
+
+    // Negativo mientras no se pudo medir; hasta entonces se lee del primario
+    private volatile long atrasoMs = -1;
+
+    private Boolean disponibleAntes;
+
+    private ScheduledExecutorService latidos;
+
+    public DataSourceReplicado(DataSource primario, DataSource replica, String origen, Duration atrasoMaximo) {
+        this.primario = primario;
+        this.replica = replica;
+        this.origen = origen;
+        this.atrasoMaximoMs = atrasoMaximo.toMillis();
+        setTargetDataSource(new Enrutador());
+        afterPropertiesSet();
+    }
+
+    /**
+     * Empieza a medir el atraso de la réplica en un hilo propio.
+     *
+     * @param intervalo cada cuánto se escribe y se lee el latido.
+     */
+    public void iniciarLatidos(Duration intervalo) {
+        latidos = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "latidos-replica");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        latidos.scheduleWithFixedDelay(this::latir, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Escribe un latido en el primario y mide cuánto tarda en llegar a la
+     * réplica comparándolo con el último que llegó.
+     */
+    public void latir() {
+        String motivo;
+        try {
+            long ahora = System.currentTimeMillis();
+            escribirLatido(ahora);
+            Long recibido = leerLatido();
+            atrasoMs = recibido == null ? -1 : Math.max(0, ahora - recibido);
+            motivo = recibido == null ? "sin latidos" : "atraso de " + atrasoMs + " ms";
+        } catch (SQLException | RuntimeException e) {
+            atrasoMs = -1;
+            motivo = e.getMessage();
+        }
+
+        // Solo se registran los cambios de estado, incluido el primero
+        boolean disponible = isReplicaDisponible();
+        if (disponibleAntes == null || disponibleAntes != disponible) {
+            if (disponible) {
+                log.info("Réplica al día ({}); las lecturas van a la réplica", motivo);
+            } else {
+                log.warn("Réplica no disponible ({}); las lecturas van al primario", motivo);
+            }
+            disponibleAntes = disponible;
+        }
+    }
+
+    public boolean isReplicaDisponible() {
+        long atraso = atrasoMs;
+        return atraso >= 0 && atraso <= atrasoMaximoMs;
+    }
+
+    /**
+     * @return el último atraso medido de la réplica en milisegundos, o -1 si no
+     *         se pudo medir.
+     */
+    public long getAtrasoMs() {
+        return atrasoMs;
+    }
+
+    public DataSource getPrimario() {
+        return primario;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    private void escribirLatido(long instante) throws SQLException {
+        try (Connection conexion = primario.getConnection()) {
+            conexion.setAutoCommit(true);
+            try (PreparedStatement actualizar = conexion
+                    .prepareStatement("UPDATE latidos_replica SET instante_ms = ? WHERE origen = ?")) {
+                actualizar.setLong(1, instante);
+                actualizar.setString(2, origen);
+                if (actualizar.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insertar = conexion
+                    .prepareStatement("INSERT INTO latidos_replica (origen, instante_ms) VALUES (?, ?)")) {
+                insertar.setString(1, origen);
+                insertar.setLong(2, instante);
+                insertar.executeUpdate();
+            }
+        }
+    }
+
+    private Long leerLatido() throws SQLException {
+        try (Connection conexion = replica.getConnection();
+                PreparedStatement consulta = conexion
+                        .prepareStatement("SELECT instante_ms FROM latidos_replica WHERE origen = ?")) {
+            consulta.setString(1, origen);
+            try (ResultSet fila = consulta.executeQuery()) {
+                return fila.next() ? fila.getLong(1) : null;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (latidos != null) {
+            latidos.shutdownNow();
+        }
+        if (primario instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+        if (replica instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+    }
+
+    // Elige el pool en el momento en que el proxy necesita la conexión real
+    private class Enrutador extends DelegatingDataSource {
+
+        Enrutador() {
+            super(primario);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && isReplicaDisponible()) {
+                return replica.getConnection();
+            }
+            return primario.getConnection();
+        }
+    }
+}
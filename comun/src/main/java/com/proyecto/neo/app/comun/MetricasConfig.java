@@ -0,0 +1,108 @@
+package com.proyecto.neo.app.comun;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Métricas de acceso a datos que comparten ambas aplicaciones, además de las de
+ * Spring Boot. Todas se publican en {@code /actuator/prometheus}; los
+ * histogramas se activan en application.properties.
+ * <p>
+ * Es una autoconfiguración: la carga toda aplicación que depende de comun,
+ * pero no las pruebas de una sola capa como {@code @DataJpaTest}. Sus
+ * propiedades llevan el prefijo de la aplicación ({@code movimientos.sql.*},
+ * {@code general.sql.*}), que se toma de {@code comun.prefijo} o, si no está,
+ * de {@code spring.application.name}.
+ */
+@AutoConfiguration
+public class MetricasConfig {
+
+    static final String PREFIJO = "${comun.prefijo:${spring.application.name}}";
+
+    @Bean
+    public ContadorSentencias contadorSentencias() {
+        return new ContadorSentencias();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer inspectorSentencias(ContadorSentencias contadorSentencias) {
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorSentencias);
+    }
+
+    @Bean
+    @ConditionalOnExpression("${" + PREFIJO + ".sql.perfil.habilitado:true}")
+    public PerfilSqlFilter perfilSqlFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper,
+            @Value("${" + PREFIJO + ".sql.presupuesto:50}") int presupuesto,
+            @Value("${" + PREFIJO + ".sql.repeticiones-sospechosas:10}") int repeticionesSospechosas,
+            @Value("${" + PREFIJO + ".sql.capacidad-cola-log:1000}") int capacidadColaLog) {
+        return new PerfilSqlFilter(meterRegistry, objectMapper, presupuesto, repeticionesSospechosas,
+                capacidadColaLog);
+    }
+
+    /**
+     * Spring Boot mide el pool principal en las métricas hikaricp.*, incluido el
+     * tiempo de espera por una conexión (hikaricp.connections.acquire); esto
+     * agrega el pool de reserva de {@link DataSourceConReserva}, con su propio
+     * nombre de pool.
+     */
+    @Bean
+    public MeterBinder metricasReservaConexiones(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(DataSourceConReserva.class)
+                        && dataSource.unwrap(DataSourceConReserva.class).getReserva() instanceof HikariDataSource reserva
+                        && reserva.getMetricsTrackerFactory() == null) {
+                    reserva.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Con una réplica configurada, agrega su pool a las métricas hikaricp.* y
+     * publica el último atraso medido (replica.atraso, NaN si no se pudo medir)
+     * y si las lecturas están yendo a la réplica (replica.disponible).
+     */
+    @Bean
+    public MeterBinder metricasReplica(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (!dataSource.isWrapperFor(DataSourceReplicado.class)) {
+                    return;
+                }
+                DataSourceReplicado replicado = dataSource.unwrap(DataSourceReplicado.class);
+                if (replicado.getReplica() instanceof HikariDataSource replica
+                        && replica.getMetricsTrackerFactory() == null) {
+                    replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+                TimeGauge.builder("replica.atraso", replicado,
+                        TimeUnit.MILLISECONDS, r -> r.getAtrasoMs() < 0 ? Double.NaN : r.getAtrasoMs())
+                        .register(registry);
+                Gauge.builder("replica.disponible", replicado, r -> r.isReplicaDisponible() ? 1 : 0)
+                        .register(registry);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.proyecto.neo.app.comun;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDto<T> {
+
+    private List<T> elementos;
+
+    // Token para pedir la página siguiente, o null si no hay más
+    private String continuacion;
+
+}
@@ -0,0 +1,203 @@
+package com.proyecto.neo.app.comun;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Sentencias SQL del hilo actual entre {@link #iniciar()} y {@link #terminar()}:
+ * cuántas, agrupadas por forma, cuántas filas leyeron o modificaron y cuánto
+ * tardaron. Las sentencias las cuenta {@link ContadorSentencias} a medida que
+ * Hibernate las prepara; las filas y el tiempo los suma {@link DataSourceMedido}
+ * al ejecutarlas.
+ * <p>
+ * Varias ejecuciones de una misma forma de consulta en un perfil suelen ser un
+ * N+1: una consulta por cada elemento de una lista que se pudo traer con una
+ * sola. Los perfiles se anidan; al terminar, uno interno suma lo suyo al que lo
+ * contiene.
+ * <p>
+ * En pruebas, {@link #medir(Accion)} y los métodos {@code verificar...} fijan
+ * un presupuesto de sentencias para una operación:
+ *
+ * <pre>
+ * PerfilSql.medir(() -&gt; mockMvc.perform(get("/api/reportes")...))
+ *         .verificarMaximoSentencias(3)
+ *         .verificarSinRepeticiones(2);
+ * </pre>
+ */
+public class PerfilSql {
+
+    private static final ThreadLocal<PerfilSql> actual = new ThreadLocal<>();
+
+    private static final Pattern LISTA_IN = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern NUMEROS = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final int MAXIMO_FORMAS_EN_CACHE = 10_000;
+    private static final Map<String, String> formasConocidas = new ConcurrentHashMap<>();
+
+    private final PerfilSql padre;
+    private final Map<String, Integer> ejecucionesPorForma = new HashMap<>();
+    private int sentencias;
+    private long filas;
+    private long nanos;
+
+    private PerfilSql(PerfilSql padre) {
+        this.padre = padre;
+    }
+
+    /** Empieza un perfil en el hilo actual, dentro del que ya estuviera activo. */
+    public static PerfilSql iniciar() {
+        PerfilSql perfil = new PerfilSql(actual.get());
+        actual.set(perfil);
+        return perfil;
+    }
+
+    /**
+     * Termina este perfil y deja activo el que lo contenía, sumándole lo medido.
+     *
+     * @return este perfil, ya sin cambios.
+     */
+    public PerfilSql terminar() {
+        if (padre != null) {
+            padre.sumar(this);
+            actual.set(padre);
+        } else {
+            actual.remove();
+        }
+        return this;
+    }
+
+    /** Si hay un perfil activo en el hilo actual. */
+    static boolean activo() {
+        return actual.get() != null;
+    }
+
+    static void registrarSentencia(String sql) {
+        PerfilSql perfil = actual.get();
+        if (perfil != null) {
+            perfil.sentencias++;
+            perfil.ejecucionesPorForma.merge(forma(sql), 1, Integer::sum);
+        }
+    }
+
+    static void registrarEjecucion(long filasAfectadas, long duracionNanos) {
+        PerfilSql perfil = actual.get();
+        if (perfil != null) {
+            perfil.filas += filasAfectadas;
+            perfil.nanos += duracionNanos;
+        }
+    }
+
+    static void sumarFilas(long leidas) {
+        PerfilSql perfil = actual.get();
+        if (perfil != null) {
+            perfil.filas += leidas;
+        }
+    }
+
+    /**
+     * Ejecuta una acción dentro de un perfil propio.
+     *
+     * @param accion la operación a medir.
+     * @return el perfil de la operación.
+     */
+    public static PerfilSql medir(Accion accion) throws Exception {
+        PerfilSql perfil = iniciar();
+        try {
+            accion.ejecutar();
+        } finally {
+            perfil.terminar();
+        }
+        return perfil;
+    }
+
+    @FunctionalInterface
+    public interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public long getTiempoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Consultas que se ejecutaron al menos el número de veces indicado, de la
+     * más a la menos repetida.
+     *
+     * @param umbral las ejecuciones a partir de las que una forma se considera
+     *               repetida.
+     * @return las formas repetidas con sus ejecuciones.
+     */
+    public List<Map.Entry<String, Integer>> repetidas(int umbral) {
+        List<Map.Entry<String, Integer>> repetidas = new ArrayList<>();
+        ejecucionesPorForma.forEach((forma, veces) -> {
+            // Los inserts y updates repetidos son propios de los lotes; el N+1 es de lectura
+            if (veces >= umbral && forma.startsWith("select")) {
+                repetidas.add(Map.entry(forma, veces));
+            }
+        });
+        repetidas.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return repetidas;
+    }
+
+    /**
+     * @throws AssertionError si se ejecutaron más sentencias que el máximo.
+     */
+    public PerfilSql verificarMaximoSentencias(int maximo) {
+        if (sentencias > maximo) {
+            throw new AssertionError("Se ejecutaron " + sentencias + " sentencias SQL y el máximo es " + maximo
+                    + ": " + ejecucionesPorForma);
+        }
+        return this;
+    }
+
+    /**
+     * @throws AssertionError si alguna consulta se ejecutó el número de veces
+     *                        indicado o más.
+     */
+    public PerfilSql verificarSinRepeticiones(int umbral) {
+        List<Map.Entry<String, Integer>> repetidas = repetidas(umbral);
+        if (!repetidas.isEmpty()) {
+            throw new AssertionError("Consultas repetidas, posible N+1: " + repetidas);
+        }
+        return this;
+    }
+
+    private void sumar(PerfilSql hijo) {
+        sentencias += hijo.sentencias;
+        filas += hijo.filas;
+        nanos += hijo.nanos;
+        hijo.ejecucionesPorForma.forEach((forma, veces) -> ejecucionesPorForma.merge(forma, veces, Integer::sum));
+    }
+
+    /**
+     * La sentencia sin lo que cambia entre ejecuciones de la misma consulta:
+     * el largo de las listas IN, los literales numéricos y los espacios.
+     */
+    static String forma(String sql) {
+        String forma = formasConocidas.get(sql);
+        if (forma == null) {
+            forma = LISTA_IN.matcher(sql).replaceAll("(?)");
+            forma = NUMEROS.matcher(forma).replaceAll("?");
+            forma = ESPACIOS.matcher(forma).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+            // Las consultas de la aplicación son pocas; el límite protege de SQL con literales variables
+            if (formasConocidas.size() < MAXIMO_FORMAS_EN_CACHE) {
+                formasConocidas.put(sql, forma);
+            }
+        }
+        return forma;
+    }
+}
@@ -0,0 +1,154 @@
+package com.proyecto.neo.app.comun;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mide con un {@link PerfilSql} las sentencias de cada solicitud HTTP. Publica
+ * las sentencias preparadas por Hibernate en {@code hibernate.sentencias.solicitud}
+ * y las filas leídas o modificadas en {@code sql.filas.solicitud}, con las
+ * etiquetas de método y URI de {@code http.server.requests}, y cuenta en
+ * {@code sql.repeticiones} las solicitudes con un posible N+1. Requiere
+ * {@link ContadorSentencias} como inspector de sentencias de Hibernate y
+ * {@link DataSourceMedido} sobre el pool.
+ * <p>
+ * Además deja un resumen en JSON en el log: en WARN si la solicitud superó el
+ * presupuesto de sentencias o repitió una consulta, y en DEBUG en los demás
+ * casos. El log se escribe en un hilo aparte con una cola acotada; si la cola
+ * se llena, los resúmenes se descartan en lugar de demorar las solicitudes.
+ * Las sentencias que se ejecutan en otro hilo, como las del reporte en
+ * streaming, no se miden.
+ */
+public class PerfilSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfilSqlFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    private final int presupuesto;
+
+    private final int repeticionesSospechosas;
+
+    private final ThreadPoolExecutor registro;
+
+    /**
+     * @param meterRegistry           el registro de métricas.
+     * @param objectMapper            para escribir los resúmenes en JSON.
+     * @param presupuesto             las sentencias por solicitud a partir de
+     *                                las que se advierte.
+     * @param repeticionesSospechosas las ejecuciones de una misma consulta a
+     *                                partir de las que se considera un N+1.
+     * @param capacidadColaLog        los resúmenes que pueden esperar a
+     *                                escribirse en el log.
+     */
+    public PerfilSqlFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper, int presupuesto,
+            int repeticionesSospechosas, int capacidadColaLog) {
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.presupuesto = presupuesto;
+        this.repeticionesSospechosas = repeticionesSospechosas;
+        registro = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadColaLog), tarea -> {
+                    Thread hilo = new Thread(tarea, "perfil-sql");
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /** Spring lo llama al cerrar el contexto, como método de destrucción del bean. */
+    public void close() {
+        registro.shutdown();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        PerfilSql perfil = PerfilSql.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            perfil.terminar();
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = patron != null ? patron.toString() : "UNKNOWN";
+            registrar(perfil, request.getMethod(), uri, response.getStatus(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        }
+    }
+
+    private void registrar(PerfilSql perfil, String metodo, String uri, int estado, long tiempoMs) {
+        DistributionSummary.builder("hibernate.sentencias.solicitud")
+                .description("Sentencias SQL preparadas por solicitud")
+                .baseUnit("sentencias")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(perfil.getSentencias());
+        DistributionSummary.builder("sql.filas.solicitud")
+                .description("Filas leídas o modificadas por solicitud")
+                .baseUnit("filas")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(perfil.getFilas());
+
+        List<Map.Entry<String, Integer>> repetidas = perfil.repetidas(repeticionesSospechosas);
+        if (!repetidas.isEmpty()) {
+            meterRegistry.counter("sql.repeticiones", "method", metodo, "uri", uri).increment();
+        }
+        boolean advertir = !repetidas.isEmpty() || perfil.getSentencias() > presupuesto;
+        if (advertir || log.isDebugEnabled()) {
+            registro.execute(() -> escribir(perfil, repetidas, metodo, uri, estado, tiempoMs, advertir));
+        }
+    }
+
+    private void escribir(PerfilSql perfil, List<Map.Entry<String, Integer>> repetidas, String metodo, String uri,
+            int estado, long tiempoMs, boolean advertir) {
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("metodo", metodo);
+        resumen.put("uri", uri);
+        resumen.put("estado", estado);
+        resumen.put("tiempoMs", tiempoMs);
+        resumen.put("sentencias", perfil.getSentencias());
+        resumen.put("filas", perfil.getFilas());
+        resumen.put("tiempoSqlMs", perfil.getTiempoMs());
+        resumen.put("presupuesto", presupuesto);
+        List<Map<String, Object>> posiblesNMasUno = new ArrayList<>();
+        repetidas.forEach(repetida -> posiblesNMasUno.add(Map.of("sql", repetida.getKey(),
+                "veces", repetida.getValue())));
+        resumen.put("posiblesNMasUno", posiblesNMasUno);
+        try {
+            String json = objectMapper.writeValueAsString(resumen);
+            if (advertir) {
+                log.warn("{}", json);
+            } else {
+                log.debug("{}", json);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo escribir el resumen SQL de {} {}: {}", metodo, uri, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.proyecto.neo.app.comun;
+
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http.protocol.HttpCoreContext;
+import org.apache.hc.core5.util.TimeValue;
+
+/**
+ * Reintentos del cliente HTTP entre servicios. Como
+ * {@link DefaultHttpRequestRetryStrategy}, reintenta ante una conexión
+ * reutilizada que el otro lado ya cerró o una respuesta 429/503, respetando
+ * Retry-After; pero en ambos casos solo si el método es idempotente. Un POST
+ * rechazado con 503 no se vuelve a enviar, porque el otro servicio pudo haberlo
+ * aplicado antes de responder.
+ */
+public class ReintentosIdempotentes extends DefaultHttpRequestRetryStrategy {
+
+    public ReintentosIdempotentes(int reintentos, TimeValue intervalo) {
+        super(reintentos, intervalo);
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int ejecuciones, HttpContext contexto) {
+        HttpRequest request = HttpCoreContext.adapt(contexto).getRequest();
+        return request != null && handleAsIdempotent(request)
+                && super.retryRequest(response, ejecuciones, contexto);
+    }
+}
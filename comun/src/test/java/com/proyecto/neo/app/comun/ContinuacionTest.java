@@ -0,0 +1,34 @@
+package com.proyecto.neo.app.comun;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ContinuacionTest {
+
+    @Test
+    public void testLaPaginaLlevaLaClaveDeSuUltimaFila() {
+        PaginaDto<String> pagina = Continuacion.pagina(List.of("225487", "478758", "496825"), 2,
+                numero -> new String[] { numero, "7" });
+
+        assertEquals(List.of("225487", "478758"), pagina.getElementos());
+        assertArrayEquals(new String[] { "478758", "7" }, Continuacion.decodificar(pagina.getContinuacion(), 2));
+        assertNull(Continuacion.pagina(List.of("225487"), 2, numero -> new String[] { numero }).getContinuacion());
+    }
+
+    @Test
+    public void testTokenYTamanioInvalidos() {
+        String token = Continuacion.codificar("478758");
+
+        assertThrows(IllegalArgumentException.class, () -> Continuacion.decodificar(token, 2));
+        assertThrows(IllegalArgumentException.class, () -> Continuacion.decodificar("no es base64", 1));
+        assertThrows(IllegalArgumentException.class, () -> Continuacion.tamanioValido(0));
+        assertThrows(IllegalArgumentException.class, () -> Continuacion.tamanioValido(501));
+        assertEquals(500, Continuacion.tamanioValido(500));
+    }
+}
@@ -0,0 +1,121 @@
+package com.proyecto.neo.app.comun;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+@ExtendWith(MockitoExtension.class)
+public class DataSourceConReservaTest {
+
+    @Mock
+    private DataSource principal;
+
+    @Mock
+    private DataSource reserva;
+
+    private DataSourceConReserva dataSource;
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new DataSourceConReserva(principal, reserva);
+    }
+
+    @Test
+    public void testConexionAnidadaSaleDeLaReserva() throws Exception {
+        when(principal.getConnection()).thenAnswer(invocacion -> mock(Connection.class));
+        Connection conexionReserva = mock(Connection.class);
+        when(reserva.getConnection()).thenReturn(conexionReserva);
+
+        Connection externa = dataSource.getConnection();
+        Connection anidada = dataSource.getConnection();
+        anidada.close();
+        externa.close();
+        // Cerradas ambas, la siguiente vuelve a salir del pool principal
+        dataSource.getConnection().close();
+
+        verify(principal, times(2)).getConnection();
+        verify(reserva, times(1)).getConnection();
+        verify(conexionReserva).close();
+    }
+
+    @Test
+    public void testCadaHiloCuentaSusConexiones() throws Exception {
+        when(principal.getConnection()).thenAnswer(invocacion -> mock(Connection.class));
+        Connection externa = dataSource.getConnection();
+        // Otro hilo sin conexiones propias no toma de la reserva
+        CompletableFuture.runAsync(() -> {
+            try {
+                dataSource.getConnection().close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+        externa.close();
+
+        verify(principal, times(2)).getConnection();
+        verify(reserva, times(0)).getConnection();
+    }
+
+    @Test
+    public void testSinReservaLaConexionAnidadaEsperaAlPoolLleno() throws Exception {
+        try (HikariDataSource pool = pool(1)) {
+            try (Connection externa = pool.getConnection()) {
+                assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+            }
+        }
+    }
+
+    @Test
+    public void testConReservaLosHilosQueLlenanElPoolTerminan() throws Exception {
+        try (DataSourceConReserva conReserva = DataSourceConReserva.sobre(pool(2), 1)) {
+            // Cuatro hilos para dos conexiones: todos toman la suya y piden otra sin soltarla
+            CountDownLatch llenos = new CountDownLatch(2);
+            List<CompletableFuture<Void>> hilos = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                hilos.add(CompletableFuture.runAsync(() -> {
+                    try (Connection externa = conReserva.getConnection()) {
+                        llenos.countDown();
+                        llenos.await();
+                        try (Connection anidada = conReserva.getConnection()) {
+                            anidada.createStatement().execute("select 1");
+                        }
+                        externa.createStatement().execute("select 1");
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            CompletableFuture.allOf(hilos.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static HikariDataSource pool(int conexiones) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:reserva;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(conexiones);
+        config.setConnectionTimeout(250);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,137 @@
+package com.proyecto.neo.app.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Dos bases H2 hacen de primario y de réplica; la replicación de los latidos
+ * se simula copiándolos a mano.
+ */
+public class DataSourceReplicadoTest {
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+    private DataSourceReplicado dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate lectura;
+    private TransactionTemplate escritura;
+
+    @BeforeEach
+    public void setup() {
+        primario = base("primario");
+        replica = base("replica");
+        dataSource = new DataSourceReplicado(primario.getDataSource(), replica.getDataSource(), "movimientos",
+                Duration.ofSeconds(5));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        escritura = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void limpiar() {
+        primario.execute("DROP ALL OBJECTS");
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testSoloLasLecturasVanALaReplicaAlDia() {
+        // Sin latidos en la réplica todavía no se sabe su atraso
+        dataSource.latir();
+        assertFalse(dataSource.isReplicaDisponible());
+        assertEquals("primario", leer());
+
+        replicar();
+        dataSource.latir();
+
+        assertTrue(dataSource.isReplicaDisponible());
+        assertEquals("replica", leer());
+        assertEquals("primario", escritura.execute(estado -> instancia()));
+        // Una lectura dentro de una transacción de escritura sigue en el primario
+        assertEquals("primario", escritura.execute(estado -> lectura.execute(interna -> instancia())));
+        assertEquals("primario", instancia());
+    }
+
+    @Test
+    public void testReplicaAtrasadaOCaidaDevuelveLasLecturasAlPrimario() {
+        dataSource.latir();
+        replicar();
+        dataSource.latir();
+        assertEquals("replica", leer());
+
+        replica.update("UPDATE latidos_replica SET instante_ms = ?", System.currentTimeMillis() - 60_000);
+        dataSource.latir();
+
+        assertFalse(dataSource.isReplicaDisponible());
+        assertTrue(dataSource.getAtrasoMs() >= 60_000);
+        assertEquals("primario", leer());
+
+        replicar();
+        replica.execute("DROP TABLE latidos_replica");
+        dataSource.latir();
+
+        assertEquals(-1, dataSource.getAtrasoMs());
+        assertEquals("primario", leer());
+    }
+
+    @Test
+    public void testCadaAplicacionMideSuPropioLatidoEnLaTablaCompartida() {
+        DataSourceReplicado general = new DataSourceReplicado(primario.getDataSource(), replica.getDataSource(),
+                "general", Duration.ofSeconds(5));
+        dataSource.latir();
+        general.latir();
+        replicar();
+        dataSource.latir();
+        general.latir();
+        assertTrue(dataSource.isReplicaDisponible());
+        assertTrue(general.isReplicaDisponible());
+
+        // Solo el latido de general llega atrasado: movimientos sigue leyendo de la réplica
+        replica.update("UPDATE latidos_replica SET instante_ms = ? WHERE origen = 'general'",
+                System.currentTimeMillis() - 60_000);
+        dataSource.latir();
+        general.latir();
+
+        assertTrue(dataSource.isReplicaDisponible());
+        assertFalse(general.isReplicaDisponible());
+        assertEquals(2, primario.queryForObject("SELECT count(*) FROM latidos_replica", Integer.class));
+    }
+
+    private String leer() {
+        return lectura.execute(estado -> instancia());
+    }
+
+    private String instancia() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM instancia", String.class);
+    }
+
+    private void replicar() {
+        replica.update("DELETE FROM latidos_replica");
+        primario.query("SELECT origen, instante_ms FROM latidos_replica", fila -> {
+            replica.update("INSERT INTO latidos_replica (origen, instante_ms) VALUES (?, ?)", fila.getString(1),
+                    fila.getLong(2));
+        });
+    }
+
+    private static JdbcTemplate base(String nombre) {
+        JdbcTemplate base = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nombre + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        base.execute("CREATE TABLE instancia (nombre varchar(20))");
+        base.update("INSERT INTO instancia VALUES (?)", nombre);
+        base.execute("CREATE TABLE latidos_replica (origen varchar(20) NOT NULL, instante_ms bigint NOT NULL,"
+                + " PRIMARY KEY (origen))");
+        return base;
+    }
+}
@@ -0,0 +1,47 @@
+package com.proyecto.neo.app.comun;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetricasConfigTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MetricasConfig.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(ObjectMapper.class, ObjectMapper::new)
+            .withBean(DataSource.class, () -> mock(DataSource.class));
+
+    @Test
+    public void testLasPropiedadesLlevanElNombreDeLaAplicacion() {
+        contexto.withPropertyValues("spring.application.name=movimientos", "movimientos.sql.presupuesto=7",
+                "general.sql.presupuesto=99")
+                .run(ctx -> assertThat(ReflectionTestUtils.getField(ctx.getBean(PerfilSqlFilter.class), "presupuesto"))
+                        .isEqualTo(7));
+
+        contexto.withPropertyValues("spring.application.name=general", "general.sql.perfil.habilitado=false")
+                .run(ctx -> {
+                    assertThat(ctx).doesNotHaveBean(PerfilSqlFilter.class);
+                    assertThat(ctx).hasSingleBean(ContadorSentencias.class);
+                });
+    }
+
+    @Test
+    public void testElPrefijoExplicitoTienePrioridad() {
+        contexto.withPropertyValues("spring.application.name=movimientos", "comun.prefijo=general",
+                "movimientos.sql.perfil.habilitado=false")
+                .run(ctx -> assertThat(ReflectionTestUtils.getField(ctx.getBean(PerfilSqlFilter.class), "presupuesto"))
+                        .isEqualTo(50));
+    }
+}
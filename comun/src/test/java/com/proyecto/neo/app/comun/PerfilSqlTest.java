@@ -0,0 +1,142 @@
+package com.proyecto.neo.app.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Perfil SQL sobre una base H2. Hibernate llama a {@link ContadorSentencias}
+ * antes de preparar cada sentencia; aquí se lo llama igual, a mano.
+ */
+public class PerfilSqlTest {
+
+    private static final String INSERTAR = "insert into cuentas (numero_cuenta, cliente_id) values (?, ?)";
+
+    private static final String POR_NUMERO = "select numero_cuenta from cuentas where numero_cuenta = ?";
+
+    private final ContadorSentencias contador = new ContadorSentencias();
+
+    private DataSourceMedido dataSource;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:perfil;DB_CLOSE_DELAY=-1");
+        dataSource = new DataSourceMedido(h2);
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.createStatement().execute(
+                    "create table cuentas (numero_cuenta varchar(20) primary key, cliente_id bigint)");
+        }
+    }
+
+    @AfterEach
+    public void limpiar() throws Exception {
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.createStatement().execute("drop table cuentas");
+        }
+    }
+
+    @Test
+    public void testCuentaSentenciasPorFormaYFilasLeidasOModificadas() throws Exception {
+        PerfilSql perfil = PerfilSql.medir(() -> {
+            try (Connection conexion = dataSource.getConnection()) {
+                // Un lote: se prepara una vez y modifica tres filas
+                PreparedStatement insertar = conexion.prepareStatement(preparar(INSERTAR));
+                for (String numero : List.of("225487", "478758", "496825")) {
+                    insertar.setString(1, numero);
+                    insertar.setLong(2, 7L);
+                    insertar.addBatch();
+                }
+                insertar.executeBatch();
+
+                // Una consulta por cuenta: el N+1
+                for (String numero : List.of("225487", "478758", "496825")) {
+                    PreparedStatement consulta = conexion.prepareStatement(preparar(POR_NUMERO));
+                    consulta.setString(1, numero);
+                    try (ResultSet filas = consulta.executeQuery()) {
+                        while (filas.next()) {
+                            filas.getString(1);
+                        }
+                    }
+                }
+            }
+        });
+
+        assertEquals(4, perfil.getSentencias());
+        assertEquals(6, perfil.getFilas());
+        List<Map.Entry<String, Integer>> repetidas = perfil.repetidas(3);
+        assertEquals(1, repetidas.size());
+        assertEquals(POR_NUMERO, repetidas.get(0).getKey());
+        assertThrows(AssertionError.class, () -> perfil.verificarMaximoSentencias(3));
+        assertThrows(AssertionError.class, () -> perfil.verificarSinRepeticiones(3));
+        perfil.verificarMaximoSentencias(4).verificarSinRepeticiones(4);
+    }
+
+    @Test
+    public void testUnPerfilInternoSeSumaAlQueLoContieneYFueraNoSeCuenta() throws Exception {
+        PerfilSql[] interno = new PerfilSql[1];
+
+        PerfilSql externo = PerfilSql.medir(() -> {
+            contador.inspect(POR_NUMERO);
+            interno[0] = PerfilSql.medir(() -> contador.inspect(POR_NUMERO));
+        });
+        contador.inspect(POR_NUMERO);
+
+        assertEquals(1, interno[0].getSentencias());
+        assertEquals(2, externo.getSentencias());
+        // Sin perfil activo las conexiones se entregan sin envolver
+        try (Connection conexion = dataSource.getConnection()) {
+            assertEquals("org.h2.jdbc.JdbcConnection", conexion.getClass().getName());
+        }
+    }
+
+    @Test
+    public void testFormaSinListasInNiLiterales() {
+        assertEquals("select * from cuentas where cliente_id in (?) and estado = ?",
+                PerfilSql.forma("SELECT *  FROM cuentas\n where cliente_id in (?, ?, ?) and estado = 1"));
+    }
+
+    @Test
+    public void testFiltroPublicaLasMetricasDeLaSolicitud() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PerfilSqlFilter filtro = new PerfilSqlFilter(registry, new ObjectMapper(), 2, 3, 10);
+        MockHttpServletRequest solicitud = new MockHttpServletRequest("GET", "/api/cuentas/cliente/7");
+        try {
+            filtro.doFilter(solicitud, new MockHttpServletResponse(), (request, response) -> {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/cuentas/cliente/{id}");
+                for (int i = 0; i < 3; i++) {
+                    contador.inspect(POR_NUMERO);
+                }
+            });
+        } finally {
+            filtro.close();
+        }
+
+        assertEquals(3, registry.get("hibernate.sentencias.solicitud").tag("method", "GET")
+                .tag("uri", "/api/cuentas/cliente/{id}").summary().totalAmount());
+        assertEquals(1, registry.get("sql.repeticiones").tag("uri", "/api/cuentas/cliente/{id}").counter().count());
+        assertEquals(0, registry.get("sql.filas.solicitud").summary().totalAmount());
+    }
+
+    // Lo que hace Hibernate al preparar una sentencia
+    private String preparar(String sql) {
+        return contador.inspect(sql);
+    }
+}
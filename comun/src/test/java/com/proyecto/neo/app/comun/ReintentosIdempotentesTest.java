@@ -0,0 +1,71 @@
+package com.proyecto.neo.app.comun;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Un servidor local responde siempre 503 y cuenta cuántas solicitudes recibe.
+ */
+public class ReintentosIdempotentesTest {
+
+    private final AtomicInteger recibidas = new AtomicInteger();
+
+    private HttpServer servidor;
+
+    private CloseableHttpClient cliente;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/", intercambio -> {
+            recibidas.incrementAndGet();
+            intercambio.getRequestBody().readAllBytes();
+            intercambio.sendResponseHeaders(503, -1);
+            intercambio.close();
+        });
+        servidor.start();
+        cliente = HttpClients.custom()
+                .setRetryStrategy(new ReintentosIdempotentes(2, TimeValue.ofMilliseconds(10)))
+                .build();
+    }
+
+    @AfterEach
+    public void limpiar() throws Exception {
+        cliente.close();
+        servidor.stop(0);
+    }
+
+    @Test
+    public void testUnPostRechazadoCon503SeEnviaUnaSolaVez() throws Exception {
+        assertEquals(503, ejecutar(new HttpPost(url())));
+        assertEquals(1, recibidas.get());
+    }
+
+    @Test
+    public void testUnGetRechazadoCon503SeReintenta() throws Exception {
+        assertEquals(503, ejecutar(new HttpGet(url())));
+        assertEquals(3, recibidas.get());
+    }
+
+    private int ejecutar(ClassicHttpRequest solicitud) throws Exception {
+        return cliente.execute(solicitud, respuesta -> respuesta.getCode());
+    }
+
+    private String url() {
+        return "http://localhost:" + servidor.getAddress().getPort() + "/api/clientes/7";
+    }
+}
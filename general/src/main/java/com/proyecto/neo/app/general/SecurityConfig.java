@@ -1,5 +1,6 @@
 package com.proyecto.neo.app.general;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,8 +23,9 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Cada punto de costo duplica el tiempo de un cifrado; ver el tiempo medido en el log de arranque
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${general.contrasenias.bcrypt-costo:10}") int costo) {
+        return new BCryptPasswordEncoder(costo);
     }
 }
@@ -1,10 +1,15 @@
 package com.proyecto.neo.app.general.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,13 +23,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.general.dto.ResultadoImportacionDto;
 import com.proyecto.neo.app.general.entities.Cliente;
 import com.proyecto.neo.app.general.exceptions.ErrorResponse;
 import com.proyecto.neo.app.general.exceptions.ResourceNotFoundException;
 import com.proyecto.neo.app.general.services.ClienteService;
+import com.proyecto.neo.app.general.services.ImportacionClienteService;
 
 import jakarta.validation.Valid;
 
@@ -35,23 +44,70 @@ public class ClienteController {
     @Autowired
     private ClienteService service;
 
+    @Autowired
+    private ImportacionClienteService importacionService;
+
      @Autowired
     private RestTemplate restTemplate;
 
-    // URL del microservicio de cuentas
-    private final String cuentasServiceUrl = "http://localhost:8081/api/cuentas/cliente/";
+    // Ruta en el microservicio de cuentas; la URL base la fija el RestTemplate (servicios.cuentas.url)
+    private final String cuentasServiceUrl = "/api/cuentas/cliente/{id}";
+
+    // Segundos que se sugiere esperar cuando el pool de cifrado está saturado
+    @Value("${general.contrasenias.reintentar-en:1}")
+    private long reintentarEn;
 
     /**
      * Maneja las solicitudes GET para obtener una lista de todos los clientes.
      * 
      * @return un ResponseEntity que contiene la lista de todos los clientes.
+     * @deprecated carga la tabla completa; usar GET /api/clientes/pagina.
      */
+    @Deprecated
     @GetMapping
     public ResponseEntity<List<Cliente>> getAllClients() {
         List<Cliente> clientes = service.findAll();
         return ResponseEntity.ok(clientes);
     }
 
+    /**
+     * Maneja las solicitudes GET para obtener una página de clientes ordenados por
+     * identificador.
+     * 
+     * @param tamanio      el número máximo de clientes de la página.
+     * @param continuacion el token devuelto por la página anterior; se omite para
+     *                     la primera.
+     * @return un ResponseEntity con la página y el token de la siguiente, que es
+     *         null en la última página.
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDto<Cliente>> getClientPage(@RequestParam(defaultValue = "50") int tamanio,
+            @RequestParam(required = false) String continuacion) {
+        return ResponseEntity.ok(service.findPage(tamanio, continuacion));
+    }
+
+    /**
+     * Maneja las solicitudes GET para buscar clientes por identificación exacta,
+     * por prefijo del nombre o por estado, con paginación por cursor.
+     * 
+     * @param identificacion la identificación exacta del cliente.
+     * @param nombre         el prefijo del nombre del cliente.
+     * @param estado         el estado de los clientes.
+     * @param tamanio        el número máximo de clientes de la página.
+     * @param continuacion   el token devuelto por la página anterior; se omite
+     *                       para la primera.
+     * @return un ResponseEntity con la página y el token de la siguiente, o un
+     *         estado 400 si no se indica ningún criterio.
+     */
+    @GetMapping("/buscar")
+    public ResponseEntity<PaginaDto<Cliente>> searchClients(@RequestParam(required = false) String identificacion,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) Boolean estado,
+            @RequestParam(defaultValue = "50") int tamanio,
+            @RequestParam(required = false) String continuacion) {
+        return ResponseEntity.ok(service.search(identificacion, nombre, estado, tamanio, continuacion));
+    }
+
     /**
      * Maneja las solicitudes GET para obtener un cliente por su identificador
      * único.
@@ -85,6 +141,45 @@ public class ClienteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCliente);
     }
 
+    /**
+     * Maneja las solicitudes POST para crear un lote de clientes.
+     * 
+     * @param clientes las entidades cliente a crear.
+     * @return un ResponseEntity que contiene los clientes creados.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<Cliente>> createClients(@RequestBody List<@Valid Cliente> clientes) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.saveAll(clientes));
+    }
+
+    /**
+     * Maneja las solicitudes POST para importar clientes desde un archivo CSV. El
+     * archivo se procesa a medida que llega, sin cargarlo completo en memoria.
+     * 
+     * @param entrada el cuerpo de la solicitud.
+     * @return un ResponseEntity con las filas importadas, los errores por fila y
+     *         el rendimiento.
+     * @throws IOException si falla la lectura.
+     */
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacionDto> importClientsCsv(InputStream entrada) throws IOException {
+        return ResponseEntity.ok(importacionService.importarCsv(entrada));
+    }
+
+    /**
+     * Maneja las solicitudes POST para importar clientes desde un archivo NDJSON,
+     * con un cliente por línea.
+     * 
+     * @param entrada el cuerpo de la solicitud.
+     * @return un ResponseEntity con las filas importadas, los errores por fila y
+     *         el rendimiento.
+     * @throws IOException si falla la lectura.
+     */
+    @PostMapping(value = "/importar", consumes = "application/x-ndjson")
+    public ResponseEntity<ResultadoImportacionDto> importClientsNdjson(InputStream entrada) throws IOException {
+        return ResponseEntity.ok(importacionService.importarNdjson(entrada));
+    }
+
     /**
      * Maneja las solicitudes PUT para actualizar un cliente existente por su
      * identificador único.
@@ -113,16 +208,18 @@ public class ClienteController {
      * 
      * @param id el identificador único del cliente a eliminar.
      * @return un ResponseEntity que contiene el cliente eliminado si se encuentra y
-     *         se elimina, o un estado 404 si no se encuentra.
+     *         se elimina, un estado 202 si sus cuentas aún se están eliminando, o
+     *         un estado 404 si no se encuentra.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteClient(@PathVariable Long id) {
        // Eliminar cuentas del cliente
         ResponseEntity<String> cuentasResponse = restTemplate.exchange(
-                cuentasServiceUrl + id, 
+                cuentasServiceUrl, 
                 HttpMethod.DELETE, 
                 null, 
-                String.class
+                String.class,
+                id
         );
 
         if (cuentasResponse.getStatusCode() == HttpStatus.OK) {
@@ -130,6 +227,10 @@ public class ClienteController {
             return clienteOptional
                     .map(cliente -> ResponseEntity.ok(cliente))
                     .orElseGet(() -> ResponseEntity.notFound().build());
+        } else if (cuentasResponse.getStatusCode() == HttpStatus.ACCEPTED) {
+            // Cliente con mucha historia: sus cuentas se siguen eliminando en segundo plano
+            return ResponseEntity.accepted()
+                    .body("Eliminación de cuentas en curso; repita la solicitud para eliminar el cliente");
         } else {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error al eliminar las cuentas del cliente");
@@ -160,4 +261,16 @@ public class ClienteController {
         ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), null);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(reintentarEn))
+                .body(new ErrorResponse("Servicio saturado, intente nuevamente", null));
+    }
 }
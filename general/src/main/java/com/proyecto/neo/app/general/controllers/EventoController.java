@@ -0,0 +1,41 @@
+package com.proyecto.neo.app.general.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.proyecto.neo.app.general.dto.FeedEventosDto;
+import com.proyecto.neo.app.general.exceptions.ErrorResponse;
+import com.proyecto.neo.app.general.services.EventoClienteService;
+
+@RestController
+@RequestMapping("/api/clientes/eventos")
+public class EventoController {
+
+    @Autowired
+    private EventoClienteService service;
+
+    /**
+     * Maneja las solicitudes GET para leer el feed de cambios de clientes.
+     * 
+     * @param desde   la última posición que el consumidor ya aplicó; 0 para leer
+     *                desde el principio.
+     * @param tamanio el número máximo de eventos a devolver.
+     * @return un ResponseEntity con los eventos posteriores a la posición, en
+     *         orden, y la cabeza actual del feed.
+     */
+    @GetMapping
+    public ResponseEntity<FeedEventosDto> getEvents(@RequestParam(defaultValue = "0") long desde,
+            @RequestParam(defaultValue = "100") int tamanio) {
+        return ResponseEntity.ok(service.leer(desde, tamanio));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage(), null));
+    }
+}
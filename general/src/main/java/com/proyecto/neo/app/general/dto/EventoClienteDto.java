@@ -0,0 +1,21 @@
+package com.proyecto.neo.app.general.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.Data;
+
+@Data
+public class EventoClienteDto {
+
+    private Long posicion;
+    private Long clienteId;
+    private String tipo;
+    private Instant fecha;
+
+    // El JSON guardado en la bandeja de salida, tal cual
+    @JsonRawValue
+    private String cliente;
+
+}
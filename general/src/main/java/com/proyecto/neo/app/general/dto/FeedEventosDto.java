@@ -0,0 +1,19 @@
+package com.proyecto.neo.app.general.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedEventosDto {
+
+    private List<EventoClienteDto> eventos;
+
+    // Última posición publicada; el consumidor está al día cuando la alcanza
+    private Long cabeza;
+
+}
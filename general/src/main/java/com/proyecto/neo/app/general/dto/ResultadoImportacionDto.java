@@ -0,0 +1,29 @@
+package com.proyecto.neo.app.general.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+public class ResultadoImportacionDto {
+
+    private long filasLeidas;
+    private long filasImportadas;
+    private long filasConError;
+    private double segundos;
+    private double filasPorSegundo;
+
+    // Solo se detallan los primeros errores; filasConError lleva la cuenta total
+    private List<ErrorFila> errores = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorFila {
+        private long fila;
+        private List<String> mensajes;
+    }
+}
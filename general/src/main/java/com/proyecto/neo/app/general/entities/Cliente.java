@@ -1,7 +1,5 @@
 package com.proyecto.neo.app.general.entities;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-
 import jakarta.persistence.Entity;
 import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
@@ -16,16 +14,11 @@ import lombok.Data;
 @PrimaryKeyJoinColumn(name = "id")
 public class Cliente extends Persona{
     
+    // Se guarda cifrada; el cifrado lo hace ContraseniaService antes de persistir
     @NotEmpty(message = "La contraseña no puede estar vacía")
     private String contrasenia;
 
     @NotNull(message = "El estado no puede ser nulo")
     private Boolean estado;
 
-    public void setContrasenia(String contrasenia) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        this.contrasenia = encoder.encode(contrasenia);
-    }
-
-
 }
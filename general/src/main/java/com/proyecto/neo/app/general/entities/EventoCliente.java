@@ -0,0 +1,45 @@
+package com.proyecto.neo.app.general.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Evento de la bandeja de salida de clientes. Se inserta en la misma
+ * transacción que el cambio del cliente y queda pendiente hasta que el relé le
+ * asigna su posición en el feed.
+ */
+@Entity
+@Table(name = "eventos_cliente")
+@Data
+public class EventoCliente {
+
+    public static final String CREADO = "CREADO";
+    public static final String ACTUALIZADO = "ACTUALIZADO";
+    public static final String ELIMINADO = "ELIMINADO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    private String tipo;
+
+    // Datos del cliente en JSON, sin la contraseña; null en las bajas
+    @Column(length = 4000)
+    private String datos;
+
+    private Instant fecha;
+
+    // Orden de publicación; null mientras el relé no lo haya publicado
+    private Long posicion;
+
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -19,7 +20,10 @@ import lombok.Data;
 public class Persona {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Identificadores reservados por bloques: a diferencia de IDENTITY permite enviar los inserts en lote
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "personas_seq")
+    @TableGenerator(name = "personas_seq", table = "personas_seq", pkColumnName = "secuencia",
+            valueColumnName = "siguiente_valor", pkColumnValue = "personas", allocationSize = 50)
     private Long id;
 
     @NotEmpty(message = "El nombre no puede estar vacío")
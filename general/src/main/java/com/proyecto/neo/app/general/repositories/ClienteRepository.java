@@ -1,11 +1,59 @@
 package com.proyecto.neo.app.general.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import com.proyecto.neo.app.general.entities.Cliente;
 
+import jakarta.persistence.LockModeType;
+
 
 public interface ClienteRepository extends CrudRepository<Cliente,Long>{
 
+    /**
+     * Busca los clientes con identificador mayor al dado, en orden, para paginar
+     * por clave sobre la llave primaria.
+     */
+    List<Cliente> findByIdGreaterThanOrderById(Long id, Limit limite);
+
+    /**
+     * Obtiene el cliente bloqueándolo para escritura. Dos cambios sobre el mismo
+     * cliente registran así sus eventos en el mismo orden en que se confirman.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Cliente c where c.id = :id")
+    Optional<Cliente> findParaActualizar(@Param("id") Long id);
+
+    /**
+     * Busca los clientes con una identificación, paginando por id. Usa
+     * idx_personas_identificacion.
+     */
+    @Query("select c from Cliente c where c.identificacion = :identificacion and c.id > :id "
+            + "and (:estado is null or c.estado = :estado) order by c.id")
+    List<Cliente> buscarPorIdentificacion(@Param("identificacion") String identificacion,
+            @Param("estado") Boolean estado, @Param("id") Long id, Limit limite);
+
+    /**
+     * Busca los clientes cuyo nombre empieza con un prefijo, paginando por
+     * (nombre, id) a partir de la última fila devuelta. Usa idx_personas_nombre;
+     * la condición nombre >= :nombre repite la del cursor para que la base pueda
+     * recorrer el índice por rango.
+     */
+    @Query("select c from Cliente c where c.nombre like :patron escape '!' and c.nombre >= :nombre "
+            + "and (c.nombre > :nombre or c.id > :id) "
+            + "and (:estado is null or c.estado = :estado) order by c.nombre, c.id")
+    List<Cliente> buscarPorPrefijoNombre(@Param("patron") String patron, @Param("estado") Boolean estado,
+            @Param("nombre") String nombre, @Param("id") Long id, Limit limite);
+
+    /**
+     * Lista los clientes con un estado, paginando por id. Usa idx_clientes_estado.
+     */
+    List<Cliente> findByEstadoAndIdGreaterThanOrderById(Boolean estado, Long id, Limit limite);
 
 }
@@ -0,0 +1,30 @@
+package com.proyecto.neo.app.general.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import com.proyecto.neo.app.general.entities.EventoCliente;
+
+import jakarta.persistence.LockModeType;
+
+public interface EventoClienteRepository extends CrudRepository<EventoCliente, Long> {
+
+     /**
+      * Obtiene y bloquea los eventos aún no publicados, en el orden en que se
+      * registraron. Si dos relés corren a la vez, el segundo espera y ya no los
+      * encuentra pendientes.
+      */
+     @Lock(LockModeType.PESSIMISTIC_WRITE)
+     List<EventoCliente> findByPosicionIsNullOrderById(Limit limite);
+
+     @Query("select max(e.posicion) from EventoCliente e")
+     Optional<Long> findUltimaPosicion();
+
+     List<EventoCliente> findByPosicionGreaterThanOrderByPosicion(Long posicion, Limit limite);
+
+}
@@ -3,6 +3,7 @@ package com.proyecto.neo.app.general.services;
 import java.util.List;
 import java.util.Optional;
 
+import com.proyecto.neo.app.comun.PaginaDto;
 import com.proyecto.neo.app.general.entities.Cliente;
 
 public interface ClienteService {
@@ -11,9 +12,40 @@ public interface ClienteService {
      * Obtiene una lista de todos los clientes.
      * 
      * @return una lista de todos los clientes.
+     * @deprecated devuelve la tabla completa; usar {@link #findPage}.
      */
+    @Deprecated
     List<Cliente> findAll();
 
+    /**
+     * Obtiene una página de clientes ordenados por identificador, buscada por
+     * clave a partir de la página anterior.
+     * 
+     * @param tamanio      el número máximo de clientes de la página.
+     * @param continuacion el token devuelto por la página anterior, o null para
+     *                     la primera.
+     * @return la página de clientes con el token de la siguiente.
+     */
+    PaginaDto<Cliente> findPage(int tamanio, String continuacion);
+
+    /**
+     * Busca clientes por identificación exacta o por prefijo del nombre,
+     * opcionalmente filtrados por estado, o lista los de un estado. Cada modo de
+     * búsqueda usa un índice y pagina por clave.
+     * 
+     * @param identificacion la identificación exacta, o null.
+     * @param nombre         el prefijo del nombre, o null; se ignora si se indica
+     *                       la identificación.
+     * @param estado         el estado de los clientes, o null para cualquiera.
+     * @param tamanio        el número máximo de clientes de la página.
+     * @param continuacion   el token devuelto por la página anterior, o null para
+     *                       la primera.
+     * @return la página de clientes con el token de la siguiente.
+     * @throws IllegalArgumentException si no se indica ningún criterio.
+     */
+    PaginaDto<Cliente> search(String identificacion, String nombre, Boolean estado, int tamanio,
+            String continuacion);
+
     /**
      * Obtiene un cliente por su identificador único.
      * 
@@ -31,6 +63,14 @@ public interface ClienteService {
      */
     Cliente save(Cliente cliente);
 
+    /**
+     * Guarda un lote de clientes nuevos, cifrando sus contraseñas en paralelo.
+     * 
+     * @param clientes las entidades cliente a guardar.
+     * @return las entidades cliente guardadas, en el mismo orden.
+     */
+    List<Cliente> saveAll(List<Cliente> clientes);
+
     /**
      * Actualiza un cliente existente con nueva información.
      * 
@@ -4,11 +4,16 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.proyecto.neo.app.comun.Continuacion;
+import com.proyecto.neo.app.comun.PaginaDto;
 import com.proyecto.neo.app.general.entities.Cliente;
+import com.proyecto.neo.app.general.entities.EventoCliente;
 import com.proyecto.neo.app.general.exceptions.ResourceNotFoundException;
 import com.proyecto.neo.app.general.repositories.ClienteRepository;
 
@@ -19,7 +24,13 @@ public class ClienteServiceImpl implements ClienteService{
     private ClienteRepository repository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private ContraseniaService contraseniaService;
+
+    @Autowired
+    private EventoClienteService eventoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Transactional(readOnly = true)
     @Override
@@ -27,6 +38,53 @@ public class ClienteServiceImpl implements ClienteService{
         return (List<Cliente>) repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public PaginaDto<Cliente> findPage(int tamanio, String continuacion) {
+        Continuacion.tamanioValido(tamanio);
+        Long desde = continuacion != null ? idContinuacion(Continuacion.decodificar(continuacion, 1)[0]) : 0L;
+
+        List<Cliente> clientes = repository.findByIdGreaterThanOrderById(desde, Limit.of(tamanio + 1));
+        return Continuacion.pagina(clientes, tamanio, cliente -> new String[] { cliente.getId().toString() });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public PaginaDto<Cliente> search(String identificacion, String nombre, Boolean estado, int tamanio,
+            String continuacion) {
+        Continuacion.tamanioValido(tamanio);
+        Limit limite = Limit.of(tamanio + 1);
+
+        if (identificacion != null && !identificacion.isBlank()) {
+            Long desde = continuacion != null ? idContinuacion(Continuacion.decodificar(continuacion, 1)[0]) : 0L;
+            List<Cliente> clientes = repository.buscarPorIdentificacion(identificacion, estado, desde, limite);
+            return Continuacion.pagina(clientes, tamanio, cliente -> new String[] { cliente.getId().toString() });
+        }
+
+        if (nombre != null && !nombre.isBlank()) {
+            // La primera página empieza en el propio prefijo, antes de cualquier id
+            String desdeNombre = nombre;
+            Long desdeId = Long.MIN_VALUE;
+            if (continuacion != null) {
+                String[] claves = Continuacion.decodificar(continuacion, 2);
+                desdeNombre = claves[0];
+                desdeId = idContinuacion(claves[1]);
+            }
+            String patron = nombre.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+            List<Cliente> clientes = repository.buscarPorPrefijoNombre(patron, estado, desdeNombre, desdeId, limite);
+            return Continuacion.pagina(clientes, tamanio,
+                    cliente -> new String[] { cliente.getNombre(), cliente.getId().toString() });
+        }
+
+        if (estado != null) {
+            Long desde = continuacion != null ? idContinuacion(Continuacion.decodificar(continuacion, 1)[0]) : 0L;
+            List<Cliente> clientes = repository.findByEstadoAndIdGreaterThanOrderById(estado, desde, limite);
+            return Continuacion.pagina(clientes, tamanio, cliente -> new String[] { cliente.getId().toString() });
+        }
+
+        throw new IllegalArgumentException("Indique identificacion, nombre o estado");
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Cliente> findById(Long id) {
@@ -35,17 +93,41 @@ public class ClienteServiceImpl implements ClienteService{
 
     }
 
+    // El cifrado ocurre antes de abrir la transacción, para no retener una conexión mientras dura
     @Override
-    @Transactional
     public Cliente save(Cliente cliente) {
-        cliente.setContrasenia(passwordEncoder.encode(cliente.getContrasenia()));
-        return repository.save(cliente);
+        cliente.setContrasenia(contraseniaService.cifrar(cliente.getContrasenia()));
+        return new TransactionTemplate(transactionManager).execute(estado -> {
+            Cliente guardado = repository.save(cliente);
+            eventoService.registrar(EventoCliente.CREADO, guardado);
+            return guardado;
+        });
+    }
+
+    @Override
+    public List<Cliente> saveAll(List<Cliente> clientes) {
+        List<String> cifradas = contraseniaService.cifrarTodas(
+                clientes.stream().map(Cliente::getContrasenia).toList());
+        for (int i = 0; i < clientes.size(); i++) {
+            clientes.get(i).setContrasenia(cifradas.get(i));
+        }
+        return new TransactionTemplate(transactionManager).execute(estado -> {
+            List<Cliente> guardados = (List<Cliente>) repository.saveAll(clientes);
+            eventoService.registrarTodos(EventoCliente.CREADO, guardados);
+            return guardados;
+        });
     }
 
     @Override
-    @Transactional
     public Optional<Cliente> update(Long id, Cliente cliente) {
-        Optional<Cliente> clienteOptional = repository.findById(id);
+        String contraseniaCifrada = cliente.getContrasenia() != null && !cliente.getContrasenia().isEmpty()
+                ? contraseniaService.cifrar(cliente.getContrasenia())
+                : null;
+        return new TransactionTemplate(transactionManager).execute(estado -> actualizar(id, cliente, contraseniaCifrada));
+    }
+
+    private Optional<Cliente> actualizar(Long id, Cliente cliente, String contraseniaCifrada) {
+        Optional<Cliente> clienteOptional = repository.findParaActualizar(id);
         if (clienteOptional.isPresent()) {
             Cliente clienteDb = clienteOptional.orElseThrow();
             
@@ -56,13 +138,15 @@ public class ClienteServiceImpl implements ClienteService{
             clienteDb.setDireccion(cliente.getDireccion());
             clienteDb.setTelefono(cliente.getTelefono());
 
-            if (cliente.getContrasenia() != null && !cliente.getContrasenia().isEmpty()) {
-                clienteDb.setContrasenia(passwordEncoder.encode(cliente.getContrasenia()));
+            if (contraseniaCifrada != null) {
+                clienteDb.setContrasenia(contraseniaCifrada);
             }
 
             clienteDb.setEstado(cliente.getEstado());
 
-            return Optional.of(repository.save(clienteDb));
+            Cliente actualizado = repository.save(clienteDb);
+            eventoService.registrar(EventoCliente.ACTUALIZADO, actualizado);
+            return Optional.of(actualizado);
             
         }
         return clienteOptional;
@@ -71,14 +155,23 @@ public class ClienteServiceImpl implements ClienteService{
     @Transactional
     @Override
     public Optional<Cliente> delete(Long id) {
-        Optional<Cliente> clienteOptional = repository.findById(id);
+        Optional<Cliente> clienteOptional = repository.findParaActualizar(id);
         if (clienteOptional.isPresent()) {
             Cliente cliente = clienteOptional.get();
             repository.delete(cliente);
+            eventoService.registrar(EventoCliente.ELIMINADO, cliente);
             return Optional.of(cliente);
         } else {
             throw new ResourceNotFoundException("Cliente no encontrado con id: " + id);
         }
     }
 
+    private static Long idContinuacion(String clave) {
+        try {
+            return Long.valueOf(clave);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Token de continuación inválido", e);
+        }
+    }
+
 }
@@ -0,0 +1,124 @@
+package com.proyecto.neo.app.general.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Único punto donde se cifran las contraseñas de los clientes. BCrypt es
+ * costoso a propósito, así que el cifrado corre en un pool propio del tamaño de
+ * los núcleos con una cola acotada: una ráfaga de altas no ocupa más CPU que la
+ * del pool, y si la cola se llena se rechaza en lugar de acumular trabajo.
+ * <p>
+ * Las altas y modificaciones esperan el cifrado en el hilo de la solicitud, así
+ * que la cola más los hilos del pool deben ser menos que los hilos del servidor:
+ * con una cola mayor los hilos del servidor se agotan esperando antes de que la
+ * cola se llene, y el rechazo nunca ocurre.
+ */
+@Service
+public class ContraseniaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContraseniaService.class);
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Value("${general.contrasenias.hilos:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int hilos;
+
+    @Value("${general.contrasenias.capacidad-cola:64}")
+    private int capacidadCola;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int hilosServidor;
+
+    private ThreadPoolExecutor ejecutor;
+
+    @PostConstruct
+    public void iniciar() {
+        if (hilos + capacidadCola >= hilosServidor) {
+            throw new IllegalStateException("general.contrasenias.capacidad-cola (" + capacidadCola
+                    + ") más los hilos de cifrado (" + hilos + ") debe ser menor que server.tomcat.threads.max ("
+                    + hilosServidor + ")");
+        }
+        AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), tarea -> {
+                    Thread hilo = new Thread(tarea, "contrasenias-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        // Deja en el log cuánto tarda un cifrado con el costo configurado, para ajustarlo al hardware
+        long inicio = System.nanoTime();
+        passwordEncoder.encode("calibracion");
+        log.info("Cifrado de contraseñas con {} hilos; un cifrado BCrypt tarda {} ms",
+                hilos, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdown();
+    }
+
+    /**
+     * Cifra una contraseña en el pool de cifrado y espera el resultado.
+     *
+     * @param contrasenia la contraseña en texto plano.
+     * @return la contraseña cifrada.
+     * @throws java.util.concurrent.RejectedExecutionException si el pool está
+     *                                                         saturado.
+     */
+    public String cifrar(String contrasenia) {
+        return esperar(cifrarAsync(contrasenia));
+    }
+
+    /**
+     * Cifra en paralelo un lote de contraseñas.
+     *
+     * @param contrasenias las contraseñas en texto plano.
+     * @return las contraseñas cifradas, en el mismo orden.
+     */
+    public List<String> cifrarTodas(List<String> contrasenias) {
+        // Por tramos, para que un lote grande no llene la cola y deje sin lugar a las altas individuales
+        int tramo = hilos * 2;
+        List<String> cifradas = new ArrayList<>(contrasenias.size());
+        for (int desde = 0; desde < contrasenias.size(); desde += tramo) {
+            List<CompletableFuture<String>> pendientes = new ArrayList<>(tramo);
+            contrasenias.subList(desde, Math.min(desde + tramo, contrasenias.size()))
+                    .forEach(contrasenia -> pendientes.add(cifrarAsync(contrasenia)));
+            pendientes.forEach(pendiente -> cifradas.add(esperar(pendiente)));
+        }
+        return cifradas;
+    }
+
+    public CompletableFuture<String> cifrarAsync(String contrasenia) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(contrasenia), ejecutor);
+    }
+
+    private static String esperar(CompletableFuture<String> pendiente) {
+        try {
+            return pendiente.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
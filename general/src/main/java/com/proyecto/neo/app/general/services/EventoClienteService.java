@@ -0,0 +1,118 @@
+package com.proyecto.neo.app.general.services;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.neo.app.general.dto.EventoClienteDto;
+import com.proyecto.neo.app.general.dto.FeedEventosDto;
+import com.proyecto.neo.app.general.entities.Cliente;
+import com.proyecto.neo.app.general.entities.EventoCliente;
+import com.proyecto.neo.app.general.repositories.EventoClienteRepository;
+
+/**
+ * Registra los cambios de clientes en la bandeja de salida y entrega el feed
+ * de eventos publicados.
+ * <p>
+ * Los consumidores leen el feed por posición y guardan la última que aplicaron;
+ * al reiniciar piden desde ahí. Un evento puede llegarles más de una vez (si
+ * fallan entre aplicarlo y guardar la posición), nunca fuera de orden.
+ */
+@Service
+public class EventoClienteService {
+
+    @Autowired
+    private EventoClienteRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Agrega a la bandeja de salida el evento de un cambio de cliente. Debe
+     * llamarse dentro de la transacción que hace el cambio.
+     *
+     * @param tipo    el tipo de evento, una de las constantes de
+     *                {@link EventoCliente}.
+     * @param cliente el cliente ya modificado, con su id asignado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String tipo, Cliente cliente) {
+        registrarTodos(tipo, List.of(cliente));
+    }
+
+    /**
+     * Agrega a la bandeja de salida un evento por cliente, con una sola
+     * sentencia en lote. Debe llamarse dentro de la transacción que hace los
+     * cambios.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTodos(String tipo, List<Cliente> clientes) {
+        Timestamp fecha = Timestamp.from(Instant.now());
+        // Por JDBC: con id autoincremental, Hibernate no agruparía los inserts de una importación
+        jdbcTemplate.batchUpdate("insert into eventos_cliente (cliente_id, tipo, datos, fecha) values (?, ?, ?, ?)",
+                clientes, clientes.size(), (sentencia, cliente) -> {
+                    sentencia.setLong(1, cliente.getId());
+                    sentencia.setString(2, tipo);
+                    sentencia.setString(3, EventoCliente.ELIMINADO.equals(tipo) ? null : datos(cliente));
+                    sentencia.setTimestamp(4, fecha);
+                });
+    }
+
+    /**
+     * Lee los eventos publicados después de una posición.
+     *
+     * @param desde   la última posición que el consumidor ya aplicó, o 0.
+     * @param tamanio el número máximo de eventos a devolver.
+     * @return los eventos en orden de posición y la cabeza actual del feed.
+     */
+    @Transactional(readOnly = true)
+    public FeedEventosDto leer(long desde, int tamanio) {
+        if (tamanio < 1 || tamanio > 1000) {
+            throw new IllegalArgumentException("El tamaño debe estar entre 1 y 1000");
+        }
+        List<EventoClienteDto> eventos = repository.findByPosicionGreaterThanOrderByPosicion(desde,
+                Limit.of(tamanio)).stream().map(EventoClienteService::aDto).toList();
+        return new FeedEventosDto(eventos, repository.findUltimaPosicion().orElse(0L));
+    }
+
+    private String datos(Cliente cliente) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("id", cliente.getId());
+        datos.put("nombre", cliente.getNombre());
+        datos.put("genero", cliente.getGenero());
+        datos.put("edad", cliente.getEdad());
+        datos.put("identificacion", cliente.getIdentificacion());
+        datos.put("direccion", cliente.getDireccion());
+        datos.put("telefono", cliente.getTelefono());
+        datos.put("estado", cliente.getEstado());
+        try {
+            return objectMapper.writeValueAsString(datos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el cliente " + cliente.getId(), e);
+        }
+    }
+
+    private static EventoClienteDto aDto(EventoCliente evento) {
+        EventoClienteDto dto = new EventoClienteDto();
+        dto.setPosicion(evento.getPosicion());
+        dto.setClienteId(evento.getClienteId());
+        dto.setTipo(evento.getTipo());
+        dto.setFecha(evento.getFecha());
+        dto.setCliente(evento.getDatos());
+        return dto;
+    }
+}
@@ -0,0 +1,270 @@
+package com.proyecto.neo.app.general.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.neo.app.general.dto.ResultadoImportacionDto;
+import com.proyecto.neo.app.general.entities.Cliente;
+import com.proyecto.neo.app.general.entities.EventoCliente;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importa clientes desde un archivo CSV o NDJSON leído línea a línea, sin
+ * cargarlo completo en memoria. Cada fila se valida con las restricciones de
+ * Persona y Cliente; las válidas se guardan por lotes, cada lote en su propia
+ * transacción, y las inválidas se informan con su número de fila.
+ */
+@Service
+public class ImportacionClienteService {
+
+    // Múltiplo de hibernate.jdbc.batch_size, para que cada flush envíe lotes completos
+    private static final int TAMANIO_LOTE = 500;
+
+    private static final int MAXIMO_ERRORES_DETALLADOS = 1000;
+
+    private static final List<String> COLUMNAS_CSV = List.of("nombre", "genero", "edad", "identificacion",
+            "direccion", "telefono", "contrasenia", "estado");
+
+    @Autowired
+    private ContraseniaService contraseniaService;
+
+    @Autowired
+    private EventoClienteService eventoService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Importa clientes desde CSV. La primera línea es el encabezado con los
+     * nombres de las columnas, en cualquier orden: nombre, genero, edad,
+     * identificacion, direccion, telefono, contrasenia, estado.
+     *
+     * @param entrada el contenido del archivo.
+     * @return el resultado de la importación.
+     * @throws IOException si falla la lectura.
+     */
+    public ResultadoImportacionDto importarCsv(InputStream entrada) throws IOException {
+        BufferedReader lector = lector(entrada);
+        String encabezado = lector.readLine();
+        if (encabezado == null) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+        // Se descarta la marca de orden de bytes que agregan algunas hojas de cálculo
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> nombres = separarCsv(encabezado.replace("\uFEFF", ""));
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim().toLowerCase(), i);
+        }
+        if (!columnas.keySet().containsAll(COLUMNAS_CSV)) {
+            throw new IllegalArgumentException("El encabezado debe tener las columnas " + COLUMNAS_CSV);
+        }
+
+        return importar(lector, 1, linea -> clienteCsv(separarCsv(linea), columnas));
+    }
+
+    /**
+     * Importa clientes desde NDJSON: un objeto JSON de cliente por línea.
+     *
+     * @param entrada el contenido del archivo.
+     * @return el resultado de la importación.
+     * @throws IOException si falla la lectura.
+     */
+    public ResultadoImportacionDto importarNdjson(InputStream entrada) throws IOException {
+        return importar(lector(entrada), 0, linea -> {
+            try {
+                return objectMapper.readValue(linea, Cliente.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private ResultadoImportacionDto importar(BufferedReader lector, long lineasPrevias, Interprete interprete)
+            throws IOException {
+        long inicio = System.nanoTime();
+        ResultadoImportacionDto resultado = new ResultadoImportacionDto();
+        List<Cliente> lote = new ArrayList<>(TAMANIO_LOTE);
+        List<Long> filasLote = new ArrayList<>(TAMANIO_LOTE);
+
+        long fila = lineasPrevias;
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            fila++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            resultado.setFilasLeidas(resultado.getFilasLeidas() + 1);
+
+            Cliente cliente;
+            try {
+                cliente = interprete.interpretar(linea);
+            } catch (IllegalArgumentException e) {
+                registrarError(resultado, fila, List.of(e.getMessage()));
+                continue;
+            }
+            cliente.setId(null);
+
+            Set<ConstraintViolation<Cliente>> violaciones = validator.validate(cliente);
+            if (!violaciones.isEmpty()) {
+                registrarError(resultado, fila, violaciones.stream()
+                        .sorted(Comparator.comparing(violacion -> violacion.getPropertyPath().toString()))
+                        .map(violacion -> violacion.getPropertyPath() + ": " + violacion.getMessage())
+                        .toList());
+                continue;
+            }
+
+            lote.add(cliente);
+            filasLote.add(fila);
+            if (lote.size() == TAMANIO_LOTE) {
+                guardarLote(lote, filasLote, resultado);
+            }
+        }
+        guardarLote(lote, filasLote, resultado);
+
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        resultado.setSegundos(segundos);
+        resultado.setFilasPorSegundo(segundos > 0 ? resultado.getFilasImportadas() / segundos : 0);
+        return resultado;
+    }
+
+    private void guardarLote(List<Cliente> lote, List<Long> filasLote, ResultadoImportacionDto resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        // El cifrado va fuera de la transacción, en paralelo en el pool de contraseñas
+        List<String> cifradas = contraseniaService.cifrarTodas(lote.stream().map(Cliente::getContrasenia).toList());
+        for (int i = 0; i < lote.size(); i++) {
+            lote.get(i).setContrasenia(cifradas.get(i));
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+                lote.forEach(entityManager::persist);
+                eventoService.registrarTodos(EventoCliente.CREADO, lote);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            resultado.setFilasImportadas(resultado.getFilasImportadas() + lote.size());
+        } catch (RuntimeException e) {
+            // Un lote que la base rechaza se informa completo; los lotes anteriores quedan guardados
+            String mensaje = "Lote no guardado: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            filasLote.forEach(fila -> registrarError(resultado, fila, List.of(mensaje)));
+        }
+        lote.clear();
+        filasLote.clear();
+    }
+
+    private static void registrarError(ResultadoImportacionDto resultado, long fila, List<String> mensajes) {
+        resultado.setFilasConError(resultado.getFilasConError() + 1);
+        if (resultado.getErrores().size() < MAXIMO_ERRORES_DETALLADOS) {
+            resultado.getErrores().add(new ResultadoImportacionDto.ErrorFila(fila, mensajes));
+        }
+    }
+
+    private static Cliente clienteCsv(List<String> valores, Map<String, Integer> columnas) {
+        Cliente cliente = new Cliente();
+        cliente.setNombre(valor(valores, columnas, "nombre"));
+        cliente.setGenero(valor(valores, columnas, "genero"));
+        cliente.setIdentificacion(valor(valores, columnas, "identificacion"));
+        cliente.setDireccion(valor(valores, columnas, "direccion"));
+        cliente.setTelefono(valor(valores, columnas, "telefono"));
+        cliente.setContrasenia(valor(valores, columnas, "contrasenia"));
+
+        String edad = valor(valores, columnas, "edad");
+        if (edad != null) {
+            try {
+                cliente.setEdad(Long.valueOf(edad));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("edad: no es un número: " + edad);
+            }
+        }
+        String estado = valor(valores, columnas, "estado");
+        if (estado != null) {
+            cliente.setEstado(estado.equalsIgnoreCase("true") || estado.equals("1"));
+        }
+        return cliente;
+    }
+
+    private static String valor(List<String> valores, Map<String, Integer> columnas, String columna) {
+        int indice = columnas.get(columna);
+        if (indice >= valores.size() || valores.get(indice).isBlank()) {
+            return null;
+        }
+        return valores.get(indice).trim();
+    }
+
+    /**
+     * Separa una línea CSV en campos. Admite campos entre comillas dobles con
+     * comas y comillas escapadas (""), pero no saltos de línea dentro de un
+     * campo.
+     */
+    static List<String> separarCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new IllegalArgumentException("Comillas sin cerrar");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static BufferedReader lector(InputStream entrada) {
+        return new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    @FunctionalInterface
+    private interface Interprete {
+        Cliente interpretar(String linea);
+    }
+}
@@ -0,0 +1,144 @@
+package com.proyecto.neo.app.general.services;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.neo.app.general.dto.EventoClienteDto;
+import com.proyecto.neo.app.general.entities.EventoCliente;
+import com.proyecto.neo.app.general.repositories.EventoClienteRepository;
+
+/**
+ * Publica los eventos de la bandeja de salida: les asigna posiciones
+ * consecutivas en el orden en que se registraron, lo que los deja visibles en
+ * el feed, y si hay un archivo configurado los agrega a él como NDJSON para
+ * consumidores locales, sin necesidad de un broker.
+ * <p>
+ * El archivo solo crece; cada línea lleva su posición, así que un consumidor
+ * retoma leyendo hasta pasar la última que aplicó. Tras un reinicio el relé
+ * continúa desde la última posición escrita en el archivo.
+ */
+@Component
+public class RelayEventosCliente {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayEventosCliente.class);
+
+    private static final int TAMANIO_LOTE = 500;
+
+    @Autowired
+    private EventoClienteRepository repository;
+
+    @Autowired
+    private EventoClienteService eventoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${general.eventos.archivo:}")
+    private String archivo;
+
+    // Última posición agregada al archivo; null hasta leerla del propio archivo
+    private Long ultimaEscrita;
+
+    // La primera pasada espera un intervalo, no corre mientras arranca el contexto
+    @Scheduled(initialDelayString = "${general.eventos.intervalo-ms:500}",
+            fixedDelayString = "${general.eventos.intervalo-ms:500}")
+    public synchronized void publicar() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        int asignados;
+        do {
+            asignados = transaccion.execute(estado -> asignarPosiciones());
+        } while (asignados == TAMANIO_LOTE);
+
+        if (!archivo.isBlank()) {
+            escribirArchivo();
+        }
+    }
+
+    private int asignarPosiciones() {
+        List<EventoCliente> pendientes = repository.findByPosicionIsNullOrderById(Limit.of(TAMANIO_LOTE));
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+        long siguiente = repository.findUltimaPosicion().orElse(0L) + 1;
+        for (EventoCliente evento : pendientes) {
+            evento.setPosicion(siguiente++);
+        }
+        return pendientes.size();
+    }
+
+    private void escribirArchivo() {
+        Path ruta = Path.of(archivo);
+        try {
+            if (ultimaEscrita == null) {
+                ultimaEscrita = ultimaPosicionEnArchivo(ruta);
+            }
+            List<EventoClienteDto> eventos;
+            do {
+                eventos = eventoService.leer(ultimaEscrita, TAMANIO_LOTE).getEventos();
+                if (eventos.isEmpty()) {
+                    return;
+                }
+                StringBuilder lineas = new StringBuilder();
+                for (EventoClienteDto evento : eventos) {
+                    lineas.append(objectMapper.writeValueAsString(evento)).append('\n');
+                }
+                try (FileOutputStream salida = new FileOutputStream(ruta.toFile(), true)) {
+                    salida.write(lineas.toString().getBytes(StandardCharsets.UTF_8));
+                    salida.getFD().sync();
+                }
+                ultimaEscrita = eventos.get(eventos.size() - 1).getPosicion();
+            } while (eventos.size() == TAMANIO_LOTE);
+        } catch (IOException e) {
+            // Se reintenta en la siguiente ejecución; los eventos siguen en el feed
+            log.warn("No se pudieron escribir los eventos en {}: {}", ruta, e.getMessage());
+            ultimaEscrita = null;
+        }
+    }
+
+    private long ultimaPosicionEnArchivo(Path ruta) throws IOException {
+        if (!Files.exists(ruta) || Files.size(ruta) == 0) {
+            return 0L;
+        }
+        try (RandomAccessFile lector = new RandomAccessFile(ruta.toFile(), "r")) {
+            // Se busca hacia atrás el inicio de la última línea completa
+            long fin = lector.length() - 1;
+            lector.seek(fin);
+            if (lector.read() == '\n') {
+                fin--;
+            }
+            long inicio = fin;
+            while (inicio > 0) {
+                lector.seek(inicio - 1);
+                if (lector.read() == '\n') {
+                    break;
+                }
+                inicio--;
+            }
+            byte[] linea = new byte[(int) (fin - inicio + 1)];
+            lector.seek(inicio);
+            lector.readFully(linea);
+            JsonNode evento = objectMapper.readTree(linea);
+            return evento.get("posicion").asLong();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Esquema de las tablas del microservicio general, tal como lo dejó ddl-auto=update.
+-- Usa IF NOT EXISTS para poder aplicarse sobre una base existente (ver base.sql).
+
+CREATE TABLE IF NOT EXISTS personas (
+  edad bigint DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  direccion varchar(255) DEFAULT NULL,
+  genero varchar(255) DEFAULT NULL,
+  identificacion varchar(255) DEFAULT NULL,
+  nombre varchar(255) DEFAULT NULL,
+  telefono varchar(255) DEFAULT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS clientes (
+  estado bit(1) DEFAULT NULL,
+  id bigint NOT NULL,
+  contrasenia varchar(255) DEFAULT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_clientes_persona FOREIGN KEY (id) REFERENCES personas (id)
+);
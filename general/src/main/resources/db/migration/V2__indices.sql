@@ -0,0 +1,2 @@
+-- Búsqueda de clientes por identificación
+CREATE INDEX idx_personas_identificacion ON personas (identificacion);
@@ -0,0 +1,11 @@
+-- Generador por tabla para Persona, que reemplaza a AUTO_INCREMENT para poder insertar en lote
+CREATE TABLE IF NOT EXISTS personas_seq (
+  secuencia varchar(255) NOT NULL,
+  siguiente_valor bigint DEFAULT NULL,
+  PRIMARY KEY (secuencia)
+);
+
+-- El generador reserva identificadores a partir del siguiente al mayor existente
+INSERT INTO personas_seq (secuencia, siguiente_valor)
+SELECT 'personas', COALESCE(MAX(id), 0) + 1 FROM personas
+WHERE NOT EXISTS (SELECT 1 FROM personas_seq WHERE secuencia = 'personas');
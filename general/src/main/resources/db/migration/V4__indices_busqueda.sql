@@ -0,0 +1,5 @@
+-- Búsqueda de clientes por prefijo de nombre, paginada por (nombre, id)
+CREATE INDEX idx_personas_nombre ON personas (nombre, id);
+
+-- Listado de clientes por estado, paginado por id
+CREATE INDEX idx_clientes_estado ON clientes (estado, id);
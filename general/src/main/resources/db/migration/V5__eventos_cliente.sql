@@ -0,0 +1,15 @@
+-- Bandeja de salida de los cambios de clientes. Cada alta, modificación o baja agrega
+-- aquí su evento en la misma transacción; el relé les asigna después una posición
+-- consecutiva, que es el orden en que los consumidores los leen y retoman.
+CREATE TABLE eventos_cliente (
+  id bigint NOT NULL AUTO_INCREMENT,
+  cliente_id bigint NOT NULL,
+  tipo varchar(20) NOT NULL,
+  datos varchar(4000) DEFAULT NULL,
+  fecha datetime(6) NOT NULL,
+  posicion bigint DEFAULT NULL,
+  PRIMARY KEY (id)
+);
+
+-- El relé busca los pendientes (posición nula) y el feed lee por posición
+CREATE UNIQUE INDEX uk_eventos_cliente_posicion ON eventos_cliente (posicion);
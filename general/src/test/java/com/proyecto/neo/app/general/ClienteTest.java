@@ -1,17 +1,35 @@
 package com.proyecto.neo.app.general;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.proyecto.neo.app.general.controllers.ClienteController;
 import com.proyecto.neo.app.general.entities.Cliente;
+import com.proyecto.neo.app.general.entities.EventoCliente;
 import com.proyecto.neo.app.general.repositories.ClienteRepository;
+import com.proyecto.neo.app.general.services.ClienteService;
 import com.proyecto.neo.app.general.services.ClienteServiceImpl;
+import com.proyecto.neo.app.general.services.ContraseniaService;
+import com.proyecto.neo.app.general.services.EventoClienteService;
 
 @ExtendWith(MockitoExtension.class) //JUnit debe usar soporte para Mockito y DI
 public class ClienteTest {
@@ -19,6 +37,15 @@ public class ClienteTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private ContraseniaService contraseniaService;
+
+    @Mock
+    private EventoClienteService eventoService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ClienteServiceImpl clienteService;
 
@@ -35,6 +62,7 @@ public class ClienteTest {
         cliente.setContrasenia("1234");
         cliente.setEstado(Boolean.TRUE);
 
+        when(contraseniaService.cifrar("1234")).thenReturn("$2a$10$cifrada");
         when(clienteRepository.save(cliente)).thenReturn(cliente);
 
         Cliente clienteGuardado = clienteService.save(cliente);
@@ -48,6 +76,84 @@ public class ClienteTest {
         assertEquals(cliente.getContrasenia(), clienteGuardado.getContrasenia());
         assertEquals(cliente.getEstado(), clienteGuardado.getEstado());
 
+        assertEquals("$2a$10$cifrada", clienteGuardado.getContrasenia());
+
         verify(clienteRepository, times(1)).save(cliente);
+        verify(contraseniaService, times(1)).cifrar("1234");
+        verify(eventoService, times(1)).registrar(EventoCliente.CREADO, cliente);
+    }
+
+    @Test
+    public void testGuardarLoteCifraCadaContraseniaUnaVez() {
+        Cliente primero = new Cliente();
+        primero.setContrasenia("1234");
+        Cliente segundo = new Cliente();
+        segundo.setContrasenia("5678");
+        List<Cliente> clientes = List.of(primero, segundo);
+
+        when(contraseniaService.cifrarTodas(List.of("1234", "5678"))).thenReturn(List.of("cifrada1", "cifrada2"));
+        when(clienteRepository.saveAll(clientes)).thenReturn(clientes);
+
+        clienteService.saveAll(clientes);
+
+        assertEquals("cifrada1", primero.getContrasenia());
+        assertEquals("cifrada2", segundo.getContrasenia());
+        verify(contraseniaService, never()).cifrar(anyString());
+        verify(eventoService, times(1)).registrarTodos(EventoCliente.CREADO, clientes);
+    }
+
+    @Test
+    public void testCifradoSaturadoRespondeServicioNoDisponible() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(invocacion -> {
+            if (!"calibracion".equals(invocacion.getArgument(0))) {
+                liberar.await();
+            }
+            return "$2a$10$cifrada";
+        });
+        ContraseniaService contrasenias = new ContraseniaService();
+        ReflectionTestUtils.setField(contrasenias, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(contrasenias, "hilos", 1);
+        ReflectionTestUtils.setField(contrasenias, "capacidadCola", 1);
+        ReflectionTestUtils.setField(contrasenias, "hilosServidor", 200);
+        contrasenias.iniciar();
+
+        ClienteService servicio = mock(ClienteService.class);
+        when(servicio.save(any(Cliente.class))).thenAnswer(invocacion -> {
+            Cliente cliente = invocacion.getArgument(0);
+            cliente.setContrasenia(contrasenias.cifrar(cliente.getContrasenia()));
+            return cliente;
+        });
+        ClienteController controller = new ClienteController();
+        ReflectionTestUtils.setField(controller, "service", servicio);
+        ReflectionTestUtils.setField(controller, "reintentarEn", 2L);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        try {
+            // Un cifrado en curso y otro en la cola llenan el pool
+            contrasenias.cifrarAsync("1234");
+            contrasenias.cifrarAsync("5678");
+
+            mockMvc.perform(post("/api/clientes").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"nombre\":\"Jose Lema\",\"genero\":\"Masculino\",\"edad\":30,"
+                            + "\"identificacion\":\"1718892746\",\"direccion\":\"Otavalo\","
+                            + "\"contrasenia\":\"1234\",\"estado\":true}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"));
+        } finally {
+            liberar.countDown();
+            contrasenias.detener();
+        }
+    }
+
+    @Test
+    public void testColaDeCifradoMayorQueLosHilosDelServidorNoArranca() {
+        ContraseniaService contrasenias = new ContraseniaService();
+        ReflectionTestUtils.setField(contrasenias, "hilos", 8);
+        ReflectionTestUtils.setField(contrasenias, "capacidadCola", 1000);
+        ReflectionTestUtils.setField(contrasenias, "hilosServidor", 200);
+
+        assertThrows(IllegalStateException.class, contrasenias::iniciar);
     }
 }
@@ -0,0 +1,139 @@
+package com.proyecto.neo.app.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.neo.app.general.dto.EventoClienteDto;
+import com.proyecto.neo.app.general.dto.FeedEventosDto;
+import com.proyecto.neo.app.general.entities.Cliente;
+import com.proyecto.neo.app.general.entities.EventoCliente;
+import com.proyecto.neo.app.general.services.ClienteServiceImpl;
+import com.proyecto.neo.app.general.services.ContraseniaService;
+import com.proyecto.neo.app.general.services.EventoClienteService;
+import com.proyecto.neo.app.general.services.RelayEventosCliente;
+
+// El relé se llama a mano; la tarea programada no llega a correr durante la prueba
+@DataJpaTest(properties = "general.eventos.intervalo-ms=3600000")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ClienteServiceImpl.class, EventoClienteService.class, RelayEventosCliente.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EventosTest {
+
+    @Autowired
+    private ClienteServiceImpl clienteService;
+
+    @Autowired
+    private EventoClienteService eventoService;
+
+    @Autowired
+    private RelayEventosCliente relay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ContraseniaService contraseniaService;
+
+    @AfterEach
+    public void limpiar() {
+        jdbcTemplate.update("delete from eventos_cliente");
+        jdbcTemplate.update("delete from clientes");
+        jdbcTemplate.update("delete from personas");
+        ReflectionTestUtils.setField(relay, "archivo", "");
+        ReflectionTestUtils.setField(relay, "ultimaEscrita", null);
+    }
+
+    @Test
+    public void testLosCambiosSePublicanEnOrdenYSeLeenDesdeUnaPosicion() {
+        when(contraseniaService.cifrar(anyString())).thenReturn("cifrada");
+        Cliente cliente = clienteService.save(cliente("Jose Lema"));
+        Cliente cambio = cliente("Jose Lema Ortiz");
+        cambio.setEstado(Boolean.FALSE);
+        clienteService.update(cliente.getId(), cambio);
+
+        // Sin relé los eventos siguen pendientes y el feed está vacío
+        assertTrue(eventoService.leer(0, 10).getEventos().isEmpty());
+
+        relay.publicar();
+        clienteService.delete(cliente.getId());
+        relay.publicar();
+
+        FeedEventosDto feed = eventoService.leer(0, 10);
+        assertEquals(3L, feed.getCabeza());
+        List<EventoClienteDto> eventos = feed.getEventos();
+        assertEquals(List.of(EventoCliente.CREADO, EventoCliente.ACTUALIZADO, EventoCliente.ELIMINADO),
+                eventos.stream().map(EventoClienteDto::getTipo).toList());
+        assertEquals(List.of(1L, 2L, 3L), eventos.stream().map(EventoClienteDto::getPosicion).toList());
+        assertTrue(eventos.get(1).getCliente().contains("\"nombre\":\"Jose Lema Ortiz\""));
+        assertTrue(!eventos.get(0).getCliente().contains("contrasenia"));
+        assertNull(eventos.get(2).getCliente());
+
+        FeedEventosDto resto = eventoService.leer(2, 10);
+        assertEquals(1, resto.getEventos().size());
+        assertEquals(EventoCliente.ELIMINADO, resto.getEventos().get(0).getTipo());
+    }
+
+    @Test
+    public void testElArchivoDeEventosSeRetomaDesdeSuUltimaLinea() throws Exception {
+        when(contraseniaService.cifrar(anyString())).thenReturn("cifrada");
+        Path archivo = Files.createTempFile("eventos-cliente", ".ndjson");
+        ReflectionTestUtils.setField(relay, "archivo", archivo.toString());
+
+        clienteService.save(cliente("Marianela Montalvo"));
+        relay.publicar();
+
+        // Un relé que reinicia lee la última posición del archivo y no repite eventos
+        ReflectionTestUtils.setField(relay, "ultimaEscrita", null);
+        clienteService.save(cliente("Juan Osorio"));
+        relay.publicar();
+
+        List<String> lineas = Files.readAllLines(archivo);
+        assertEquals(2, lineas.size());
+        JsonNode segundo = objectMapper.readTree(lineas.get(1));
+        assertEquals(2L, segundo.get("posicion").asLong());
+        assertEquals("Juan Osorio", segundo.get("cliente").get("nombre").asText());
+        Files.delete(archivo);
+    }
+
+    private Cliente cliente(String nombre) {
+        Cliente cliente = new Cliente();
+        cliente.setNombre(nombre);
+        cliente.setGenero("Masculino");
+        cliente.setEdad(30L);
+        cliente.setIdentificacion("1718892746");
+        cliente.setDireccion("Otavalo sn y principal");
+        cliente.setTelefono("098254785");
+        cliente.setContrasenia("1234");
+        cliente.setEstado(Boolean.TRUE);
+        return cliente;
+    }
+}
@@ -0,0 +1,102 @@
+package com.proyecto.neo.app.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.proyecto.neo.app.general.dto.ResultadoImportacionDto;
+import com.proyecto.neo.app.general.services.ContraseniaService;
+import com.proyecto.neo.app.general.services.EventoClienteService;
+import com.proyecto.neo.app.general.services.ImportacionClienteService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ImportacionClienteService.class, EventoClienteService.class })
+@ImportAutoConfiguration({ JacksonAutoConfiguration.class, ValidationAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ImportacionTest {
+
+    @Autowired
+    private ImportacionClienteService importacionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ContraseniaService contraseniaService;
+
+    @AfterEach
+    public void limpiar() {
+        // Los lotes se confirman en sus propias transacciones, así que no hay rollback de la prueba
+        jdbcTemplate.update("delete from eventos_cliente");
+        jdbcTemplate.update("delete from clientes");
+        jdbcTemplate.update("delete from personas");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportaCsvPorLotesEInformaErroresPorFila() throws Exception {
+        when(contraseniaService.cifrarTodas(anyList()))
+                .thenAnswer(invocation -> ((List<String>) invocation.getArgument(0)).stream()
+                        .map(contrasenia -> "cifrada-" + contrasenia).toList());
+
+        StringBuilder csv = new StringBuilder("nombre,genero,edad,identificacion,direccion,telefono,contrasenia,estado\n");
+        for (int i = 0; i < 120; i++) {
+            csv.append("\"Lema, Jose ").append(i).append("\",Masculino,25,17188").append(i)
+                    .append(",Otavalo,098254785,clave").append(i).append(",true\n");
+        }
+        csv.append("Ana,Desconocido,30,1718,Quito,,clave,true\n");
+        csv.append("Luis,Masculino,treinta,1719,Quito,,clave,true\n");
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        ResultadoImportacionDto resultado = importacionService.importarCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(122, resultado.getFilasLeidas());
+        assertEquals(120, resultado.getFilasImportadas());
+        assertEquals(2, resultado.getFilasConError());
+        assertEquals(122, resultado.getErrores().get(0).getFila());
+        assertTrue(resultado.getErrores().get(0).getMensajes().get(0).startsWith("genero:"));
+        assertEquals(123, resultado.getErrores().get(1).getFila());
+        assertEquals(120, jdbcTemplate.queryForObject("select count(*) from clientes where contrasenia like 'cifrada-%'",
+                Integer.class));
+        assertEquals(120, jdbcTemplate.queryForObject("select count(*) from eventos_cliente where tipo = 'CREADO'",
+                Integer.class));
+        assertEquals("Lema, Jose 0", jdbcTemplate.queryForObject(
+                "select nombre from personas where identificacion = '171880'", String.class));
+
+        // 240 filas en lotes de 50 más las reservas de identificadores, en lugar de una sentencia por fila
+        assertTrue(estadisticas.getPrepareStatementCount() < 20,
+                "Sentencias preparadas: " + estadisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,179 @@
+package com.proyecto.neo.app.general;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.proyecto.neo.app.general.repositories.ClienteRepository;
+import com.proyecto.neo.app.general.repositories.EventoClienteRepository;
+
+/**
+ * Ejecuta cada consulta de los repositorios de clientes y del feed de eventos, toma el SQL que generó
+ * Hibernate y comprueba con EXPLAIN que la base de datos la resuelve con un
+ * índice y no recorriendo la tabla completa. Cada caso indica con
+ * {@link Explica} la consulta que cubre, y
+ * {@link #testCadaConsultaTieneSuCaso()} exige un caso por cada consulta
+ * declarada en los repositorios.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.proyecto.neo.app.general.IndicesTest$CapturaSql")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class IndicesTest {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EventoClienteRepository eventoClienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    public void setup() {
+        CapturaSql.sentencias.clear();
+    }
+
+    @Test
+    @Explica("ClienteRepository.findByIdGreaterThanOrderById")
+    public void testListadoPorIdUsaIndice() {
+        clienteRepository.findByIdGreaterThanOrderById(0L, Limit.of(51));
+        assertUsaIndice(ultimaSentencia(), "primary", 0L, 0, 51);
+    }
+
+    @Test
+    @Explica("ClienteRepository.findParaActualizar")
+    public void testBloqueoParaActualizarUsaIndice() {
+        clienteRepository.findParaActualizar(1L);
+        assertUsaIndice(ultimaSentencia(), "primary", 1L);
+    }
+
+    @Test
+    @Explica("ClienteRepository.buscarPorIdentificacion")
+    public void testBuscarPorIdentificacionUsaIndice() {
+        clienteRepository.buscarPorIdentificacion("1712345678", Boolean.TRUE, 0L, Limit.of(51));
+        assertUsaIndice(ultimaSentencia(), "idx_personas_identificacion", "1712345678", 0L, Boolean.TRUE,
+                Boolean.TRUE, 0, 51);
+    }
+
+    @Test
+    @Explica("ClienteRepository.buscarPorPrefijoNombre")
+    public void testBuscarPorPrefijoNombreUsaIndice() {
+        clienteRepository.buscarPorPrefijoNombre("Jose%", null, "Jose", Long.MIN_VALUE, Limit.of(51));
+        assertUsaIndice(ultimaSentencia(), "idx_personas_nombre", "Jose%", "Jose", "Jose", Long.MIN_VALUE, null,
+                null, 0, 51);
+    }
+
+    @Test
+    @Explica("ClienteRepository.findByEstadoAndIdGreaterThanOrderById")
+    public void testBuscarPorEstadoUsaIndice() {
+        clienteRepository.findByEstadoAndIdGreaterThanOrderById(Boolean.TRUE, 0L, Limit.of(51));
+        assertUsaIndice(ultimaSentencia(), "idx_clientes_estado", Boolean.TRUE, 0L, 0, 51);
+    }
+
+    @Test
+    @Explica("EventoClienteRepository.findByPosicionIsNullOrderById")
+    public void testEventosPendientesUsaIndice() {
+        eventoClienteRepository.findByPosicionIsNullOrderById(Limit.of(100));
+        assertUsaIndice(ultimaSentencia(), "uk_eventos_cliente_posicion", 0, 100);
+    }
+
+    @Test
+    @Explica("EventoClienteRepository.findUltimaPosicion")
+    public void testUltimaPosicionUsaIndice() {
+        eventoClienteRepository.findUltimaPosicion();
+        assertUsaIndice(ultimaSentencia(), "uk_eventos_cliente_posicion");
+    }
+
+    @Test
+    @Explica("EventoClienteRepository.findByPosicionGreaterThanOrderByPosicion")
+    public void testFeedDeEventosUsaIndice() {
+        eventoClienteRepository.findByPosicionGreaterThanOrderByPosicion(10L, Limit.of(100));
+        assertUsaIndice(ultimaSentencia(), "uk_eventos_cliente_posicion", 10L, 0, 100);
+    }
+
+    /**
+     * Falla si un repositorio declara una consulta que no tiene su caso en esta
+     * clase, o si un caso nombra una consulta que ya no existe.
+     */
+    @Test
+    public void testCadaConsultaTieneSuCaso() {
+        Set<String> explicadas = Arrays.stream(getClass().getDeclaredMethods())
+                .filter(metodo -> metodo.isAnnotationPresent(Explica.class))
+                .map(metodo -> metodo.getAnnotation(Explica.class).value())
+                .collect(Collectors.toSet());
+        Set<String> declaradas = new TreeSet<>();
+        Repositories repositorios = new Repositories(applicationContext);
+        for (Class<?> dominio : repositorios) {
+            RepositoryInformation informacion = repositorios.getRequiredRepositoryInformation(dominio);
+            for (Method consulta : informacion.getQueryMethods()) {
+                declaradas.add(informacion.getRepositoryInterface().getSimpleName() + "." + consulta.getName());
+            }
+        }
+
+        Set<String> sinCaso = new TreeSet<>(declaradas);
+        sinCaso.removeAll(explicadas);
+        Set<String> sobrantes = new TreeSet<>(explicadas);
+        sobrantes.removeAll(declaradas);
+        assertTrue(sinCaso.isEmpty(), "Consultas sin caso de EXPLAIN: " + sinCaso);
+        assertTrue(sobrantes.isEmpty(), "Casos de consultas que ya no existen: " + sobrantes);
+    }
+
+    private String ultimaSentencia() {
+        return CapturaSql.sentencias.get(CapturaSql.sentencias.size() - 1);
+    }
+
+    private void assertUsaIndice(String sql, String indice, Object... parametros) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parametros);
+        String texto = plan.toString().toLowerCase(Locale.ROOT);
+        assertFalse(texto.contains("tablescan"), "Recorrido completo de tabla en: " + texto);
+        assertTrue(texto.contains(indice), "No se usa " + indice + " en: " + texto);
+    }
+
+    /** La consulta, como Repositorio.metodo, cuyo plan comprueba el caso. */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    private @interface Explica {
+        String value();
+    }
+
+    public static class CapturaSql implements StatementInspector {
+        private static final List<String> sentencias = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            sentencias.add(sql);
+            return sql;
+        }
+    }
+}
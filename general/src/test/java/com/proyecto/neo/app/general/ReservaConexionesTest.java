@@ -0,0 +1,128 @@
+package com.proyecto.neo.app.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.neo.app.comun.DataSourceConReserva;
+import com.proyecto.neo.app.general.entities.Cliente;
+import com.proyecto.neo.app.general.repositories.ClienteRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Tantas transacciones como conexiones tiene el pool, que piden a la vez el
+ * primer bloque de personas_seq, con el pool que arma
+ * {@link AppConfig#reservaConexiones}. Una reserva el bloque con una segunda
+ * conexión mientras la otra la espera reteniendo la suya; sin la reserva la
+ * primera agotaría el timeout de conexión.
+ */
+@DataJpaTest(properties = { "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReservaConexionesTest.Reserva.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReservaConexionesTest {
+
+    private static final int HILOS = 2;
+
+    // Más de un bloque de 50, para que también se reserven bloques con el pool ya en uso
+    private static final int CLIENTES_POR_HILO = 60;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void limpiar() {
+        jdbcTemplate.update("delete from clientes");
+        jdbcTemplate.update("delete from personas");
+    }
+
+    @Test
+    public void testAltasConElPoolLlenoNoSeBloquean() throws Exception {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        CyclicBarrier poolLleno = new CyclicBarrier(HILOS);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<CompletableFuture<Void>> altas = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                int hilo = i;
+                altas.add(CompletableFuture.runAsync(() -> transaccion.executeWithoutResult(estado -> {
+                    // Con la consulta, cada transacción ya retiene una de las dos conexiones
+                    clienteRepository.count();
+                    try {
+                        poolLleno.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    for (int j = 0; j < CLIENTES_POR_HILO; j++) {
+                        clienteRepository.save(cliente("17" + hilo + "0" + j));
+                    }
+                }), hilos));
+            }
+            CompletableFuture.allOf(altas.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertEquals(HILOS * CLIENTES_POR_HILO, clienteRepository.count());
+        HikariDataSource reserva = (HikariDataSource) dataSource.unwrap(DataSourceConReserva.class).getReserva();
+        assertTrue(reserva.getHikariPoolMXBean().getTotalConnections() > 0);
+    }
+
+    private static Cliente cliente(String identificacion) {
+        Cliente cliente = new Cliente();
+        cliente.setNombre("Jose Lema");
+        cliente.setGenero("Masculino");
+        cliente.setEdad(25L);
+        cliente.setIdentificacion(identificacion);
+        cliente.setDireccion("Otavalo");
+        cliente.setTelefono("098254785");
+        cliente.setContrasenia("cifrada");
+        cliente.setEstado(Boolean.TRUE);
+        return cliente;
+    }
+
+    @TestConfiguration
+    static class Reserva {
+        @Bean
+        static BeanPostProcessor reservaConexiones(Environment environment) {
+            return AppConfig.reservaConexiones(environment);
+        }
+    }
+}
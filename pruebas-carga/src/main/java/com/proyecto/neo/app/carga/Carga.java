@@ -0,0 +1,294 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Genera la carga mixta contra las aplicaciones.
+ * <p>
+ * Cada operación se envía a tasa fija desde su propio hilo, sin esperar las
+ * respuestas anteriores. La latencia se mide desde el momento en que la
+ * solicitud debía salir, así que si el sistema se atrasa la espera cuenta en
+ * los percentiles en lugar de bajar la tasa en silencio.
+ */
+class Carga {
+
+    private static final int CUENTAS_CALIENTES = 5;
+
+    private final Configuracion configuracion;
+    private final String urlGeneral;
+    private final String urlMovimientos;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient cliente;
+
+    private final List<Long> clientes = new CopyOnWriteArrayList<>();
+    private final List<String> cuentas = new CopyOnWriteArrayList<>();
+    private final AtomicLong secuenciaClientes = new AtomicLong();
+
+    Carga(Configuracion configuracion, String urlGeneral, String urlMovimientos) {
+        this.configuracion = configuracion;
+        this.urlGeneral = urlGeneral;
+        this.urlMovimientos = urlMovimientos;
+        this.cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(16, tarea -> {
+                    Thread hilo = new Thread(tarea, "carga-http");
+                    hilo.setDaemon(true);
+                    return hilo;
+                }))
+                .build();
+    }
+
+    /**
+     * Crea los clientes y cuentas iniciales, de a una solicitud a la vez. Sin
+     * el microservicio de clientes se usan identificadores que el simulado
+     * acepta.
+     */
+    void preparar() throws IOException, InterruptedException {
+        Random aleatorio = new Random(configuracion.largo("semilla"));
+        int clientesIniciales = configuracion.entero("clientes-iniciales");
+        for (int i = 1; i <= clientesIniciales; i++) {
+            if (configuracion.levantaGeneral()) {
+                HttpResponse<String> respuesta = cliente.send(crearCliente(aleatorio),
+                        HttpResponse.BodyHandlers.ofString());
+                exigir(respuesta, "crear cliente");
+                clienteCreado(respuesta.statusCode(), respuesta.body());
+            } else {
+                clientes.add((long) i);
+            }
+        }
+        if (!configuracion.levantaMovimientos()) {
+            return;
+        }
+        for (int i = 0; i < configuracion.entero("cuentas-iniciales"); i++) {
+            HttpResponse<String> respuesta = cliente.send(abrirCuenta(aleatorio),
+                    HttpResponse.BodyHandlers.ofString());
+            exigir(respuesta, "abrir cuenta");
+            cuentaAbierta(respuesta.statusCode(), respuesta.body());
+        }
+        System.out.printf("Preparados %d clientes y %d cuentas%n", clientes.size(), cuentas.size());
+    }
+
+    /**
+     * Ejecuta la carga durante el calentamiento más la duración configurada.
+     *
+     * @return las operaciones ejecutadas, con lo medido después del
+     *         calentamiento.
+     */
+    List<Operacion> ejecutar() throws InterruptedException {
+        List<Operacion> operaciones = operaciones();
+        Semaphore enVuelo = new Semaphore(configuracion.entero("concurrencia-maxima"));
+        long inicio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long medirDesde = inicio + configuracion.duracion("calentamiento").toNanos();
+        long fin = medirDesde + configuracion.duracion("duracion").toNanos();
+
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < operaciones.size(); i++) {
+            Operacion operacion = operaciones.get(i);
+            operacion.registro.medir(medirDesde, fin);
+            Random aleatorio = new Random(configuracion.largo("semilla") + i + 1);
+            Thread hilo = new Thread(() -> enviar(operacion, aleatorio, enVuelo, inicio, medirDesde, fin),
+                    "carga-" + operacion.nombre);
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        // Espera las respuestas que quedaron en vuelo
+        int permisos = configuracion.entero("concurrencia-maxima");
+        if (!enVuelo.tryAcquire(permisos, 60, TimeUnit.SECONDS)) {
+            System.out.println("Quedaron solicitudes sin respuesta tras 60 s");
+        }
+        return operaciones;
+    }
+
+    private void enviar(Operacion operacion, Random aleatorio, Semaphore enVuelo, long inicio, long medirDesde,
+            long fin) {
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / operacion.tasa);
+        for (long programada = inicio; programada < fin; programada += intervalo) {
+            esperarHasta(programada);
+            boolean medir = programada >= medirDesde;
+            HttpRequest solicitud = operacion.solicitud(aleatorio);
+            if (solicitud == null) {
+                if (medir) {
+                    operacion.registro.omitir();
+                }
+                continue;
+            }
+            enVuelo.acquireUninterruptibly();
+            long enviada = programada;
+            cliente.sendAsync(solicitud, HttpResponse.BodyHandlers.ofString()).whenComplete((respuesta, error) -> {
+                long latencia = System.nanoTime() - enviada;
+                enVuelo.release();
+                if (medir) {
+                    operacion.registro.registrar(latencia, respuesta == null ? -1 : respuesta.statusCode());
+                }
+                if (respuesta != null) {
+                    operacion.alResponder(respuesta);
+                }
+            });
+        }
+    }
+
+    private List<Operacion> operaciones() {
+        List<Operacion> operaciones = new ArrayList<>();
+        if (configuracion.levantaGeneral()) {
+            agregar(operaciones, new Operacion("crear-cliente", "POST /api/clientes",
+                    configuracion.decimal("tasa.crear-cliente"), this::crearCliente, this::clienteCreado));
+        }
+        if (configuracion.levantaMovimientos()) {
+            agregar(operaciones, new Operacion("abrir-cuenta", "POST /api/cuentas/crear",
+                    configuracion.decimal("tasa.abrir-cuenta"), this::abrirCuenta, this::cuentaAbierta));
+            agregar(operaciones, new Operacion("deposito", "POST /api/movimientos/registrar",
+                    configuracion.decimal("tasa.deposito"), aleatorio -> movimiento(aleatorio, "Deposito",
+                            valor(aleatorio, 200)), (estado, cuerpo) -> {
+                            }));
+            agregar(operaciones, new Operacion("retiro", "POST /api/movimientos/registrar",
+                    configuracion.decimal("tasa.retiro"), aleatorio -> movimiento(aleatorio, "Retiro",
+                            valor(aleatorio, 150).negate()), (estado, cuerpo) -> {
+                            }));
+            agregar(operaciones, new Operacion("reporte", "GET /api/reportes",
+                    configuracion.decimal("tasa.reporte"), this::reporte, (estado, cuerpo) -> {
+                    }));
+        }
+        return operaciones;
+    }
+
+    private static void agregar(List<Operacion> operaciones, Operacion operacion) {
+        if (operacion.tasa > 0) {
+            operaciones.add(operacion);
+        }
+    }
+
+    private HttpRequest crearCliente(Random aleatorio) {
+        long numero = secuenciaClientes.incrementAndGet();
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("nombre", "Cliente Carga " + numero);
+        cuerpo.put("genero", List.of("Masculino", "Femenino", "Otro").get(aleatorio.nextInt(3)));
+        cuerpo.put("edad", 18 + aleatorio.nextInt(60));
+        cuerpo.put("identificacion", String.format("C%09d", numero));
+        cuerpo.put("direccion", "Calle " + aleatorio.nextInt(1000));
+        cuerpo.put("telefono", String.format("09%08d", aleatorio.nextInt(100_000_000)));
+        cuerpo.put("contrasenia", "clave" + numero);
+        cuerpo.put("estado", true);
+        return post(urlGeneral + "/api/clientes", cuerpo);
+    }
+
+    private void clienteCreado(int estado, String cuerpo) {
+        if (estado == 201) {
+            clientes.add(leer(cuerpo).get("id").asLong());
+        }
+    }
+
+    private HttpRequest abrirCuenta(Random aleatorio) {
+        if (clientes.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("clienteId", clientes.get(aleatorio.nextInt(clientes.size())));
+        cuerpo.put("tipoCuenta", aleatorio.nextBoolean() ? "Ahorro" : "Corriente");
+        cuerpo.put("saldoInicial", new BigDecimal("1000.00"));
+        return post(urlMovimientos + "/api/cuentas/crear", cuerpo);
+    }
+
+    private void cuentaAbierta(int estado, String cuerpo) {
+        if (estado == 200) {
+            cuentas.add(leer(cuerpo).get("numeroCuenta").asText());
+        }
+    }
+
+    private HttpRequest movimiento(Random aleatorio, String tipo, BigDecimal valor) {
+        String numeroCuenta = cuenta(aleatorio);
+        if (numeroCuenta == null) {
+            return null;
+        }
+        return HttpRequest.newBuilder(URI.create(urlMovimientos + "/api/movimientos/registrar?numeroCuenta="
+                + numeroCuenta + "&tipoMovimiento=" + tipo + "&valor=" + valor.toPlainString()))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest reporte(Random aleatorio) {
+        if (clientes.isEmpty()) {
+            return null;
+        }
+        LocalDate hoy = LocalDate.now();
+        return HttpRequest.newBuilder(URI.create(urlMovimientos + "/api/reportes?clienteId="
+                + clientes.get(aleatorio.nextInt(clientes.size())) + "&fechaInicio=" + hoy.minusDays(30)
+                + "&fechaFin=" + hoy.plusDays(1)))
+                .GET()
+                .build();
+    }
+
+    // Una parte de los movimientos se concentra en pocas cuentas, para que compitan por el mismo saldo
+    private String cuenta(Random aleatorio) {
+        int total = cuentas.size();
+        if (total == 0) {
+            return null;
+        }
+        if (aleatorio.nextDouble() < configuracion.decimal("proporcion-cuentas-calientes")) {
+            return cuentas.get(aleatorio.nextInt(Math.min(CUENTAS_CALIENTES, total)));
+        }
+        return cuentas.get(aleatorio.nextInt(total));
+    }
+
+    private static BigDecimal valor(Random aleatorio, int maximo) {
+        return BigDecimal.valueOf(100 + aleatorio.nextInt(maximo * 100), 2);
+    }
+
+    private HttpRequest post(String url, Object cuerpo) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(cuerpo)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode leer(String cuerpo) {
+        try {
+            return objectMapper.readTree(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void exigir(HttpResponse<String> respuesta, String operacion) {
+        if (respuesta.statusCode() >= 300) {
+            throw new IllegalStateException("No se pudo " + operacion + ": " + respuesta.statusCode() + " "
+                    + respuesta.body());
+        }
+    }
+
+    private static void esperarHasta(long momento) {
+        long restante;
+        while ((restante = momento - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Configuración de una corrida. Parte de un archivo de propiedades
+ * ({@code carga.properties}, {@code datos.properties}) y se sobrescribe con
+ * propiedades del sistema ({@code -Dcarga.duracion=PT2M}) y con argumentos
+ * {@code clave=valor} del programa, en ese orden.
+ */
+class Configuracion {
+
+    private final String prefijo;
+    private final Properties propiedades = new Properties();
+
+    /**
+     * @param nombre el nombre del archivo de propiedades y el prefijo de sus
+     *               claves, por ejemplo {@code carga}.
+     * @param args   los argumentos {@code clave=valor}, con o sin el prefijo.
+     */
+    Configuracion(String nombre, String[] args) {
+        prefijo = nombre + ".";
+        try (InputStream entrada = Configuracion.class.getResourceAsStream("/" + nombre + ".properties")) {
+            propiedades.load(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(clave -> clave.startsWith(prefijo))
+                .forEach(clave -> propiedades.setProperty(clave, System.getProperty(clave)));
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Argumento sin formato clave=valor: " + arg);
+            }
+            fijar(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+    }
+
+    void fijar(String clave, String valor) {
+        propiedades.setProperty(clave.startsWith(prefijo) ? clave : prefijo + clave, valor);
+    }
+
+    String texto(String clave) {
+        String valor = propiedades.getProperty(prefijo + clave);
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta la propiedad " + prefijo + clave);
+        }
+        return valor.trim();
+    }
+
+    int entero(String clave) {
+        return Integer.parseInt(texto(clave));
+    }
+
+    long largo(String clave) {
+        return Long.parseLong(texto(clave));
+    }
+
+    double decimal(String clave) {
+        return Double.parseDouble(texto(clave));
+    }
+
+    LocalDate fecha(String clave) {
+        return LocalDate.parse(texto(clave));
+    }
+
+    Duration duracion(String clave) {
+        return Duration.parse(texto(clave));
+    }
+
+    List<String> lista(String clave) {
+        String valor = texto(clave);
+        return valor.isEmpty() ? List.of() : Arrays.asList(valor.split("\\s+"));
+    }
+
+    boolean levantaGeneral() {
+        return !"movimientos".equals(texto("servicios"));
+    }
+
+    boolean levantaMovimientos() {
+        return !"general".equals(texto("servicios"));
+    }
+
+    /** Todas las propiedades, para dejarlas junto con los resultados. */
+    Map<String, String> comoMapa() {
+        Map<String, String> mapa = new TreeMap<>();
+        propiedades.stringPropertyNames().forEach(clave -> mapa.put(clave, propiedades.getProperty(clave)));
+        return mapa;
+    }
+}
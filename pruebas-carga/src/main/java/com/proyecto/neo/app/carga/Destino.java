@@ -0,0 +1,53 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Donde escribe {@link GeneradorDatos} las filas generadas. Las filas llegan
+ * como líneas CSV sin comillas; los valores generados nunca llevan comas.
+ */
+interface Destino extends AutoCloseable {
+
+    /**
+     * Empieza a escribir una tabla.
+     *
+     * @param tabla    el nombre de la tabla.
+     * @param columnas las columnas en el orden de cada línea; las de tipo
+     *                 {@code bit} se marcan con el sufijo {@code :bit}.
+     */
+    Tabla abrir(String tabla, String... columnas) throws IOException, SQLException;
+
+    /**
+     * Consulta un número en la base de destino, para continuar los
+     * identificadores existentes.
+     *
+     * @return el valor, o {@code porDefecto} si la consulta no devuelve nada o
+     *         el destino no es una base.
+     */
+    long consultar(String sql, long porDefecto) throws SQLException;
+
+    /** Ejecuta una sentencia de ajuste al terminar la carga. */
+    void ejecutar(String sql) throws IOException, SQLException;
+
+    @Override
+    void close() throws IOException, SQLException;
+
+    interface Tabla extends AutoCloseable {
+
+        void agregar(CharSequence linea) throws IOException, SQLException;
+
+        /** Termina la tabla, cargando las filas pendientes. */
+        @Override
+        void close() throws IOException, SQLException;
+    }
+
+    static String nombre(String columna) {
+        int dosPuntos = columna.indexOf(':');
+        return dosPuntos < 0 ? columna : columna.substring(0, dosPuntos);
+    }
+
+    static boolean esBit(String columna) {
+        return columna.endsWith(":bit");
+    }
+}
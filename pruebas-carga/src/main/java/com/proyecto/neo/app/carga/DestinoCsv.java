@@ -0,0 +1,64 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escribe un archivo CSV por tabla y un {@code cargar.sql} con las sentencias
+ * LOAD DATA para cargarlos en MySQL, en el orden en que se generaron.
+ */
+class DestinoCsv implements Destino {
+
+    private final Path directorio;
+    private final List<String> sentencias = new ArrayList<>();
+
+    DestinoCsv(Path directorio) throws IOException {
+        this.directorio = Files.createDirectories(directorio);
+        sentencias.add("SET unique_checks = 0;");
+        sentencias.add("SET foreign_key_checks = 0;");
+    }
+
+    @Override
+    public Tabla abrir(String tabla, String... columnas) throws IOException {
+        Path archivo = directorio.resolve(tabla + ".csv");
+        sentencias.add(DestinoMysql.loadData(tabla, "'" + archivo.toAbsolutePath() + "'", columnas) + ";");
+        Writer salida = new BufferedWriter(Files.newBufferedWriter(archivo, StandardCharsets.UTF_8), 1 << 16);
+        return new Tabla() {
+            @Override
+            public void agregar(CharSequence linea) throws IOException {
+                salida.append(linea).append('\n');
+            }
+
+            @Override
+            public void close() throws IOException {
+                salida.close();
+            }
+        };
+    }
+
+    @Override
+    public long consultar(String sql, long porDefecto) {
+        // Los archivos se cargan en una base vacía
+        return porDefecto;
+    }
+
+    @Override
+    public void ejecutar(String sql) {
+        sentencias.add(sql + ";");
+    }
+
+    @Override
+    public void close() throws IOException {
+        sentencias.add("SET foreign_key_checks = 1;");
+        sentencias.add("SET unique_checks = 1;");
+        Files.write(directorio.resolve("cargar.sql"), sentencias, StandardCharsets.UTF_8);
+        System.out.printf("Archivos en %s; cargar con: mysql --local-infile=1 app_general < %s%n", directorio,
+                directorio.resolve("cargar.sql"));
+    }
+}
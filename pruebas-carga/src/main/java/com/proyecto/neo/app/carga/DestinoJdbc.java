@@ -0,0 +1,100 @@
+package com.proyecto.neo.app.carga;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Inserta las filas por lotes con JDBC, para bases sin LOAD DATA como la H2 de
+ * las pruebas de carga. Se confirma cada tramo de filas.
+ */
+class DestinoJdbc implements Destino {
+
+    private static final int LOTE = 1000;
+
+    private final String url;
+    private final String usuario;
+    private final String contrasenia;
+    private final int tamanioTramo;
+    private final Connection conexion;
+    private final boolean h2;
+
+    DestinoJdbc(String url, String usuario, String contrasenia, int tamanioTramo) throws SQLException {
+        this.url = url;
+        this.usuario = usuario;
+        this.contrasenia = contrasenia;
+        this.tamanioTramo = tamanioTramo;
+        this.conexion = DriverManager.getConnection(url, usuario, contrasenia);
+        h2 = "H2".equals(conexion.getMetaData().getDatabaseProductName());
+        if (h2) {
+            // Las cuentas se escriben al final, con su saldo; en H2 no se puede desactivar por sesión
+            ejecutar("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+    }
+
+    @Override
+    public Tabla abrir(String tabla, String... columnas) throws SQLException {
+        Connection conexionTabla = DriverManager.getConnection(url, usuario, contrasenia);
+        conexionTabla.setAutoCommit(false);
+        String sql = "insert into " + tabla + " ("
+                + String.join(", ", Arrays.stream(columnas).map(Destino::nombre).toList()) + ") values ("
+                + String.join(", ", Collections.nCopies(columnas.length, "?")) + ")";
+        PreparedStatement insercion = conexionTabla.prepareStatement(sql);
+
+        return new Tabla() {
+            private int filas;
+
+            @Override
+            public void agregar(CharSequence linea) throws SQLException {
+                String[] valores = linea.toString().split(",", -1);
+                for (int i = 0; i < valores.length; i++) {
+                    insercion.setString(i + 1, valores[i]);
+                }
+                insercion.addBatch();
+                filas++;
+                if (filas % LOTE == 0) {
+                    insercion.executeBatch();
+                }
+                if (filas % tamanioTramo == 0) {
+                    conexionTabla.commit();
+                }
+            }
+
+            @Override
+            public void close() throws SQLException {
+                try (conexionTabla; insercion) {
+                    insercion.executeBatch();
+                    conexionTabla.commit();
+                }
+            }
+        };
+    }
+
+    @Override
+    public long consultar(String sql, long porDefecto) throws SQLException {
+        try (Statement sentencia = conexion.createStatement(); ResultSet resultado = sentencia.executeQuery(sql)) {
+            return resultado.next() && resultado.getObject(1) != null ? resultado.getLong(1) : porDefecto;
+        }
+    }
+
+    @Override
+    public void ejecutar(String sql) throws SQLException {
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute(sql);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (conexion) {
+            if (h2) {
+                ejecutar("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+/**
+ * Carga las filas en MySQL con LOAD DATA LOCAL INFILE, sin archivos
+ * intermedios: cada tabla escribe en un pipe que un hilo propio entrega al
+ * driver como si fuera el archivo. Cada tramo de filas es un LOAD DATA y se
+ * confirma por separado, para no acumular un deshacer de millones de filas.
+ * <p>
+ * Cada tabla usa su propia conexión con las verificaciones de unicidad y de
+ * claves foráneas desactivadas; el generador ya produce claves únicas y
+ * referencias válidas.
+ */
+class DestinoMysql implements Destino {
+
+    private final String url;
+    private final String usuario;
+    private final String contrasenia;
+    private final int tamanioTramo;
+    private final Connection conexion;
+
+    DestinoMysql(String url, String usuario, String contrasenia, int tamanioTramo) throws SQLException {
+        this.url = url;
+        this.usuario = usuario;
+        this.contrasenia = contrasenia;
+        this.tamanioTramo = tamanioTramo;
+        this.conexion = DriverManager.getConnection(url, usuario, contrasenia);
+    }
+
+    @Override
+    public Tabla abrir(String tabla, String... columnas) throws SQLException {
+        Connection conexionTabla = DriverManager.getConnection(url, usuario, contrasenia);
+        try (Statement sentencia = conexionTabla.createStatement()) {
+            sentencia.execute("SET unique_checks = 0");
+            sentencia.execute("SET foreign_key_checks = 0");
+        }
+        return new TablaMysql(conexionTabla, loadData(tabla, "'flujo'", columnas));
+    }
+
+    @Override
+    public long consultar(String sql, long porDefecto) throws SQLException {
+        try (Statement sentencia = conexion.createStatement(); ResultSet resultado = sentencia.executeQuery(sql)) {
+            return resultado.next() && resultado.getObject(1) != null ? resultado.getLong(1) : porDefecto;
+        }
+    }
+
+    @Override
+    public void ejecutar(String sql) throws SQLException {
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute(sql);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        conexion.close();
+    }
+
+    /**
+     * Sentencia LOAD DATA para líneas CSV sin comillas. Las columnas {@code bit}
+     * pasan por una variable, porque MySQL cargaría el texto {@code 1} como el
+     * código del carácter.
+     */
+    static String loadData(String tabla, String archivo, String... columnas) {
+        List<String> destinos = new ArrayList<>();
+        List<String> conversiones = new ArrayList<>();
+        for (String columna : columnas) {
+            String nombre = Destino.nombre(columna);
+            if (Destino.esBit(columna)) {
+                destinos.add("@" + nombre);
+                conversiones.add(nombre + " = CAST(@" + nombre + " AS UNSIGNED)");
+            } else {
+                destinos.add(nombre);
+            }
+        }
+        return "LOAD DATA LOCAL INFILE " + archivo + " INTO TABLE " + tabla
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' LINES TERMINATED BY '\\n' ("
+                + String.join(", ", destinos) + ")"
+                + (conversiones.isEmpty() ? "" : " SET " + String.join(", ", conversiones));
+    }
+
+    private class TablaMysql implements Tabla {
+
+        private final Connection conexion;
+        private final String sql;
+        private Writer salida;
+        private Thread cargador;
+        private volatile Exception error;
+        private int filas;
+
+        TablaMysql(Connection conexion, String sql) {
+            this.conexion = conexion;
+            this.sql = sql;
+        }
+
+        @Override
+        public void agregar(CharSequence linea) throws IOException, SQLException {
+            if (salida == null) {
+                iniciarTramo();
+            }
+            salida.append(linea).append('\n');
+            if (++filas == tamanioTramo) {
+                terminarTramo();
+            }
+        }
+
+        private void iniciarTramo() throws IOException {
+            PipedInputStream entrada = new PipedInputStream(1 << 20);
+            salida = new BufferedWriter(new OutputStreamWriter(new PipedOutputStream(entrada),
+                    StandardCharsets.UTF_8), 1 << 16);
+            error = null;
+            cargador = new Thread(() -> {
+                try (entrada; Statement sentencia = conexion.createStatement()) {
+                    sentencia.unwrap(JdbcStatement.class).setLocalInfileInputStream(entrada);
+                    sentencia.execute(sql);
+                } catch (Exception e) {
+                    error = e;
+                }
+            }, "carga-datos");
+            cargador.start();
+        }
+
+        private void terminarTramo() throws IOException, SQLException {
+            try {
+                salida.close();
+            } catch (IOException e) {
+                // El cargador cerró el pipe; su error explica la causa
+            }
+            try {
+                cargador.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrumpido esperando el LOAD DATA", e);
+            }
+            salida = null;
+            filas = 0;
+            if (error != null) {
+                throw new SQLException("Falló " + sql, error);
+            }
+        }
+
+        @Override
+        public void close() throws IOException, SQLException {
+            try {
+                if (salida != null) {
+                    terminarTramo();
+                }
+            } finally {
+                conexion.close();
+            }
+        }
+    }
+}
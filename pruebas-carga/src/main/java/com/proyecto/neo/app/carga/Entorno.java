@@ -0,0 +1,187 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+
+/**
+ * Levanta lo necesario para una corrida: una base H2 en modo MySQL compartida
+ * por ambas aplicaciones, como lo es la base MySQL en producción, cada
+ * aplicación en su propio proceso a partir de su jar ejecutable, y un servicio
+ * simulado en lugar de la que no se levanta.
+ */
+class Entorno implements AutoCloseable {
+
+    private static final String LANZADOR = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    private final Configuracion configuracion;
+    private final Path directorio;
+    private final List<Process> procesos = new ArrayList<>();
+    private final List<ServicioSimulado> simulados = new ArrayList<>();
+    private Server baseDatos;
+    private String urlBaseDatos;
+
+    private final int puertoGeneral = puertoLibre();
+    private final int puertoMovimientos = puertoLibre();
+
+    Entorno(Configuracion configuracion, Path directorio) {
+        this.configuracion = configuracion;
+        this.directorio = directorio;
+    }
+
+    String urlGeneral() {
+        return "http://localhost:" + puertoGeneral;
+    }
+
+    String urlMovimientos() {
+        return "http://localhost:" + puertoMovimientos;
+    }
+
+    /** La base compartida, para cargarle datos directamente. */
+    String urlBaseDatos() {
+        return urlBaseDatos;
+    }
+
+    void iniciar() throws IOException, SQLException, InterruptedException {
+        Files.createDirectories(directorio);
+        baseDatos = Server.createTcpServer("-tcpPort", String.valueOf(puertoLibre()), "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + baseDatos.getPort()
+                + "/mem:carga;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        urlBaseDatos = url;
+
+        if (configuracion.levantaGeneral()) {
+            List<String> args = new ArrayList<>(comunes(url, puertoGeneral));
+            args.add("--servicios.cuentas.url=" + urlMovimientos());
+            args.addAll(configuracion.lista("args.general"));
+            lanzar("general", configuracion.texto("jar.general"), args);
+        } else {
+            simulados.add(ServicioSimulado.general(puertoGeneral));
+        }
+
+        if (configuracion.levantaMovimientos()) {
+            List<String> args = new ArrayList<>(comunes(url, puertoMovimientos));
+            args.add("--servicios.general.url=" + urlGeneral());
+            if (!configuracion.levantaGeneral()) {
+                args.add("--movimientos.clientes.sincronizacion.habilitada=false");
+            }
+            args.addAll(configuracion.lista("args.movimientos"));
+            lanzar("movimientos", configuracion.texto("jar.movimientos"), args);
+        } else {
+            simulados.add(ServicioSimulado.movimientos(puertoMovimientos));
+        }
+
+        Duration espera = configuracion.duracion("espera-inicio");
+        if (configuracion.levantaGeneral()) {
+            esperarDisponible("general", urlGeneral() + "/api/clientes/pagina?tamanio=1", espera);
+        }
+        if (configuracion.levantaMovimientos()) {
+            esperarDisponible("movimientos", urlMovimientos() + "/api/cuentas/pagina?tamanio=1", espera);
+        }
+    }
+
+    private static List<String> comunes(String url, int puerto) {
+        return List.of(
+                "--server.port=" + puerto,
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off");
+    }
+
+    private void lanzar(String nombre, String jar, List<String> args) throws IOException {
+        File archivo = new File(jar);
+        if (!archivo.isFile()) {
+            throw new IllegalStateException("No existe " + archivo.getAbsolutePath()
+                    + "; compile la aplicación con mvn -DskipTests package");
+        }
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(configuracion.lista("jvm.opciones"));
+        // El driver de H2 no viene en los jars; PropertiesLauncher permite agregarlo al classpath
+        comando.add("-Dloader.path=" + jarH2());
+        comando.add("-cp");
+        comando.add(archivo.getAbsolutePath());
+        comando.add(LANZADOR);
+        comando.addAll(args);
+
+        Path log = directorio.resolve(nombre + ".log");
+        Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        procesos.add(proceso);
+        System.out.printf("Iniciando %s (pid %d), log en %s%n", nombre, proceso.pid(), log);
+    }
+
+    private void esperarDisponible(String nombre, String url, Duration espera) throws InterruptedException {
+        HttpClient cliente = HttpClient.newHttpClient();
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(url)).build();
+        long limite = System.nanoTime() + espera.toNanos();
+        while (System.nanoTime() < limite) {
+            if (procesos.stream().anyMatch(proceso -> !proceso.isAlive())) {
+                throw new IllegalStateException("Una aplicación terminó al iniciar; revise los logs en " + directorio);
+            }
+            try {
+                cliente.send(solicitud, HttpResponse.BodyHandlers.discarding());
+                System.out.printf("%s disponible en %s%n", nombre, url);
+                return;
+            } catch (IOException e) {
+                // Todavía no escucha en el puerto
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(nombre + " no respondió en " + espera);
+    }
+
+    private static String jarH2() {
+        try {
+            return Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int puertoLibre() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Process proceso : procesos) {
+            proceso.destroy();
+        }
+        for (Process proceso : procesos) {
+            try {
+                if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                    proceso.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                proceso.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        simulados.forEach(ServicioSimulado::close);
+        if (baseDatos != null) {
+            baseDatos.stop();
+        }
+    }
+}
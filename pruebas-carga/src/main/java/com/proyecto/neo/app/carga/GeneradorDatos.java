@@ -0,0 +1,392 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Genera un conjunto sintético de clientes, cuentas y movimientos para pruebas
+ * de capacidad. Con la misma semilla y configuración genera exactamente los
+ * mismos datos.
+ * <p>
+ * Los datos respetan las reglas de la aplicación: números de cuenta con dígito
+ * verificador tomados de bloques posteriores al último reservado, movimientos
+ * en orden de fecha con el saldo encadenado por cuenta sin sobregiros, el saldo
+ * final de cada cuenta en la cuenta, y los resúmenes de {@code saldos_diarios}
+ * de cada día con movimientos. Al terminar se ajustan las secuencias de
+ * identificadores y el último bloque de números de cuenta, para que las
+ * aplicaciones sigan después de los datos generados.
+ * <p>
+ * Uso: {@code mvn package exec:java@datos -Ddatos.movimientos=1000000}, o con
+ * argumentos {@code clave=valor}; ver {@code datos.properties}.
+ */
+public class GeneradorDatos {
+
+    // Hash BCrypt de "Clave1234": cifrar cientos de miles de contraseñas tomaría horas
+    private static final String CONTRASENIA = "$2a$10$hkpgQlGY9/g6aIkoUVwreuptDmghhD4pC36NqC4.6x/WruzpW3Pee";
+
+    private static final String[] NOMBRES = { "José", "María", "Andrés", "Lucía", "Sebastián", "Sofía", "Martín",
+            "Valentina", "Nicolás", "Camila", "Joaquín", "Isabel", "Ramón", "Inés", "Agustín", "Mónica", "Julián",
+            "Verónica", "Tomás", "Belén", "Germán", "Ángela", "Héctor", "Raquel", "Rubén", "Noemí" };
+    private static final String[] APELLIDOS = { "Lema", "Montalvo", "Martínez", "González", "Pérez", "Rodríguez",
+            "Sánchez", "Ramírez", "Cárdenas", "Muñoz", "Jiménez", "Álvarez", "Núñez", "Gómez", "Díaz", "Hernández",
+            "Vásquez", "Ordóñez", "Benítez", "Castañeda", "Peña", "Ibáñez", "Zúñiga", "Quiñónez" };
+    private static final String[] CALLES = { "Amazonas", "Av. 10 de Agosto", "Av. de los Shyris", "Colón",
+            "García Moreno", "Av. Patria", "Juan León Mera", "Av. Naciones Unidas", "Sucre", "Av. Río Amazonas" };
+    private static final String[] GENEROS = { "Masculino", "Femenino", "Otro" };
+
+    private static final long CENTAVOS_MAXIMOS = 10_000_000;
+
+    private final Configuracion configuracion;
+    private final Destino destino;
+    private final SplittableRandom aleatorio;
+    private final StringBuilder linea = new StringBuilder(256);
+
+    // Cuentas generadas, por índice
+    private String[] numerosCuenta;
+    private long[] clienteCuenta;
+    private int cantidadCuentas;
+    private long[] saldos;
+
+    GeneradorDatos(Configuracion configuracion, Destino destino) {
+        this.configuracion = configuracion;
+        this.destino = destino;
+        this.aleatorio = new SplittableRandom(configuracion.largo("semilla"));
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        generar(new Configuracion("datos", args));
+    }
+
+    static void generar(Configuracion configuracion) throws IOException, SQLException {
+        long inicio = System.nanoTime();
+        try (Destino destino = destino(configuracion)) {
+            new GeneradorDatos(configuracion, destino).generar();
+        }
+        System.out.printf("Datos generados en %d s%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio));
+    }
+
+    private static Destino destino(Configuracion configuracion) throws IOException, SQLException {
+        int tamanioTramo = configuracion.entero("tamanio-tramo");
+        return switch (configuracion.texto("destino")) {
+            case "csv" -> new DestinoCsv(Path.of(configuracion.texto("directorio")));
+            case "jdbc" -> {
+                String url = configuracion.texto("url");
+                String usuario = configuracion.texto("usuario");
+                String contrasenia = configuracion.texto("contrasenia");
+                yield url.startsWith("jdbc:mysql:")
+                        ? new DestinoMysql(url, usuario, contrasenia, tamanioTramo)
+                        : new DestinoJdbc(url, usuario, contrasenia, tamanioTramo);
+            }
+            default -> throw new IllegalArgumentException("Destino desconocido: " + configuracion.texto("destino"));
+        };
+    }
+
+    void generar() throws IOException, SQLException {
+        int longitud = configuracion.entero("numero-cuenta.longitud");
+        long primeraPersona = Math.max(
+                destino.consultar("select siguiente_valor from personas_seq where secuencia = 'personas'", 1),
+                destino.consultar("select max(id) + 1 from personas", 1));
+        long primerMovimiento = Math.max(
+                destino.consultar("select siguiente_valor from movimientos_seq where secuencia = 'movimientos'", 1),
+                destino.consultar("select max(id) + 1 from movimientos", 1));
+        long primerBloque = destino.consultar(
+                "select ultimo_bloque + 1 from bloques_numero_cuenta where longitud = " + longitud, 0);
+
+        int clientes = configuracion.entero("clientes");
+        generarClientes(primeraPersona, clientes);
+        long ultimoBloque = asignarNumerosCuenta(primerBloque, longitud);
+        long movimientos = generarMovimientos(primerMovimiento);
+        generarCuentas();
+
+        destino.ejecutar("update personas_seq set siguiente_valor = " + (primeraPersona + clientes)
+                + " where secuencia = 'personas'");
+        destino.ejecutar("update movimientos_seq set siguiente_valor = " + (primerMovimiento + movimientos)
+                + " where secuencia = 'movimientos'");
+        destino.ejecutar("insert into bloques_numero_cuenta (longitud, ultimo_bloque) values (" + longitud + ", "
+                + ultimoBloque + ") on duplicate key update ultimo_bloque = " + ultimoBloque);
+        System.out.printf("Generados %d clientes, %d cuentas y %d movimientos%n", clientes, cantidadCuentas,
+                movimientos);
+    }
+
+    /**
+     * Escribe personas, clientes y su proyección local en movimientos, y decide
+     * cuántas cuentas tiene cada cliente.
+     */
+    private void generarClientes(long primerId, int clientes) throws IOException, SQLException {
+        int maximoCuentas = configuracion.entero("cuentas-por-cliente");
+        clienteCuenta = new long[clientes * maximoCuentas];
+
+        try (Destino.Tabla personas = destino.abrir("personas", "id", "nombre", "genero", "edad", "identificacion",
+                "direccion", "telefono");
+                Destino.Tabla clientesGeneral = destino.abrir("clientes", "id", "contrasenia", "estado:bit");
+                Destino.Tabla clientesLocal = destino.abrir("clientes_local", "id", "nombre", "estado:bit")) {
+            for (int i = 0; i < clientes; i++) {
+                long id = primerId + i;
+                String nombre = elegir(NOMBRES) + " " + elegir(APELLIDOS) + " " + elegir(APELLIDOS);
+                int estado = aleatorio.nextInt(100) < 95 ? 1 : 0;
+
+                linea.setLength(0);
+                linea.append(id).append(',').append(nombre).append(',').append(elegir(GENEROS)).append(',')
+                        .append(18 + aleatorio.nextInt(70)).append(',')
+                        // Única porque se deriva del identificador
+                        .append(1_700_000_000L + id).append(',')
+                        .append(elegir(CALLES)).append(' ').append(1 + aleatorio.nextInt(999)).append(',')
+                        .append("09").append(10_000_000 + aleatorio.nextInt(90_000_000));
+                personas.agregar(linea);
+
+                linea.setLength(0);
+                linea.append(id).append(',').append(CONTRASENIA).append(',').append(estado);
+                clientesGeneral.agregar(linea);
+
+                linea.setLength(0);
+                linea.append(id).append(',').append(nombre).append(',').append(estado);
+                clientesLocal.agregar(linea);
+
+                for (int c = 1 + aleatorio.nextInt(maximoCuentas); c > 0; c--) {
+                    clienteCuenta[cantidadCuentas++] = id;
+                }
+                if ((i + 1) % Math.max(1, clientes / 10) == 0) {
+                    System.out.printf("Clientes: %d de %d%n", i + 1, clientes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Numera las cuentas con números base consecutivos a partir del primer
+     * bloque libre, como lo haría {@code NumeroCuentaGenerador}.
+     *
+     * @return el último bloque usado.
+     */
+    private long asignarNumerosCuenta(long primerBloque, int longitud) {
+        boolean digitoVerificador = Boolean.parseBoolean(configuracion.texto("numero-cuenta.digito-verificador"));
+        int tamanioBloque = configuracion.entero("numero-cuenta.tamanio-bloque");
+        int digitosBase = digitoVerificador ? longitud - 1 : longitud;
+        String formato = "%0" + digitosBase + "d";
+
+        long primeraBase = primerBloque * tamanioBloque;
+        if (String.valueOf(primeraBase + cantidadCuentas).length() > digitosBase) {
+            throw new IllegalStateException("No hay números de cuenta de " + longitud + " dígitos suficientes");
+        }
+        numerosCuenta = new String[cantidadCuentas];
+        for (int i = 0; i < cantidadCuentas; i++) {
+            String digitos = String.format(formato, primeraBase + i);
+            numerosCuenta[i] = digitoVerificador ? digitos + digitoVerificador(digitos) : digitos;
+        }
+        return primerBloque + Math.max(0, (cantidadCuentas - 1) / tamanioBloque);
+    }
+
+    /**
+     * Genera los movimientos día por día, con identificadores crecientes en el
+     * orden de sus fechas, y al cerrar cada día el resumen de las cuentas que se
+     * movieron.
+     *
+     * @return el número de movimientos generados.
+     */
+    private long generarMovimientos(long primerId) throws IOException, SQLException {
+        long total = configuracion.largo("movimientos");
+        List<LocalDate> dias = dias();
+        long[] porDia = repartirPorDia(total, dias);
+
+        int[] orden = permutacion(cantidadCuentas);
+        int calientes = Math.min(configuracion.entero("cuentas-calientes"), cantidadCuentas);
+        double proporcionCalientes = configuracion.decimal("proporcion-cuentas-calientes");
+        double sesgo = configuracion.decimal("sesgo");
+        double mu = Math.log(configuracion.decimal("monto-mediana") * 100);
+        double sigma = configuracion.decimal("monto-dispersion");
+        double proporcionDepositos = configuracion.decimal("proporcion-depositos");
+
+        saldos = new long[cantidadCuentas];
+        long[] debitos = new long[cantidadCuentas];
+        long[] creditos = new long[cantidadCuentas];
+        int[] cantidad = new int[cantidadCuentas];
+        int[] tocadas = new int[cantidadCuentas];
+
+        long id = primerId;
+        try (Destino.Tabla movimientos = destino.abrir("movimientos", "id", "fecha", "tipo_movimiento", "valor",
+                "saldo", "numero_cuenta");
+                Destino.Tabla saldosDiarios = destino.abrir("saldos_diarios", "numero_cuenta", "fecha",
+                        "saldo_cierre", "total_debitos", "total_creditos", "cantidad_movimientos")) {
+            for (int d = 0; d < dias.size(); d++) {
+                String dia = dias.get(d).toString();
+                int[] segundos = new int[(int) porDia[d]];
+                for (int i = 0; i < segundos.length; i++) {
+                    segundos[i] = aleatorio.nextInt(86_400);
+                }
+                Arrays.sort(segundos);
+
+                int cuentasDelDia = 0;
+                for (int segundo : segundos) {
+                    int cuenta;
+                    if (aleatorio.nextDouble() < proporcionCalientes) {
+                        cuenta = orden[aleatorio.nextInt(calientes)];
+                    } else {
+                        cuenta = orden[(int) (cantidadCuentas * Math.pow(aleatorio.nextDouble(), sesgo))];
+                    }
+
+                    long valor = Math.min(CENTAVOS_MAXIMOS,
+                            Math.max(1, Math.round(Math.exp(mu + sigma * aleatorio.nextGaussian()))));
+                    // Un retiro mayor al saldo se rechazaría; se registra como depósito
+                    boolean deposito = aleatorio.nextDouble() < proporcionDepositos || saldos[cuenta] < valor;
+                    if (deposito) {
+                        saldos[cuenta] += valor;
+                        creditos[cuenta] += valor;
+                    } else {
+                        saldos[cuenta] -= valor;
+                        debitos[cuenta] += valor;
+                    }
+                    if (cantidad[cuenta]++ == 0) {
+                        tocadas[cuentasDelDia++] = cuenta;
+                    }
+
+                    linea.setLength(0);
+                    linea.append(id++).append(',').append(dia).append(' ');
+                    dosDigitos(segundo / 3600);
+                    linea.append(':');
+                    dosDigitos(segundo / 60 % 60);
+                    linea.append(':');
+                    dosDigitos(segundo % 60);
+                    linea.append(',').append(deposito ? "Deposito de " : "Retiro de ");
+                    centavos(valor);
+                    linea.append(',');
+                    centavos(deposito ? valor : -valor);
+                    linea.append(',');
+                    centavos(saldos[cuenta]);
+                    linea.append(',').append(numerosCuenta[cuenta]);
+                    movimientos.agregar(linea);
+                }
+
+                for (int i = 0; i < cuentasDelDia; i++) {
+                    int cuenta = tocadas[i];
+                    linea.setLength(0);
+                    linea.append(numerosCuenta[cuenta]).append(',').append(dia).append(',');
+                    centavos(saldos[cuenta]);
+                    linea.append(',');
+                    centavos(debitos[cuenta]);
+                    linea.append(',');
+                    centavos(creditos[cuenta]);
+                    linea.append(',').append(cantidad[cuenta]);
+                    saldosDiarios.agregar(linea);
+                    debitos[cuenta] = 0;
+                    creditos[cuenta] = 0;
+                    cantidad[cuenta] = 0;
+                }
+                if (d == dias.size() - 1 || dias.get(d + 1).getDayOfMonth() == 1) {
+                    System.out.printf("Movimientos hasta %s: %d de %d%n", dia, id - primerId, total);
+                }
+            }
+        }
+        return id - primerId;
+    }
+
+    /** Escribe las cuentas al final, con el saldo que dejaron sus movimientos. */
+    private void generarCuentas() throws IOException, SQLException {
+        try (Destino.Tabla cuentas = destino.abrir("cuentas", "numero_cuenta", "tipo_cuenta", "saldo_inicial",
+                "estado:bit", "cliente_id")) {
+            for (int i = 0; i < cantidadCuentas; i++) {
+                linea.setLength(0);
+                linea.append(numerosCuenta[i]).append(',')
+                        .append(aleatorio.nextInt(100) < 60 ? "Ahorro" : "Corriente").append(',');
+                centavos(saldos[i]);
+                linea.append(',').append(aleatorio.nextInt(100) < 97 ? 1 : 0).append(',').append(clienteCuenta[i]);
+                cuentas.agregar(linea);
+            }
+        }
+    }
+
+    private List<LocalDate> dias() {
+        List<LocalDate> dias = new ArrayList<>();
+        LocalDate hasta = configuracion.fecha("hasta");
+        for (LocalDate dia = configuracion.fecha("desde"); !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            dias.add(dia);
+        }
+        return dias;
+    }
+
+    // Reparte el total según el peso de cada día, sin perder movimientos por redondeo
+    private long[] repartirPorDia(long total, List<LocalDate> dias) {
+        double factorFinDeSemana = configuracion.decimal("factor-fin-de-semana");
+        double[] pesos = new double[dias.size()];
+        double suma = 0;
+        for (int d = 0; d < pesos.length; d++) {
+            DayOfWeek diaSemana = dias.get(d).getDayOfWeek();
+            pesos[d] = diaSemana == DayOfWeek.SATURDAY || diaSemana == DayOfWeek.SUNDAY ? factorFinDeSemana : 1;
+            suma += pesos[d];
+        }
+        long[] porDia = new long[pesos.length];
+        double acumulado = 0;
+        long asignados = 0;
+        for (int d = 0; d < pesos.length; d++) {
+            acumulado += pesos[d];
+            long hastaHoy = d == pesos.length - 1 ? total : (long) (total * (acumulado / suma));
+            porDia[d] = hastaHoy - asignados;
+            asignados = hastaHoy;
+        }
+        return porDia;
+    }
+
+    // Orden aleatorio de las cuentas, para que las más activas no sean las de los primeros clientes
+    private int[] permutacion(int n) {
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int temporal = orden[i];
+            orden[i] = orden[j];
+            orden[j] = temporal;
+        }
+        return orden;
+    }
+
+    private String elegir(String[] opciones) {
+        return opciones[aleatorio.nextInt(opciones.length)];
+    }
+
+    // Sin String.format: se llama decenas de millones de veces
+    private void centavos(long centavos) {
+        if (centavos < 0) {
+            linea.append('-');
+            centavos = -centavos;
+        }
+        linea.append(centavos / 100).append('.');
+        dosDigitos((int) (centavos % 100));
+    }
+
+    private void dosDigitos(int valor) {
+        if (valor < 10) {
+            linea.append('0');
+        }
+        linea.append(valor);
+    }
+
+    /**
+     * Dígito verificador de Luhn; el mismo cálculo que
+     * {@code NumeroCuentaGenerador.digitoVerificador} en movimientos.
+     */
+    static int digitoVerificador(String digitos) {
+        int suma = 0;
+        boolean duplicar = true;
+        for (int i = digitos.length() - 1; i >= 0; i--) {
+            int digito = digitos.charAt(i) - '0';
+            if (duplicar) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+            duplicar = !duplicar;
+        }
+        return (10 - suma % 10) % 10;
+    }
+}
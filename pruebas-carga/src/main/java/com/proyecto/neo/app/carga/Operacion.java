@@ -0,0 +1,39 @@
+package com.proyecto.neo.app.carga;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Un tipo de solicitud de la carga, con la tasa a la que se envía.
+ */
+class Operacion {
+
+    final String nombre;
+    final String endpoint;
+    final double tasa;
+    final Registro registro = new Registro();
+
+    // Arma la siguiente solicitud, o null si todavía no hay datos para hacerla
+    private final Function<Random, HttpRequest> solicitud;
+    private final BiConsumer<Integer, String> alResponder;
+
+    Operacion(String nombre, String endpoint, double tasa, Function<Random, HttpRequest> solicitud,
+            BiConsumer<Integer, String> alResponder) {
+        this.nombre = nombre;
+        this.endpoint = endpoint;
+        this.tasa = tasa;
+        this.solicitud = solicitud;
+        this.alResponder = alResponder;
+    }
+
+    HttpRequest solicitud(Random aleatorio) {
+        return solicitud.apply(aleatorio);
+    }
+
+    void alResponder(HttpResponse<String> respuesta) {
+        alResponder.accept(respuesta.statusCode(), respuesta.body());
+    }
+}
@@ -0,0 +1,89 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Prueba de carga de extremo a extremo: levanta el entorno, prepara datos
+ * (opcionalmente un volumen sintético con {@link GeneradorDatos}), ejecuta la carga mixta y escribe los resultados por operación en JSON.
+ * <p>
+ * Uso: {@code mvn package exec:java -Dcarga.duracion=PT2M}, o con argumentos
+ * {@code clave=valor}; ver {@code carga.properties}.
+ */
+public class PruebaCarga {
+
+    public static void main(String[] args) throws IOException, SQLException, InterruptedException {
+        Configuracion configuracion = new Configuracion("carga", args);
+        File salida = new File(configuracion.texto("salida"));
+        Path directorio = salida.getAbsoluteFile().toPath().getParent();
+
+        try (Entorno entorno = new Entorno(configuracion, directorio)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(entorno::close));
+            entorno.iniciar();
+            if (Boolean.parseBoolean(configuracion.texto("datos"))) {
+                if (!configuracion.levantaGeneral() || !configuracion.levantaMovimientos()) {
+                    throw new IllegalArgumentException("carga.datos requiere carga.servicios=ambos");
+                }
+                generarDatos(entorno);
+            }
+
+            Carga carga = new Carga(configuracion, entorno.urlGeneral(), entorno.urlMovimientos());
+            carga.preparar();
+            System.out.printf("Carga por %s tras %s de calentamiento%n", configuracion.texto("duracion"),
+                    configuracion.texto("calentamiento"));
+            Instant inicio = Instant.now();
+            List<Operacion> operaciones = carga.ejecutar();
+
+            Map<String, Object> resultados = new LinkedHashMap<>();
+            resultados.put("fecha", inicio.toString());
+            resultados.put("configuracion", configuracion.comoMapa());
+            Map<String, Object> porOperacion = new LinkedHashMap<>();
+            for (Operacion operacion : operaciones) {
+                Map<String, Object> resumen = new LinkedHashMap<>();
+                resumen.put("endpoint", operacion.endpoint);
+                resumen.putAll(operacion.registro.resumen(operacion.tasa));
+                porOperacion.put(operacion.nombre, resumen);
+            }
+            resultados.put("operaciones", porOperacion);
+
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(salida, resultados);
+            imprimir(porOperacion);
+            System.out.println("Resultados en " + salida.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Carga en la base compartida el conjunto sintético de
+     * {@code datos.properties}, que se ajusta con {@code -Ddatos.*}.
+     */
+    private static void generarDatos(Entorno entorno) throws IOException, SQLException {
+        Configuracion datos = new Configuracion("datos", new String[0]);
+        datos.fijar("destino", "jdbc");
+        datos.fijar("url", entorno.urlBaseDatos());
+        datos.fijar("usuario", "sa");
+        datos.fijar("contrasenia", "");
+        GeneradorDatos.generar(datos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void imprimir(Map<String, Object> porOperacion) {
+        System.out.printf("%-14s %10s %10s %10s %10s %10s %10s %10s%n", "Operación", "Solicitudes", "Errores",
+                "Rechazos", "Oper/s", "p50 ms", "p99 ms", "p999 ms");
+        porOperacion.forEach((nombre, valor) -> {
+            Map<String, Object> resumen = (Map<String, Object>) valor;
+            Map<String, Object> latencia = (Map<String, Object>) resumen.get("latenciaMs");
+            System.out.printf("%-14s %10s %10s %10s %10s %10s %10s %10s%n", nombre, resumen.get("solicitudes"),
+                    resumen.get("errores"), resumen.get("rechazadas"), resumen.get("throughput"),
+                    latencia.get("p50"), latencia.get("p99"), latencia.get("p999"));
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.proyecto.neo.app.carga;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencias y códigos de respuesta de una operación. Las latencias se guardan
+ * todas, en nanosegundos, para calcular los percentiles exactos al final.
+ */
+class Registro {
+
+    private long[] latencias = new long[1024];
+    private int cantidad;
+    private final Map<Integer, Long> porEstado = new TreeMap<>();
+    private long omitidas;
+    private long desde;
+    private long hasta;
+    private long ultimaRespuesta;
+
+    /**
+     * Fija el periodo de medición, en tiempos de {@link System#nanoTime()}.
+     */
+    synchronized void medir(long desde, long hasta) {
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    /**
+     * @param latencia nanosegundos desde el momento en que la solicitud debía
+     *                 enviarse hasta que terminó la respuesta.
+     * @param estado   el código HTTP, o -1 si la solicitud falló sin respuesta.
+     */
+    synchronized void registrar(long latencia, int estado) {
+        ultimaRespuesta = Math.max(ultimaRespuesta, System.nanoTime());
+        if (cantidad == latencias.length) {
+            latencias = Arrays.copyOf(latencias, cantidad * 2);
+        }
+        latencias[cantidad++] = latencia;
+        porEstado.merge(estado, 1L, Long::sum);
+    }
+
+    /** Una solicitud que no se pudo armar, por ejemplo sin cuentas creadas. */
+    synchronized void omitir() {
+        omitidas++;
+    }
+
+    synchronized Map<String, Object> resumen(double tasaObjetivo) {
+        // Si el sistema no alcanza la tasa, las últimas respuestas llegan después del periodo
+        double segundos = (Math.max(hasta, ultimaRespuesta) - desde) / 1_000_000_000.0;
+        long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+        Arrays.sort(ordenadas);
+        long exitosas = porEstado.entrySet().stream()
+                .filter(e -> e.getKey() >= 200 && e.getKey() < 300).mapToLong(Map.Entry::getValue).sum();
+        long rechazadas = porEstado.entrySet().stream()
+                .filter(e -> e.getKey() >= 400 && e.getKey() < 500).mapToLong(Map.Entry::getValue).sum();
+
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("tasaObjetivo", tasaObjetivo);
+        resumen.put("solicitudes", cantidad);
+        resumen.put("exitosas", exitosas);
+        resumen.put("rechazadas", rechazadas);
+        resumen.put("errores", cantidad - exitosas - rechazadas);
+        resumen.put("omitidas", omitidas);
+        Map<String, Long> estados = new LinkedHashMap<>();
+        porEstado.forEach((estado, total) -> estados.put(String.valueOf(estado), total));
+        resumen.put("porEstado", estados);
+        resumen.put("throughput", redondear(exitosas / segundos));
+
+        Map<String, Object> latenciaMs = new LinkedHashMap<>();
+        latenciaMs.put("p50", percentil(ordenadas, 0.50));
+        latenciaMs.put("p90", percentil(ordenadas, 0.90));
+        latenciaMs.put("p99", percentil(ordenadas, 0.99));
+        latenciaMs.put("p999", percentil(ordenadas, 0.999));
+        latenciaMs.put("max", cantidad == 0 ? 0 : milisegundos(ordenadas[cantidad - 1]));
+        latenciaMs.put("promedio", cantidad == 0 ? 0 : milisegundos(Arrays.stream(ordenadas).sum() / cantidad));
+        resumen.put("latenciaMs", latenciaMs);
+        return resumen;
+    }
+
+    // Por rango más cercano: el menor valor que cubre la fracción pedida de las muestras
+    private static double percentil(long[] ordenadas, double fraccion) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(fraccion * ordenadas.length) - 1;
+        return milisegundos(ordenadas[Math.max(indice, 0)]);
+    }
+
+    private static double milisegundos(long nanos) {
+        return redondear(nanos / 1_000_000.0);
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+}
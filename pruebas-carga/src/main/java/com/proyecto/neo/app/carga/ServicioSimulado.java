@@ -0,0 +1,72 @@
+package com.proyecto.neo.app.carga;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Reemplazo mínimo de la aplicación que no se levanta, con las respuestas que
+ * la otra necesita para funcionar.
+ */
+class ServicioSimulado implements AutoCloseable {
+
+    private final HttpServer servidor;
+
+    private ServicioSimulado(int puerto) throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", puerto), 0);
+        servidor.setExecutor(Executors.newFixedThreadPool(8, tarea -> {
+            Thread hilo = new Thread(tarea, "simulado-" + puerto);
+            hilo.setDaemon(true);
+            return hilo;
+        }));
+    }
+
+    /**
+     * Simula el microservicio de clientes: cualquier identificador es un
+     * cliente activo. Movimientos debe correr con la sincronización de
+     * clientes desactivada, así los consulta uno a uno.
+     */
+    static ServicioSimulado general(int puerto) throws IOException {
+        ServicioSimulado simulado = new ServicioSimulado(puerto);
+        simulado.servidor.createContext("/api/clientes/", intercambio -> {
+            String id = intercambio.getRequestURI().getPath().substring("/api/clientes/".length());
+            if (!id.matches("\\d+")) {
+                responder(intercambio, 404, "");
+                return;
+            }
+            responder(intercambio, 200, "{\"id\":" + id + ",\"nombre\":\"Cliente " + id
+                    + "\",\"genero\":\"Otro\",\"edad\":30,\"identificacion\":\"" + id
+                    + "\",\"direccion\":\"Simulada\",\"estado\":true}");
+        });
+        simulado.servidor.start();
+        return simulado;
+    }
+
+    /** Simula el microservicio de movimientos: el cliente no tiene cuentas. */
+    static ServicioSimulado movimientos(int puerto) throws IOException {
+        ServicioSimulado simulado = new ServicioSimulado(puerto);
+        simulado.servidor.createContext("/api/cuentas/cliente/", intercambio -> responder(intercambio, 200,
+                "Cuentas eliminadas"));
+        simulado.servidor.start();
+        return simulado;
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json");
+        intercambio.sendResponseHeaders(estado, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+    }
+}
@@ -1,14 +1,130 @@
 package com.proyecto.neo.app.movimientos;
 
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.proyecto.neo.app.comun.DataSourceConReserva;
+import com.proyecto.neo.app.comun.DataSourceMedido;
+import com.proyecto.neo.app.comun.DataSourceReplicado;
+import com.proyecto.neo.app.comun.ReintentosIdempotentes;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 @Configuration
 public class AppConfig {
 
+    /**
+     * Cliente HTTP hacia el microservicio de general. Reutiliza conexiones de un
+     * pool acotado y limita cuánto se espera por una conexión libre, por conectar
+     * y por la respuesta, para que un servicio lento no retenga nuestros hilos.
+     * Solo reintenta los métodos idempotentes, ante una conexión reutilizada que
+     * el otro lado ya cerró o una respuesta 429/503; ver
+     * {@link ReintentosIdempotentes}. Al construirse con
+     * RestTemplateBuilder, cada llamada se mide en la métrica http.client.requests
+     * etiquetada con la plantilla de la URI.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+            @Value("${servicios.general.url}") String url,
+            @Value("${servicios.http.conexiones-maximas:100}") int conexionesMaximas,
+            @Value("${servicios.http.conexiones-por-ruta:20}") int conexionesPorRuta,
+            @Value("${servicios.http.timeout-conexion:1s}") Duration timeoutConexion,
+            @Value("${servicios.http.timeout-respuesta:3s}") Duration timeoutRespuesta,
+            @Value("${servicios.http.timeout-espera-pool:500ms}") Duration timeoutEsperaPool,
+            @Value("${servicios.http.reintentos:2}") int reintentos) {
+
+        PoolingHttpClientConnectionManager conexiones = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(conexionesMaximas)
+                .setMaxConnPerRoute(conexionesPorRuta)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(timeoutConexion))
+                        .setSocketTimeout(Timeout.of(timeoutRespuesta))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        CloseableHttpClient cliente = HttpClients.custom()
+                .setConnectionManager(conexiones)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(timeoutEsperaPool))
+                        .setResponseTimeout(Timeout.of(timeoutRespuesta))
+                        .build())
+                .setRetryStrategy(new ReintentosIdempotentes(reintentos, TimeValue.ofMilliseconds(100)))
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        return builder
+                .rootUri(url)
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(cliente))
+                .build();
+    }
+
+    /**
+     * Agrega al pool de conexiones una reserva para las conexiones que se piden
+     * estando ya dentro de otra, como la que usa Hibernate para reservar bloques
+     * de identificadores. Ver {@link DataSourceConReserva}. Si hay una réplica
+     * configurada, las transacciones de solo lectura van a su propio pool; ver
+     * {@link DataSourceReplicado}. Por encima, si está habilitado, mide las
+     * filas y el tiempo de las sentencias de cada solicitud con
+     * {@link DataSourceMedido}.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public static BeanPostProcessor reservaConexiones(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource principal)) {
+                    return bean;
+                }
+                DataSource dataSource = DataSourceConReserva.sobre(principal,
+                        environment.getProperty("movimientos.conexiones.reserva", Integer.class, 4));
+
+                String urlReplica = environment.getProperty("movimientos.replica.url");
+                if (urlReplica != null && !urlReplica.isBlank()) {
+                    dataSource = replicado(principal, dataSource, urlReplica);
+                }
+                return environment.getProperty("movimientos.sql.perfil.habilitado", Boolean.class, true)
+                        ? new DataSourceMedido(dataSource)
+                        : dataSource;
+            }
+
+            private DataSourceReplicado replicado(HikariDataSource principal, DataSource primario, String url) {
+                HikariConfig replica = new HikariConfig();
+                principal.copyStateTo(replica);
+                replica.setPoolName("HikariPool-replica");
+                replica.setJdbcUrl(url);
+                replica.setUsername(environment.getProperty("movimientos.replica.usuario", principal.getUsername()));
+                replica.setPassword(environment.getProperty("movimientos.replica.contrasenia", principal.getPassword()));
+                replica.setMaximumPoolSize(environment.getProperty("movimientos.replica.conexiones", Integer.class,
+                        principal.getMaximumPoolSize()));
+                replica.setReadOnly(true);
+
+                DataSourceReplicado replicado = new DataSourceReplicado(primario, new HikariDataSource(replica),
+                        "movimientos", environment.getProperty("movimientos.replica.atraso-maximo", Duration.class,
+                                Duration.ofSeconds(5)));
+                replicado.iniciarLatidos(environment.getProperty("movimientos.replica.intervalo-latido", Duration.class,
+                        Duration.ofSeconds(1)));
+                return replicado;
+            }
+        };
     }
 }
@@ -2,8 +2,10 @@ package com.proyecto.neo.app.movimientos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MovimientosApplication {
 
 	public static void main(String[] args) {
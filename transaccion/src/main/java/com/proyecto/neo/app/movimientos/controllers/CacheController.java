@@ -0,0 +1,72 @@
+package com.proyecto.neo.app.movimientos.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.proyecto.neo.app.movimientos.dto.EstadisticasCacheDto;
+import com.proyecto.neo.app.movimientos.services.ClienteCache;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private ClienteCache clienteCache;
+
+    @Autowired
+    private CuentaCache cuentaCache;
+
+    /**
+     * Maneja las solicitudes GET para obtener las estadísticas de la caché de
+     * clientes, útiles para dimensionarla.
+     * 
+     * @return un ResponseEntity con aciertos, fallos, tiempos de carga y tamaño.
+     */
+    @GetMapping("/clientes")
+    public ResponseEntity<EstadisticasCacheDto> getClientCacheStats() {
+        return ResponseEntity.ok(clienteCache.estadisticas());
+    }
+
+    /**
+     * Maneja las solicitudes DELETE para descartar la copia en caché de un
+     * cliente.
+     * 
+     * @param clienteId el identificador del cliente.
+     * @return un ResponseEntity vacío.
+     */
+    @DeleteMapping("/clientes/{clienteId}")
+    public ResponseEntity<Void> evictClient(@PathVariable Long clienteId) {
+        clienteCache.invalidar(clienteId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Maneja las solicitudes GET para obtener las estadísticas de la caché de
+     * cuentas.
+     * 
+     * @return un ResponseEntity con aciertos, fallos, tiempos de carga y tamaño.
+     */
+    @GetMapping("/cuentas")
+    public ResponseEntity<EstadisticasCacheDto> getAccountCacheStats() {
+        return ResponseEntity.ok(cuentaCache.estadisticas());
+    }
+
+    /**
+     * Maneja las solicitudes DELETE para descartar la copia en caché de una
+     * cuenta, por ejemplo tras modificarla directamente en la base de datos.
+     * 
+     * @param numeroCuenta el número de cuenta.
+     * @return un ResponseEntity vacío.
+     */
+    @DeleteMapping("/cuentas/{numeroCuenta}")
+    public ResponseEntity<Void> evictAccount(@PathVariable String numeroCuenta) {
+        cuentaCache.invalidar(numeroCuenta);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,10 +1,12 @@
 package com.proyecto.neo.app.movimientos.controllers;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -17,12 +19,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
 import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.EliminacionCliente;
+import com.proyecto.neo.app.movimientos.exceptions.CuentaExistenteException;
 import com.proyecto.neo.app.movimientos.exceptions.ErrorResponse;
 import com.proyecto.neo.app.movimientos.exceptions.ResourceNotFoundException;
 import com.proyecto.neo.app.movimientos.services.CuentaService;
+import com.proyecto.neo.app.movimientos.services.EliminacionClienteService;
 
 import jakarta.validation.Valid;
 
@@ -32,17 +40,41 @@ public class CuentaController {
     @Autowired
     private CuentaService service;
 
+    @Autowired
+    private EliminacionClienteService eliminacionService;
+
+    @Value("${movimientos.eliminacion.espera-sincrona:10s}")
+    private Duration esperaEliminacion;
+
     /**
      * Maneja las solicitudes GET para obtener una lista de todas las cuentas.
      * 
      * @return un ResponseEntity que contiene la lista de todas las cuentas.
+     * @deprecated carga la tabla completa; usar GET /api/cuentas/pagina.
      */
+    @Deprecated
     @GetMapping
     public ResponseEntity<List<Cuenta>> getAllAccounts() {
         List<Cuenta> cuentas = service.findAll();
         return ResponseEntity.ok(cuentas);
     }
 
+    /**
+     * Maneja las solicitudes GET para obtener una página de cuentas ordenadas por
+     * número de cuenta, sin sus movimientos.
+     * 
+     * @param tamanio      el número máximo de cuentas de la página.
+     * @param continuacion el token devuelto por la página anterior; se omite para
+     *                     la primera.
+     * @return un ResponseEntity con la página y el token de la siguiente, que es
+     *         null en la última página.
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDto<ResumenCuentaDto>> getAccountPage(@RequestParam(defaultValue = "50") int tamanio,
+            @RequestParam(required = false) String continuacion) {
+        return ResponseEntity.ok(service.findPage(tamanio, continuacion));
+    }
+
     /**
      * Maneja las solicitudes GET para obtener una cuenta por su número de cuenta.
      * 
@@ -58,13 +90,29 @@ public class CuentaController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Maneja las solicitudes GET para obtener el estado y el saldo de una cuenta,
+     * sin sus movimientos. Se sirve desde la caché de cuentas.
+     * 
+     * @param numeroCuenta el número de cuenta.
+     * @return un ResponseEntity que contiene el resumen de la cuenta si se
+     *         encuentra, o un estado 404 si no se encuentra.
+     */
+    @GetMapping("/{numeroCuenta}/resumen")
+    public ResponseEntity<?> getAccountSummary(@PathVariable String numeroCuenta) {
+        Optional<ResumenCuentaDto> resumenOptional = service.findResumenByNumeroCuenta(numeroCuenta);
+        return resumenOptional
+                .map(resumen -> ResponseEntity.ok(resumen))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * Maneja las solicitudes POST para crear una nueva cuenta.
      * 
      * @param cuenta la entidad cuenta a crear.
      * @param result el BindingResult para capturar errores de validación.
-     * @return un ResponseEntity que contiene la cuenta creada, o un estado 400 si
-     *         la validación falla.
+     * @return un ResponseEntity que contiene la cuenta creada, un estado 400 si
+     *         la validación falla, o un estado 409 si el número ya existe.
      */
     @PostMapping
     public ResponseEntity<?> createAccount(@Valid @RequestBody Cuenta cuenta, BindingResult result) {
@@ -80,9 +128,8 @@ public class CuentaController {
      * Maneja las solicitudes POST para crear una cuenta con información específica.
      * 
      * @param request la entidad cuenta con información para crear una nueva cuenta.
-     * @return un ResponseEntity que contiene la nueva cuenta creada, o un estado
-     *         400 si
-     *         ocurre un error.
+     * @return un ResponseEntity que contiene la nueva cuenta creada, un estado
+     *         409 si el número ya existe, o un estado 400 si ocurre otro error.
      */
     @PostMapping("/crear")
     public ResponseEntity<?> createSpecificAccount(@Valid @RequestBody Cuenta cuenta, BindingResult result) {
@@ -100,6 +147,8 @@ public class CuentaController {
                     cuenta.getNumeroCuenta());
             return ResponseEntity.ok(nuevaCuenta);
 
+        } catch (CuentaExistenteException e) {
+            return handleCuentaExistenteException(e);
         } catch (RuntimeException e) {
             // Retornar el mensaje de la excepción en la respuesta
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -146,14 +195,47 @@ public class CuentaController {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Maneja las solicitudes DELETE para eliminar todas las cuentas de un cliente
+     * con sus movimientos. La eliminación corre en segundo plano; si no termina
+     * dentro de la espera configurada se responde con su avance y sigue en curso.
+     * Repetir la solicitud se une a la eliminación en curso o retoma una fallida,
+     * y una vez eliminadas las cuentas vuelve a responder 200, así que el
+     * microservicio de clientes puede repetirla sin riesgo.
+     * 
+     * @param clienteId el identificador del cliente.
+     * @return un ResponseEntity con estado 200 si el cliente no tiene cuentas o
+     *         quedaron eliminadas, 202 con el avance si la eliminación sigue en
+     *         curso, o 500 con el avance si falló.
+     */
     @DeleteMapping("/cliente/{clienteId}")
     public ResponseEntity<?> deleteAccountsByClienteId(@PathVariable Long clienteId) {
-        List<Cuenta> cuentas = service.findByClienteId(clienteId);
-        if (cuentas.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        if (!service.existsByClienteId(clienteId)) {
+            return ResponseEntity.ok("Cuentas eliminadas");
+        }
+        EliminacionCliente eliminacion = eliminacionService.iniciar(clienteId, esperaEliminacion);
+        if (EliminacionCliente.COMPLETADA.equals(eliminacion.getEstado())) {
+            return ResponseEntity.ok("Cuentas eliminadas");
         }
-        cuentas.forEach(cuenta -> service.delete(cuenta.getNumeroCuenta()));
-        return ResponseEntity.ok("Cuentas eliminadas");
+        if (EliminacionCliente.FALLIDA.equals(eliminacion.getEstado())) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(eliminacion);
+        }
+        return ResponseEntity.accepted().body(eliminacion);
+    }
+
+    /**
+     * Maneja las solicitudes GET para consultar el avance de la eliminación de
+     * las cuentas de un cliente.
+     * 
+     * @param clienteId el identificador del cliente.
+     * @return un ResponseEntity con el avance, o un estado 404 si nunca se
+     *         solicitó la eliminación.
+     */
+    @GetMapping("/cliente/{clienteId}/eliminacion")
+    public ResponseEntity<EliminacionCliente> getAccountsDeletion(@PathVariable Long clienteId) {
+        return eliminacionService.consultar(clienteId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -168,6 +250,23 @@ public class CuentaController {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    /**
+     * Maneja los parámetros inválidos, como un tamaño de página fuera de rango o
+     * un token de continuación alterado.
+     * 
+     * @param ex la excepción de argumento inválido.
+     * @return un ResponseEntity que contiene la respuesta de error.
+     */
+    @ExceptionHandler(CuentaExistenteException.class)
+    public ResponseEntity<ErrorResponse> handleCuentaExistenteException(CuentaExistenteException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage(), null));
+    }
+
     /**
      * Maneja las excepciones cuando un recurso no se encuentra.
      * 
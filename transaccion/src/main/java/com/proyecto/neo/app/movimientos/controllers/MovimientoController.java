@@ -1,11 +1,16 @@
 package com.proyecto.neo.app.movimientos.controllers;
 
-import java.math.BigDecimal;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -21,9 +26,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ResultadoMovimientoDto;
+import com.proyecto.neo.app.movimientos.dto.SolicitudMovimientoDto;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
 import com.proyecto.neo.app.movimientos.entities.Movimiento;
 import com.proyecto.neo.app.movimientos.exceptions.ErrorResponse;
 import com.proyecto.neo.app.movimientos.exceptions.SaldoInsuficienteException;
+import com.proyecto.neo.app.movimientos.services.MovimientoPipeline;
 import com.proyecto.neo.app.movimientos.services.MovimientoService;
 
 import jakarta.validation.Valid;
@@ -35,17 +45,49 @@ public class MovimientoController {
     @Autowired
     private MovimientoService service;
 
+    // Solo existe si movimientos.pipeline.habilitado=true
+    @Autowired(required = false)
+    private MovimientoPipeline pipeline;
+
+    // Segundos que se sugiere esperar cuando la cola del pipeline está llena
+    @Value("${movimientos.pipeline.reintentar-en:1}")
+    private long reintentarEn;
+
     /**
      * Maneja las solicitudes GET para obtener una lista de todos los movimientos.
      * 
      * @return un ResponseEntity que contiene la lista de todos los movimientos.
+     * @deprecated carga la tabla completa; usar GET /api/movimientos/pagina.
      */
+    @Deprecated
     @GetMapping
     public ResponseEntity<List<Movimiento>> getAllMovements() {
         List<Movimiento> movimientos = service.findAll();
         return ResponseEntity.ok(movimientos);
     }
 
+    /**
+     * Maneja las solicitudes GET para obtener una página de los movimientos de una
+     * cuenta en un rango de fechas.
+     * 
+     * @param numeroCuenta el número de cuenta.
+     * @param fechaInicio  el inicio del rango.
+     * @param fechaFin     el fin del rango.
+     * @param tamanio      el número máximo de movimientos de la página.
+     * @param continuacion el token devuelto por la página anterior; se omite para
+     *                     la primera.
+     * @return un ResponseEntity con la página y el token de la siguiente, que es
+     *         null en la última página.
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDto<Movimiento>> getMovementPage(@RequestParam String numeroCuenta,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fechaInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fechaFin,
+            @RequestParam(defaultValue = "50") int tamanio,
+            @RequestParam(required = false) String continuacion) {
+        return ResponseEntity.ok(service.findPage(numeroCuenta, fechaInicio, fechaFin, tamanio, continuacion));
+    }
+
     /**
      * Maneja las solicitudes GET para obtener un movimiento por su identificador
      * único.
@@ -68,14 +110,35 @@ public class MovimientoController {
      * @param numeroCuenta   el número de cuenta asociado al movimiento.
      * @param tipoMovimiento el tipo de movimiento (ej. depósito, retiro).
      * @param valor          el valor del movimiento.
-     * @return un ResponseEntity que contiene el movimiento registrado.
+     * @return un ResponseEntity que contiene el movimiento registrado. Con el
+     *         pipeline habilitado la respuesta se completa de forma asíncrona,
+     *         sin retener el hilo de la solicitud mientras el movimiento espera
+     *         su turno.
      */
     @PostMapping("/registrar")
-    public ResponseEntity<Movimiento> registerMovement(@RequestParam String numeroCuenta,
+    public CompletableFuture<ResponseEntity<Movimiento>> registerMovement(@RequestParam String numeroCuenta,
             @RequestParam String tipoMovimiento,
-            @RequestParam BigDecimal valor) {
+            @RequestParam Dinero valor) {
+        if (pipeline != null) {
+            return pipeline.submit(numeroCuenta, tipoMovimiento, valor).thenApply(ResponseEntity::ok);
+        }
         Movimiento movimiento = service.registerMovement(numeroCuenta, tipoMovimiento, valor);
-        return ResponseEntity.ok(movimiento);
+        return CompletableFuture.completedFuture(ResponseEntity.ok(movimiento));
+    }
+
+    /**
+     * Maneja las solicitudes POST para registrar un lote de movimientos sobre una
+     * o varias cuentas.
+     * 
+     * @param solicitudes los movimientos a registrar, en orden de llegada.
+     * @return un ResponseEntity con el resultado (éxito o error) de cada
+     *         movimiento, en el mismo orden recibido.
+     */
+    @PostMapping("/registrar/lote")
+    public ResponseEntity<List<ResultadoMovimientoDto>> registerMovements(
+            @RequestBody List<SolicitudMovimientoDto> solicitudes) {
+        List<ResultadoMovimientoDto> resultados = service.registerMovements(solicitudes);
+        return ResponseEntity.ok(resultados);
     }
 
      /**
@@ -140,6 +203,32 @@ public class MovimientoController {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    /**
+     * Maneja los movimientos que el pipeline rechaza porque la cola de su cuenta
+     * está llena o porque se está deteniendo.
+     * 
+     * @param ex la excepción de ejecución rechazada.
+     * @return un ResponseEntity con estado 503 y el encabezado Retry-After.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(reintentarEn))
+                .body(new ErrorResponse("Servicio saturado, intente nuevamente", null));
+    }
+
+    /**
+     * Maneja los parámetros inválidos, como un tamaño de página fuera de rango o
+     * un token de continuación alterado.
+     * 
+     * @param ex la excepción de argumento inválido.
+     * @return un ResponseEntity que contiene la respuesta de error.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage(), null));
+    }
+
     /**
      * Maneja las excepciones de validación.
      * 
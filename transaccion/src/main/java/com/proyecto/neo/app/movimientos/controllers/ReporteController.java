@@ -1,17 +1,23 @@
 package com.proyecto.neo.app.movimientos.controllers;
 
+import java.time.LocalDate;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.proyecto.neo.app.movimientos.dto.ClienteDto;
 import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
 import com.proyecto.neo.app.movimientos.services.ReporteService;
+import com.proyecto.neo.app.movimientos.services.SaldoDiarioService;
 
 @RestController
 @RequestMapping("/api")
@@ -20,12 +26,15 @@ public class ReporteController {
      @Autowired
     private ReporteService reporteService;
 
+    @Autowired
+    private SaldoDiarioService saldoDiarioService;
+
      /**
      * Maneja las solicitudes GET para generar un reporte de estado de cuenta.
      * 
      * @param clienteId el identificador del cliente para el cual se genera el reporte.
      * @param fechaInicio la fecha de inicio del periodo para el reporte.
-     * @param fechaFin la fecha de fin del periodo para el reporte.
+     * @param fechaFin la fecha de fin del periodo para el reporte; se incluye el día entero.
      * @return un ResponseEntity que contiene el reporte de estado de cuenta.
      */
     @GetMapping("/reportes")
@@ -38,4 +47,44 @@ public class ReporteController {
         return ResponseEntity.ok(reporte);
     }
 
+    /**
+     * Maneja las solicitudes GET para generar el reporte de estado de cuenta en
+     * streaming. Devuelve el mismo JSON que /reportes, pero los movimientos se
+     * escriben en la respuesta a medida que se leen de la base de datos.
+     * 
+     * @param clienteId el identificador del cliente para el cual se genera el reporte.
+     * @param fechaInicio la fecha de inicio del periodo para el reporte.
+     * @param fechaFin la fecha de fin del periodo para el reporte; se incluye el día entero.
+     * @return un ResponseEntity cuyo cuerpo escribe el reporte de estado de cuenta.
+     */
+    @GetMapping("/reportes/stream")
+    public ResponseEntity<StreamingResponseBody> generarReporteStream(
+            @RequestParam Long clienteId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fechaInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fechaFin) {
+
+        // El cliente se valida antes de empezar a escribir, para poder responder con error
+        ClienteDto cliente = reporteService.obtenerCliente(clienteId);
+        StreamingResponseBody cuerpo = salida -> reporteService.escribirReporte(cliente, fechaInicio, fechaFin, salida);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+
+    /**
+     * Maneja las solicitudes POST para reconstruir los resúmenes diarios de saldo
+     * desde los movimientos. Sin fechas reconstruye toda la historia.
+     * 
+     * @param desde el primer día a reconstruir.
+     * @param hasta el último día a reconstruir, inclusive.
+     * @return un ResponseEntity con el número de resúmenes creados.
+     */
+    @PostMapping("/reportes/saldos-diarios/reconstruir")
+    public ResponseEntity<Integer> reconstruirSaldosDiarios(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        if (desde == null) {
+            return ResponseEntity.ok(saldoDiarioService.reconstruirTodo());
+        }
+        return ResponseEntity.ok(saldoDiarioService.reconstruir(desde, hasta != null ? hasta : LocalDate.now()));
+    }
+
 }
@@ -1,6 +1,6 @@
 package com.proyecto.neo.app.movimientos.dto;
 
-import java.math.BigDecimal;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
 
 import lombok.Data;
 
@@ -10,7 +10,7 @@ public class CuentaDto {
     private Long id;
     private Long numeroCuenta;
     private String tipoCuenta;
-    private BigDecimal saldoInicial;
+    private Dinero saldoInicial;
     private Boolean estado;
 
 }
@@ -0,0 +1,17 @@
+package com.proyecto.neo.app.movimientos.dto;
+
+import lombok.Data;
+
+@Data
+public class EstadisticasCacheDto {
+
+    private long tamanio;
+    private long aciertos;
+    private long fallos;
+    private double tasaAciertos;
+    private long cargasExitosas;
+    private long cargasFallidas;
+    private double tiempoPromedioCargaMs;
+    private long desalojos;
+
+}
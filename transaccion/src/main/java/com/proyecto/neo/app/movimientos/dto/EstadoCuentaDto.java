@@ -1,10 +1,13 @@
 package com.proyecto.neo.app.movimientos.dto;
 
-import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 public class EstadoCuentaDto {
@@ -16,16 +19,24 @@ public class EstadoCuentaDto {
     public static class CuentaDto {
         private String numeroCuenta;
         private String tipoCuenta;
-        private BigDecimal saldoInicial;
+        private Dinero saldoInicial;
+        // Saldos y totales del periodo, por días completos, tomados de los resúmenes diarios
+        private Dinero saldoApertura;
+        private Dinero saldoCierre;
+        private Dinero totalDebitos;
+        private Dinero totalCreditos;
+        private Long cantidadMovimientos;
         private List<MovimientoDto> movimientos;
     }
 
     @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class MovimientoDto {
         private Date fecha;
         private String tipoMovimiento;
-        private BigDecimal valor;
-        private BigDecimal saldo;
+        private Dinero valor;
+        private Dinero saldo;
         
     }
 
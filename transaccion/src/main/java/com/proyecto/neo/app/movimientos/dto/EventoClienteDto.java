@@ -0,0 +1,18 @@
+package com.proyecto.neo.app.movimientos.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+@Data
+public class EventoClienteDto {
+
+    private Long posicion;
+    private Long clienteId;
+    private String tipo;
+    private Instant fecha;
+
+    // Datos del cliente tras el cambio; null en las bajas
+    private ClienteDto cliente;
+
+}
@@ -0,0 +1,15 @@
+package com.proyecto.neo.app.movimientos.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class FeedEventosDto {
+
+    private List<EventoClienteDto> eventos;
+
+    // Última posición publicada por el microservicio de clientes
+    private Long cabeza;
+
+}
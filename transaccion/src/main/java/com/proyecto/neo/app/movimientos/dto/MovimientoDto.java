@@ -1,8 +1,9 @@
 package com.proyecto.neo.app.movimientos.dto;
 
-import java.math.BigDecimal;
 import java.util.Date;
 
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+
 import lombok.Data;
 
 @Data
@@ -11,7 +12,7 @@ public class MovimientoDto {
     private Long id;
     private Date fecha;
     private String tipoMovimiento;
-    private BigDecimal valor;
-    private BigDecimal saldo;
+    private Dinero valor;
+    private Dinero saldo;
    
 }
@@ -0,0 +1,26 @@
+package com.proyecto.neo.app.movimientos.dto;
+
+import java.util.Date;
+
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Fila de la consulta del reporte: una cuenta del cliente con uno de sus
+ * movimientos del periodo, o sin movimiento si la cuenta no tiene ninguno.
+ */
+@Data
+@AllArgsConstructor
+public class ReporteFilaDto {
+
+    private String numeroCuenta;
+    private String tipoCuenta;
+    private Dinero saldoInicial;
+    private Date fecha;
+    private String tipoMovimiento;
+    private Dinero valor;
+    private Dinero saldo;
+
+}
@@ -0,0 +1,40 @@
+package com.proyecto.neo.app.movimientos.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+
+import lombok.Data;
+
+@Data
+public class ResultadoMovimientoDto {
+
+    private int indice;
+    private String numeroCuenta;
+    private boolean exito;
+    private Movimiento movimiento;
+    private String error;
+
+    // Excepción original, para quien necesite relanzarla con la misma semántica
+    @JsonIgnore
+    private RuntimeException excepcion;
+
+    public static ResultadoMovimientoDto exitoso(int indice, Movimiento movimiento) {
+        ResultadoMovimientoDto resultado = new ResultadoMovimientoDto();
+        resultado.setIndice(indice);
+        resultado.setNumeroCuenta(movimiento.getCuenta().getNumeroCuenta());
+        resultado.setExito(true);
+        resultado.setMovimiento(movimiento);
+        return resultado;
+    }
+
+    public static ResultadoMovimientoDto fallido(int indice, String numeroCuenta, RuntimeException excepcion) {
+        ResultadoMovimientoDto resultado = new ResultadoMovimientoDto();
+        resultado.setIndice(indice);
+        resultado.setNumeroCuenta(numeroCuenta);
+        resultado.setExito(false);
+        resultado.setError(excepcion.getMessage());
+        resultado.setExcepcion(excepcion);
+        return resultado;
+    }
+
+}
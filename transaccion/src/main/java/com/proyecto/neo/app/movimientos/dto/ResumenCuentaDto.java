@@ -0,0 +1,22 @@
+package com.proyecto.neo.app.movimientos.dto;
+
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Estado de una cuenta sin sus movimientos, tal como lo guarda la caché de
+ * cuentas. Las instancias en caché son compartidas y no se modifican.
+ */
+@Data
+@AllArgsConstructor
+public class ResumenCuentaDto {
+
+    private String numeroCuenta;
+    private String tipoCuenta;
+    private Dinero saldoInicial;
+    private Boolean estado;
+    private Long clienteId;
+
+}
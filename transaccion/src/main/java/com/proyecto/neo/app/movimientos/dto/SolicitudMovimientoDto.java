@@ -0,0 +1,14 @@
+package com.proyecto.neo.app.movimientos.dto;
+
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+
+import lombok.Data;
+
+@Data
+public class SolicitudMovimientoDto {
+
+    private String numeroCuenta;
+    private String tipoMovimiento;
+    private Dinero valor;
+
+}
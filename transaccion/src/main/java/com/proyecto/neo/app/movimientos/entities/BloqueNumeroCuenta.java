@@ -0,0 +1,25 @@
+package com.proyecto.neo.app.movimientos.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Último bloque de números de cuenta reservado para una longitud de número. El
+ * bloque {@code n} abarca los números base desde {@code n * tamaño} hasta
+ * {@code (n + 1) * tamaño - 1}.
+ */
+@Entity
+@Table(name = "bloques_numero_cuenta")
+@Data
+public class BloqueNumeroCuenta {
+
+    @Id
+    private Integer longitud;
+
+    @Column(name = "ultimo_bloque")
+    private Long ultimoBloque;
+
+}
@@ -0,0 +1,24 @@
+package com.proyecto.neo.app.movimientos.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Copia local de los datos de un cliente que necesita este microservicio,
+ * sincronizada desde el microservicio de clientes.
+ */
+@Entity
+@Table(name = "clientes_local")
+@Data
+public class ClienteLocal {
+
+    @Id
+    private Long id;
+
+    private String nombre;
+
+    private Boolean estado;
+
+}
@@ -1,6 +1,5 @@
 package com.proyecto.neo.app.movimientos.entities;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import jakarta.persistence.CascadeType;
@@ -29,7 +28,7 @@ public class Cuenta {
 
     @Column(name = "saldo_inicial")
     @NotNull(message = "El saldo inicial no puede ser nulo")
-    private BigDecimal saldoInicial;
+    private Dinero saldoInicial;
 
     private Boolean estado;
 
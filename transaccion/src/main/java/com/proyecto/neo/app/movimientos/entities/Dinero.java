@@ -0,0 +1,205 @@
+package com.proyecto.neo.app.movimientos.entities;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Importe de dinero con dos decimales, guardado como una cantidad entera de
+ * centavos. Las operaciones son exactas y fallan con ArithmeticException si el
+ * resultado no cabe en un long, en lugar de desbordarse en silencio.
+ * <p>
+ * Se guarda en las columnas decimal(38,2) mediante {@link DineroConverter} y
+ * en JSON se escribe como un número con dos decimales, igual que un BigDecimal
+ * leído de esas columnas. Al leerlo se acepta un número o un texto con hasta
+ * dos decimales.
+ */
+@JsonSerialize(using = Dinero.Serializador.class)
+@JsonDeserialize(using = Dinero.Deserializador.class)
+public final class Dinero implements Comparable<Dinero>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DECIMALES = 2;
+
+    private static final long CENTAVOS_POR_UNIDAD = 100;
+
+    // Signo, 17 dígitos enteros, punto y dos decimales
+    private static final int LARGO_MAXIMO = 21;
+
+    public static final Dinero CERO = new Dinero(0);
+
+    private final long centavos;
+
+    private Dinero(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinero deCentavos(long centavos) {
+        return centavos == 0 ? CERO : new Dinero(centavos);
+    }
+
+    /**
+     * @param valor un importe con a lo sumo dos decimales distintos de cero.
+     * @return el mismo importe.
+     * @throws ArithmeticException si tiene más decimales o no cabe en un long de
+     *                             centavos.
+     */
+    public static Dinero de(BigDecimal valor) {
+        try {
+            return deCentavos(valor.movePointRight(DECIMALES).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Importe con más de dos decimales o fuera de rango: " + valor);
+        }
+    }
+
+    /**
+     * Lee un importe escrito como número decimal. Spring lo usa también para
+     * convertir los parámetros de las solicitudes.
+     *
+     * @param texto el importe, por ejemplo "-75.5".
+     * @return el importe leído.
+     * @throws NumberFormatException si el texto no es un número.
+     * @throws ArithmeticException   si tiene más de dos decimales o no cabe en
+     *                               un long de centavos.
+     */
+    public static Dinero valueOf(String texto) {
+        return de(new BigDecimal(texto.trim()));
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, DECIMALES);
+    }
+
+    public Dinero sumar(Dinero otro) {
+        long resultado = centavos + otro.centavos;
+        // Hay desbordamiento si los dos operandos tienen el mismo signo y el resultado el contrario
+        if (((centavos ^ resultado) & (otro.centavos ^ resultado)) < 0) {
+            throw fueraDeRango();
+        }
+        return deCentavos(resultado);
+    }
+
+    public Dinero restar(Dinero otro) {
+        long resultado = centavos - otro.centavos;
+        if (((centavos ^ otro.centavos) & (centavos ^ resultado)) < 0) {
+            throw fueraDeRango();
+        }
+        return deCentavos(resultado);
+    }
+
+    public Dinero negar() {
+        if (centavos == Long.MIN_VALUE) {
+            throw fueraDeRango();
+        }
+        return deCentavos(-centavos);
+    }
+
+    public Dinero valorAbsoluto() {
+        return centavos < 0 ? negar() : this;
+    }
+
+    /**
+     * @return -1, 0 o 1 según el importe sea negativo, cero o positivo.
+     */
+    public int signo() {
+        return Long.signum(centavos);
+    }
+
+    public boolean esNegativo() {
+        return centavos < 0;
+    }
+
+    @Override
+    public int compareTo(Dinero otro) {
+        return Long.compare(centavos, otro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof Dinero dinero && dinero.centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    /**
+     * @return el importe con dos decimales, como lo escribe BigDecimal: "-0.05",
+     *         "1234.50".
+     */
+    @Override
+    public String toString() {
+        char[] texto = new char[LARGO_MAXIMO];
+        int inicio = escribir(texto);
+        return new String(texto, inicio, texto.length - inicio);
+    }
+
+    // Escribe el importe al final de destino y devuelve la posición donde empieza
+    private int escribir(char[] destino) {
+        int posicion = destino.length;
+        // Se trabaja en negativo para que Long.MIN_VALUE no se desborde al cambiar de signo
+        long resto = centavos < 0 ? centavos : -centavos;
+        for (int i = 0; i < DECIMALES; i++) {
+            destino[--posicion] = (char) ('0' - resto % 10);
+            resto /= 10;
+        }
+        destino[--posicion] = '.';
+        do {
+            destino[--posicion] = (char) ('0' - resto % 10);
+            resto /= 10;
+        } while (resto != 0);
+        if (centavos < 0) {
+            destino[--posicion] = '-';
+        }
+        return posicion;
+    }
+
+    private static ArithmeticException fueraDeRango() {
+        return new ArithmeticException("Importe fuera de rango");
+    }
+
+    static class Serializador extends JsonSerializer<Dinero> {
+        @Override
+        public void serialize(Dinero valor, JsonGenerator json, SerializerProvider proveedor) throws IOException {
+            // Sin pasar por un String intermedio
+            char[] texto = new char[LARGO_MAXIMO];
+            int inicio = valor.escribir(texto);
+            json.writeNumber(texto, inicio, texto.length - inicio);
+        }
+    }
+
+    static class Deserializador extends JsonDeserializer<Dinero> {
+        @Override
+        public Dinero deserialize(JsonParser json, DeserializationContext contexto) throws IOException {
+            try {
+                switch (json.currentToken()) {
+                    case VALUE_NUMBER_INT:
+                        return deCentavos(Math.multiplyExact(json.getLongValue(), CENTAVOS_POR_UNIDAD));
+                    case VALUE_NUMBER_FLOAT:
+                        return de(json.getDecimalValue());
+                    case VALUE_STRING:
+                        return valueOf(json.getText());
+                    default:
+                        return (Dinero) contexto.handleUnexpectedToken(Dinero.class, json);
+                }
+            } catch (ArithmeticException | NumberFormatException e) {
+                return (Dinero) contexto.handleWeirdStringValue(Dinero.class, json.getText(), e.getMessage());
+            }
+        }
+    }
+}
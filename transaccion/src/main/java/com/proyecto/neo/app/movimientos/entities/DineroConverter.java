@@ -0,0 +1,26 @@
+package com.proyecto.neo.app.movimientos.entities;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Guarda los importes {@link Dinero} en las columnas decimal(38,2) existentes.
+ * Se aplica a todos los atributos de tipo Dinero, incluidos los que se
+ * seleccionan en las consultas JPQL; las consultas nativas reciben el importe
+ * como BigDecimal.
+ */
+@Converter(autoApply = true)
+public class DineroConverter implements AttributeConverter<Dinero, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Dinero dinero) {
+        return dinero == null ? null : dinero.toBigDecimal();
+    }
+
+    @Override
+    public Dinero convertToEntityAttribute(BigDecimal valor) {
+        return valor == null ? null : Dinero.de(valor);
+    }
+}
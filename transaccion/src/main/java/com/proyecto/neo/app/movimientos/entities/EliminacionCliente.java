@@ -0,0 +1,43 @@
+package com.proyecto.neo.app.movimientos.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Avance de la eliminación en segundo plano de las cuentas y movimientos de un
+ * cliente.
+ */
+@Entity
+@Table(name = "eliminaciones_cliente")
+@Data
+public class EliminacionCliente {
+
+    public static final String EN_CURSO = "EN_CURSO";
+    public static final String COMPLETADA = "COMPLETADA";
+    public static final String FALLIDA = "FALLIDA";
+
+    @Id
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    private String estado;
+
+    @Column(name = "cuentas_eliminadas")
+    private long cuentasEliminadas;
+
+    @Column(name = "movimientos_eliminados")
+    private long movimientosEliminados;
+
+    private Instant inicio;
+
+    private Instant actualizacion;
+
+    // Mensaje de la última falla; la eliminación se retoma volviendo a solicitarla
+    private String error;
+
+}
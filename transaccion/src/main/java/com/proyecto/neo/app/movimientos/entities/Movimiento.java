@@ -1,8 +1,9 @@
 package com.proyecto.neo.app.movimientos.entities;
 
-import java.math.BigDecimal;
 import java.util.Date;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -12,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 import jakarta.validation.constraints.NotEmpty;
@@ -23,7 +25,10 @@ import lombok.Data;
 @Data
 public class Movimiento {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Identificadores reservados por bloques: a diferencia de IDENTITY permite enviar los inserts en lote
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "movimientos_seq")
+    @TableGenerator(name = "movimientos_seq", table = "movimientos_seq", pkColumnName = "secuencia",
+            valueColumnName = "siguiente_valor", pkColumnValue = "movimientos", allocationSize = 50)
     private Long id;
 
     @Temporal(TemporalType.TIMESTAMP)
@@ -35,12 +40,13 @@ public class Movimiento {
     private String tipoMovimiento;
 
     @NotNull(message = "El valor del movimiento no puede ser nulo")
-    private BigDecimal valor;
+    private Dinero valor;
 
     @NotNull(message = "El saldo después del movimiento no puede ser nulo")
-    private BigDecimal saldo;
+    private Dinero saldo;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties({ "movimientos", "hibernateLazyInitializer", "handler" })
     @JoinColumn(name = "numero_cuenta", nullable = false)
     private Cuenta cuenta;
     
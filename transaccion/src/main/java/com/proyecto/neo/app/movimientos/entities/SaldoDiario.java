@@ -0,0 +1,61 @@
+package com.proyecto.neo.app.movimientos.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de un día de movimientos de una cuenta: el saldo al cierre del día y
+ * los totales del día. Se mantiene al registrar cada movimiento, así que los
+ * reportes obtienen saldos y totales de un periodo leyendo una fila por día en
+ * lugar de recorrer todos sus movimientos.
+ */
+@Entity
+@Table(name = "saldos_diarios")
+@IdClass(SaldoDiario.Clave.class)
+@Data
+public class SaldoDiario {
+
+    @Id
+    @Column(name = "numero_cuenta")
+    private String numeroCuenta;
+
+    @Id
+    private LocalDate fecha;
+
+    @Column(name = "saldo_cierre")
+    private Dinero saldoCierre;
+
+    // Suma de los retiros del día, en positivo
+    @Column(name = "total_debitos")
+    private Dinero totalDebitos;
+
+    @Column(name = "total_creditos")
+    private Dinero totalCreditos;
+
+    @Column(name = "cantidad_movimientos")
+    private Long cantidadMovimientos;
+
+    /**
+     * Saldo con el que abrió el día, deducido del cierre y de lo movido en el día.
+     */
+    public Dinero getSaldoApertura() {
+        return saldoCierre.restar(totalCreditos).sumar(totalDebitos);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private String numeroCuenta;
+        private LocalDate fecha;
+    }
+}
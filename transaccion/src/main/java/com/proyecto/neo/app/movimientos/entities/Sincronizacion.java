@@ -0,0 +1,27 @@
+package com.proyecto.neo.app.movimientos.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Avance de la sincronización de una proyección local con el feed del que se
+ * alimenta.
+ */
+@Entity
+@Table(name = "sincronizaciones")
+@Data
+public class Sincronizacion {
+
+    @Id
+    private String nombre;
+
+    // Última posición del feed ya aplicada
+    private long posicion;
+
+    @Column(name = "carga_completa")
+    private boolean cargaCompleta;
+
+}
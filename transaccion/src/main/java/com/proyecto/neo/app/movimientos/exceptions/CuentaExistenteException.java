@@ -0,0 +1,7 @@
+package com.proyecto.neo.app.movimientos.exceptions;
+
+public class CuentaExistenteException extends RuntimeException {
+    public CuentaExistenteException(String message) {
+        super(message);
+    }
+}
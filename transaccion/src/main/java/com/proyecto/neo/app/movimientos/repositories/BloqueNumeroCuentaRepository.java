@@ -0,0 +1,27 @@
+package com.proyecto.neo.app.movimientos.repositories;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.proyecto.neo.app.movimientos.entities.BloqueNumeroCuenta;
+
+public interface BloqueNumeroCuentaRepository extends CrudRepository<BloqueNumeroCuenta, Integer> {
+
+     /**
+      * Avanza el último bloque reservado de la longitud, creando la fila con el
+      * bloque 0 si es el primero. La fila queda bloqueada hasta el fin de la
+      * transacción, así que dos instancias nunca obtienen el mismo bloque.
+      *
+      * @return el número de filas afectadas.
+      */
+     @Modifying
+     @Query(value = "insert into bloques_numero_cuenta (longitud, ultimo_bloque) values (:longitud, 0) "
+               + "on duplicate key update ultimo_bloque = ultimo_bloque + 1", nativeQuery = true)
+     int avanzar(@Param("longitud") int longitud);
+
+     @Query("select b.ultimoBloque from BloqueNumeroCuenta b where b.longitud = :longitud")
+     long findUltimoBloque(@Param("longitud") int longitud);
+
+}
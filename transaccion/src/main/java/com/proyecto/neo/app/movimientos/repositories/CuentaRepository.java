@@ -1,17 +1,148 @@
 package com.proyecto.neo.app.movimientos.repositories;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import com.proyecto.neo.app.movimientos.dto.ReporteFilaDto;
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
 import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+
+import jakarta.persistence.LockModeType;
 
 public interface CuentaRepository extends CrudRepository<Cuenta,String>{
 
      List<Cuenta> findByClienteId(Long clienteId);
 
+     boolean existsByClienteId(Long clienteId);
+
+     @Query("select c.numeroCuenta from Cuenta c where c.clienteId = :clienteId")
+     List<String> findNumerosCuentaByClienteId(@Param("clienteId") Long clienteId);
+
+     /**
+      * Elimina la cuenta con una sola sentencia, sin cargarla ni cargar sus
+      * movimientos. Sus resúmenes diarios se eliminan en cascada en la base de
+      * datos; los movimientos deben haberse eliminado antes.
+      *
+      * @return el número de cuentas eliminadas.
+      */
+     @Modifying
+     @Query("delete from Cuenta c where c.numeroCuenta = :numeroCuenta")
+     int eliminar(@Param("numeroCuenta") String numeroCuenta);
+
      Optional<Cuenta> findByNumeroCuenta(String numeroCuenta);
-     
+
+     /**
+      * Obtiene el estado de las cuentas que siguen a la indicada en orden de
+      * número de cuenta, sin sus movimientos, para la paginación por clave.
+      *
+      * @param numeroCuenta el último número de cuenta de la página anterior.
+      * @param limite       el número máximo de cuentas.
+      * @return las cuentas siguientes, ordenadas por número de cuenta.
+      */
+     @Query("select new com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto("
+               + "c.numeroCuenta, c.tipoCuenta, c.saldoInicial, c.estado, c.clienteId) "
+               + "from Cuenta c where c.numeroCuenta > :numeroCuenta order by c.numeroCuenta")
+     List<ResumenCuentaDto> findResumenesDespuesDe(@Param("numeroCuenta") String numeroCuenta, Limit limite);
+
+     /**
+      * Obtiene los números de cuenta existentes dentro de un rango, recorriendo
+      * solo ese tramo de la clave primaria.
+      */
+     @Query("select c.numeroCuenta from Cuenta c where c.numeroCuenta between :desde and :hasta")
+     List<String> findNumerosCuentaEntre(@Param("desde") String desde, @Param("hasta") String hasta);
+
+     /**
+      * Obtiene y bloquea para escritura las cuentas indicadas, siempre en el mismo
+      * orden para que dos lotes concurrentes no se interbloqueen.
+      *
+      * @param numerosCuenta los números de cuenta a bloquear.
+      * @return las cuentas encontradas ordenadas por número de cuenta.
+      */
+     @Lock(LockModeType.PESSIMISTIC_WRITE)
+     List<Cuenta> findByNumeroCuentaInOrderByNumeroCuenta(Collection<String> numerosCuenta);
+
+     /**
+      * Bloquea para escritura, en orden de número de cuenta, las cuentas con
+      * movimientos en un rango de fechas, o todas si se indica. El registro de
+      * movimientos actualiza primero la fila de la cuenta, así que queda en espera
+      * hasta que termine la transacción que tiene el bloqueo.
+      *
+      * @param desde el inicio del rango, inclusive.
+      * @param hasta el fin del rango, exclusive.
+      * @param todas si se bloquean todas las cuentas, tengan o no movimientos.
+      * @return los números de cuenta bloqueados.
+      */
+     @Query(value = "select c.numero_cuenta from cuentas c where :todas = true or exists ("
+               + "select 1 from movimientos m where m.numero_cuenta = c.numero_cuenta "
+               + "and m.fecha >= :desde and m.fecha < :hasta) order by c.numero_cuenta for update", nativeQuery = true)
+     List<String> bloquearConMovimientosEntre(@Param("desde") Date desde, @Param("hasta") Date hasta,
+               @Param("todas") boolean todas);
+
+     /**
+      * Aplica el valor al saldo de la cuenta con una única sentencia condicional.
+      * La fila solo se actualiza si la cuenta no está inactiva y el saldo
+      * resultante no es negativo; una cuenta sin estado cuenta como activa,
+      * igual que en el registro con lectura.
+      *
+      * @param numeroCuenta el número de cuenta.
+      * @param valor        el valor a sumar (negativo para retiros).
+      * @return el número de filas actualizadas (0 si la cuenta no existe, está
+      *         inactiva o el saldo no alcanza).
+      */
+     @Modifying
+     @Query(value = "update cuentas set saldo_inicial = saldo_inicial + :valor "
+               + "where numero_cuenta = :numeroCuenta and (estado = true or estado is null) "
+               + "and saldo_inicial + :valor >= 0", nativeQuery = true)
+     int aplicarMovimiento(@Param("numeroCuenta") String numeroCuenta, @Param("valor") BigDecimal valor);
+
+     /**
+      * Obtiene solo el saldo de la cuenta, sin cargar la entidad.
+      *
+      * @param numeroCuenta el número de cuenta.
+      * @return el saldo actual de la cuenta, o vacío si no existe.
+      */
+     @Query("select c.saldoInicial from Cuenta c where c.numeroCuenta = :numeroCuenta")
+     Optional<Dinero> findSaldoByNumeroCuenta(@Param("numeroCuenta") String numeroCuenta);
+
+     /**
+      * Obtiene el estado de la cuenta sin cargar la entidad, para la caché de
+      * cuentas.
+      *
+      * @param numeroCuenta el número de cuenta.
+      * @return el estado de la cuenta, o vacío si no existe.
+      */
+     @Query("select new com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto("
+               + "c.numeroCuenta, c.tipoCuenta, c.saldoInicial, c.estado, c.clienteId) "
+               + "from Cuenta c where c.numeroCuenta = :numeroCuenta")
+     Optional<ResumenCuentaDto> findResumenByNumeroCuenta(@Param("numeroCuenta") String numeroCuenta);
+
+     /**
+      * Obtiene en una sola consulta todas las cuentas del cliente con sus
+      * movimientos del periodo, proyectados directamente a filas del reporte.
+      * Las cuentas sin movimientos en el periodo aparecen una vez, con los campos
+      * del movimiento en null.
+      *
+      * @param clienteId el identificador del cliente.
+      * @param desde     el inicio del periodo, inclusive.
+      * @param hasta     el fin del periodo, exclusive.
+      * @return las filas ordenadas por cuenta y fecha del movimiento.
+      */
+     @Query("select new com.proyecto.neo.app.movimientos.dto.ReporteFilaDto("
+               + "c.numeroCuenta, c.tipoCuenta, c.saldoInicial, m.fecha, m.tipoMovimiento, m.valor, m.saldo) "
+               + "from Cuenta c left join c.movimientos m on m.fecha >= :desde and m.fecha < :hasta "
+               + "where c.clienteId = :clienteId order by c.numeroCuenta, m.fecha, m.id")
+     List<ReporteFilaDto> findReporteByClienteId(@Param("clienteId") Long clienteId,
+               @Param("desde") Date desde, @Param("hasta") Date hasta);
 
 }
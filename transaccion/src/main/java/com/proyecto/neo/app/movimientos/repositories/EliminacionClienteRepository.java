@@ -0,0 +1,13 @@
+package com.proyecto.neo.app.movimientos.repositories;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+
+import com.proyecto.neo.app.movimientos.entities.EliminacionCliente;
+
+public interface EliminacionClienteRepository extends CrudRepository<EliminacionCliente, Long> {
+
+     List<EliminacionCliente> findByEstado(String estado);
+
+}
@@ -1,12 +1,71 @@
 package com.proyecto.neo.app.movimientos.repositories;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
 import com.proyecto.neo.app.movimientos.entities.Movimiento;
 
+import jakarta.persistence.QueryHint;
+
 public interface MovimientoRepository extends CrudRepository<Movimiento,Long>{
     List<Movimiento> findByCuenta_NumeroCuentaAndFechaBetween(String numeroCuenta, Date fechaInicio, Date fechaFin);
+
+    /**
+     * Recorre los movimientos de una cuenta en un rango de fechas con un cursor de
+     * solo avance, proyectados directamente al DTO del reporte. Debe consumirse
+     * dentro de una transacción y cerrarse al terminar.
+     *
+     * @param numeroCuenta el número de cuenta.
+     * @param desde        el inicio del rango, inclusive.
+     * @param hasta        el fin del rango, exclusive.
+     * @return un Stream con los movimientos ordenados por fecha.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto$MovimientoDto("
+            + "m.fecha, m.tipoMovimiento, m.valor, m.saldo) from Movimiento m "
+            + "where m.cuenta.numeroCuenta = :numeroCuenta and m.fecha >= :desde and m.fecha < :hasta "
+            + "order by m.fecha, m.id")
+    Stream<EstadoCuentaDto.MovimientoDto> streamReporte(@Param("numeroCuenta") String numeroCuenta,
+            @Param("desde") Date desde, @Param("hasta") Date hasta);
+
+    /**
+     * Obtiene la página de movimientos de una cuenta que sigue a la posición
+     * (fecha, id) indicada, dentro de un rango de fechas.
+     *
+     * @param numeroCuenta el número de cuenta.
+     * @param inicio       el inicio del rango, inclusive.
+     * @param finExclusivo el fin del rango, exclusive.
+     * @param fecha        la fecha del último movimiento ya devuelto.
+     * @param id           el id del último movimiento ya devuelto.
+     * @param pagina       el tamaño de la página.
+     * @return los movimientos siguientes ordenados por fecha e id.
+     */
+    @Query("select m from Movimiento m where m.cuenta.numeroCuenta = :numeroCuenta "
+            + "and m.fecha >= :inicio and m.fecha < :finExclusivo "
+            + "and (m.fecha > :fecha or (m.fecha = :fecha and m.id > :id)) order by m.fecha, m.id")
+    List<Movimiento> findPaginaDespuesDe(@Param("numeroCuenta") String numeroCuenta,
+            @Param("inicio") Date inicio, @Param("finExclusivo") Date finExclusivo,
+            @Param("fecha") Date fecha, @Param("id") Long id, Limit limite);
+
+    /**
+     * Obtiene un tramo de identificadores de movimientos de la cuenta, leídos del
+     * índice por cuenta sin cargar los movimientos.
+     */
+    @Query("select m.id from Movimiento m where m.cuenta.numeroCuenta = :numeroCuenta")
+    List<Long> findIdsByNumeroCuenta(@Param("numeroCuenta") String numeroCuenta, Limit limite);
+
+    @Modifying
+    @Query("delete from Movimiento m where m.id in :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
 }
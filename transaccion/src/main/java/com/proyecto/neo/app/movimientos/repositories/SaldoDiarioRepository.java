@@ -0,0 +1,72 @@
+package com.proyecto.neo.app.movimientos.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.proyecto.neo.app.movimientos.entities.SaldoDiario;
+
+public interface SaldoDiarioRepository extends CrudRepository<SaldoDiario, SaldoDiario.Clave> {
+
+     /**
+      * Suma al resumen del día los movimientos indicados, creándolo si es el
+      * primero del día. El saldo de cierre pasa a ser el del último movimiento.
+      *
+      * @return el número de filas afectadas.
+      */
+     @Modifying
+     @Query(value = "insert into saldos_diarios (numero_cuenta, fecha, saldo_cierre, total_debitos, total_creditos, "
+               + "cantidad_movimientos) values (:numeroCuenta, :fecha, :saldoCierre, :debitos, :creditos, :cantidad) "
+               + "on duplicate key update saldo_cierre = :saldoCierre, total_debitos = total_debitos + :debitos, "
+               + "total_creditos = total_creditos + :creditos, cantidad_movimientos = cantidad_movimientos + :cantidad",
+               nativeQuery = true)
+     int acumular(@Param("numeroCuenta") String numeroCuenta, @Param("fecha") LocalDate fecha,
+               @Param("saldoCierre") BigDecimal saldoCierre, @Param("debitos") BigDecimal debitos,
+               @Param("creditos") BigDecimal creditos, @Param("cantidad") long cantidad);
+
+     /**
+      * Obtiene, para las cuentas de un cliente, los resúmenes diarios del periodo
+      * más el último anterior y el primero posterior, que bastan para conocer los
+      * saldos de apertura y cierre aunque el periodo no tenga movimientos.
+      */
+     @Query("select s from SaldoDiario s "
+               + "where s.numeroCuenta in (select c.numeroCuenta from Cuenta c where c.clienteId = :clienteId) "
+               + "and (s.fecha between :desde and :hasta "
+               + "or s.fecha = (select max(a.fecha) from SaldoDiario a where a.numeroCuenta = s.numeroCuenta and a.fecha < :desde) "
+               + "or s.fecha = (select min(p.fecha) from SaldoDiario p where p.numeroCuenta = s.numeroCuenta and p.fecha > :hasta)) "
+               + "order by s.numeroCuenta, s.fecha")
+     List<SaldoDiario> findParaReporte(@Param("clienteId") Long clienteId, @Param("desde") LocalDate desde,
+               @Param("hasta") LocalDate hasta);
+
+     @Modifying
+     @Query("delete from SaldoDiario s where s.fecha >= :desde and s.fecha < :hasta")
+     int deleteByFechaEntre(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+     /**
+      * Reconstruye desde los movimientos los resúmenes de los días del rango. El
+      * saldo de cierre de cada día es el del último movimiento del día.
+      *
+      * @return el número de resúmenes creados.
+      */
+     @Modifying
+     @Query(value = "insert into saldos_diarios (numero_cuenta, fecha, saldo_cierre, total_debitos, total_creditos, "
+               + "cantidad_movimientos) "
+               + "select m.numero_cuenta, cast(m.fecha as date), "
+               + "(select u.saldo from movimientos u where u.numero_cuenta = m.numero_cuenta "
+               + "and cast(u.fecha as date) = cast(m.fecha as date) "
+               + "order by u.fecha desc, u.id desc limit 1), "
+               + "sum(case when m.valor < 0 then -m.valor else 0 end), "
+               + "sum(case when m.valor > 0 then m.valor else 0 end), count(*) "
+               + "from movimientos m where m.fecha >= :desde and m.fecha < :hasta "
+               + "group by m.numero_cuenta, cast(m.fecha as date)", nativeQuery = true)
+     int reconstruir(@Param("desde") Date desde, @Param("hasta") Date hasta);
+
+     @Query("select min(m.fecha) from Movimiento m")
+     Date findPrimeraFechaMovimiento();
+}
@@ -0,0 +1,9 @@
+package com.proyecto.neo.app.movimientos.repositories;
+
+import org.springframework.data.repository.CrudRepository;
+
+import com.proyecto.neo.app.movimientos.entities.Sincronizacion;
+
+public interface SincronizacionRepository extends CrudRepository<Sincronizacion, String> {
+
+}
@@ -0,0 +1,121 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.proyecto.neo.app.movimientos.dto.ClienteDto;
+import com.proyecto.neo.app.movimientos.dto.EstadisticasCacheDto;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Caché en memoria de los clientes del microservicio de clientes.
+ * <p>
+ * Un cliente con más antigüedad que el TTL se sigue entregando mientras se
+ * vuelve a consultar en segundo plano; si esa consulta falla se conserva el
+ * valor anterior hasta que cumple la antigüedad máxima. Las consultas
+ * simultáneas por un mismo cliente ausente esperan una única llamada.
+ */
+@Component
+public class ClienteCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteCache.class);
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${movimientos.clientes.cache.tamanio-maximo:10000}")
+    private long tamanioMaximo;
+
+    @Value("${movimientos.clientes.cache.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${movimientos.clientes.cache.maximo-obsoleto:1h}")
+    private Duration maximoObsoleto;
+
+    // Reemplazables en pruebas para controlar el tiempo y las recargas
+    private Ticker ticker = Ticker.systemTicker();
+    private Executor ejecutor = ForkJoinPool.commonPool();
+
+    private LoadingCache<Long, ClienteDto> clientes;
+
+    @PostConstruct
+    public void iniciar() {
+        clientes = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .refreshAfterWrite(ttl)
+                .expireAfterWrite(maximoObsoleto)
+                .ticker(ticker)
+                .executor(ejecutor)
+                .recordStats()
+                .build(this::consultar);
+    }
+
+    /**
+     * Obtiene un cliente, de la caché si es posible.
+     *
+     * @param clienteId el identificador del cliente.
+     * @return el cliente encontrado.
+     * @throws RuntimeException si el cliente no existe o no se pudo consultar y
+     *                          no hay una copia en caché.
+     */
+    public ClienteDto obtener(Long clienteId) {
+        ClienteDto cliente = clientes.get(clienteId);
+        if (cliente == null) {
+            throw new RuntimeException("Cliente no encontrado");
+        }
+        return cliente;
+    }
+
+    /**
+     * Descarta la copia de un cliente, para que la siguiente consulta vaya al
+     * microservicio de clientes.
+     *
+     * @param clienteId el identificador del cliente.
+     */
+    public void invalidar(Long clienteId) {
+        clientes.invalidate(clienteId);
+    }
+
+    public EstadisticasCacheDto estadisticas() {
+        CacheStats stats = clientes.stats();
+        EstadisticasCacheDto estadisticas = new EstadisticasCacheDto();
+        estadisticas.setTamanio(clientes.estimatedSize());
+        estadisticas.setAciertos(stats.hitCount());
+        estadisticas.setFallos(stats.missCount());
+        estadisticas.setTasaAciertos(stats.hitRate());
+        estadisticas.setCargasExitosas(stats.loadSuccessCount());
+        estadisticas.setCargasFallidas(stats.loadFailureCount());
+        estadisticas.setTiempoPromedioCargaMs(stats.averageLoadPenalty() / 1_000_000.0);
+        estadisticas.setDesalojos(stats.evictionCount());
+        return estadisticas;
+    }
+
+    private ClienteDto consultar(Long clienteId) {
+        try {
+            ResponseEntity<ClienteDto> response = restTemplate.getForEntity("/api/clientes/{id}",
+                    ClienteDto.class, clienteId);
+            return response.getBody();
+        } catch (HttpClientErrorException.NotFound e) {
+            // Un cliente eliminado no se conserva como copia obsoleta
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("No se pudo consultar el cliente {}: {}", clienteId, e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.proyecto.neo.app.movimientos.dto.ClienteDto;
+import com.proyecto.neo.app.movimientos.entities.ClienteLocal;
+import com.proyecto.neo.app.movimientos.repositories.ClienteLocalRepository;
+
+/**
+ * Consulta los clientes en la proyección local. Solo si un cliente aún no está
+ * en ella, por ejemplo porque se creó hace instantes o la carga inicial no ha
+ * terminado, se recurre al microservicio de clientes a través de la caché.
+ */
+@Service
+public class ClienteLocalService {
+
+    @Autowired
+    private ClienteLocalRepository repository;
+
+    @Autowired
+    private ClienteCache clienteCache;
+
+    /**
+     * Obtiene un cliente.
+     *
+     * @param clienteId el identificador del cliente.
+     * @return el cliente, con su id, nombre y estado.
+     * @throws RuntimeException si el cliente no existe.
+     */
+    public ClienteDto obtener(Long clienteId) {
+        return repository.findById(clienteId)
+                .map(ClienteLocalService::aDto)
+                .orElseGet(() -> clienteCache.obtener(clienteId));
+    }
+
+    private static ClienteDto aDto(ClienteLocal local) {
+        ClienteDto cliente = new ClienteDto();
+        cliente.setId(local.getId());
+        cliente.setNombre(local.getNombre());
+        cliente.setEstado(local.getEstado());
+        return cliente;
+    }
+}
@@ -0,0 +1,187 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.proyecto.neo.app.movimientos.dto.EstadisticasCacheDto;
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Caché en memoria del estado de las cuentas, por número de cuenta.
+ * <p>
+ * Quien modifica una cuenta avisa a la caché dentro de su transacción, después
+ * de enviar la sentencia que bloquea la fila, y el nuevo estado se escribe en
+ * la caché recién al confirmarse; si la transacción se revierte, la copia se
+ * descarta. Como el bloqueo ordena las modificaciones de una misma cuenta, el
+ * último aviso es el de la última en confirmarse; si al terminar una
+ * transacción hay otra modificación de la cuenta pendiente o posterior, su
+ * estado puede no ser el último y la copia se descarta en lugar de escribirse,
+ * para que la siguiente lectura vaya a la base. Solo se ven los cambios hechos
+ * por esta instancia; uno hecho directamente en la base requiere invalidar la
+ * cuenta.
+ */
+@Component
+public class CuentaCache {
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${movimientos.cuentas.cache.tamanio-maximo:100000}")
+    private long tamanioMaximo;
+
+    @Value("${movimientos.cuentas.cache.inactividad:30m}")
+    private Duration inactividad;
+
+    private Cache<String, ResumenCuentaDto> cuentas;
+
+    // Modificaciones de cada cuenta cuyas transacciones todavía no terminaron, y el turno del último aviso
+    private final ConcurrentHashMap<String, Pendientes> pendientes = new ConcurrentHashMap<>();
+    private final AtomicLong turnos = new AtomicLong();
+
+    @PostConstruct
+    public void iniciar() {
+        cuentas = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterAccess(inactividad)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cuentas, "cuentas");
+    }
+
+    /**
+     * Obtiene el estado de una cuenta, de la caché si es posible. Si hay que ir
+     * a la base se lee del primario, aun dentro de una transacción de solo
+     * lectura, para no llenar la caché con datos atrasados de una réplica.
+     *
+     * @param numeroCuenta el número de cuenta.
+     * @return el estado de la cuenta, o vacío si no existe.
+     */
+    public Optional<ResumenCuentaDto> obtener(String numeroCuenta) {
+        return Optional.ofNullable(cuentas.get(numeroCuenta, this::consultar));
+    }
+
+    /**
+     * Escribe en la caché el estado de la cuenta al confirmarse la transacción
+     * actual, o de inmediato si no hay una.
+     *
+     * @param cuenta la cuenta ya modificada.
+     */
+    public void actualizar(Cuenta cuenta) {
+        ResumenCuentaDto resumen = new ResumenCuentaDto(cuenta.getNumeroCuenta(), cuenta.getTipoCuenta(),
+                cuenta.getSaldoInicial(), cuenta.getEstado(), cuenta.getClienteId());
+        alConfirmar(cuenta.getNumeroCuenta(), actual -> resumen);
+    }
+
+    /**
+     * Cambia solo el saldo de la copia en caché al confirmarse la transacción
+     * actual. Si la cuenta no está en caché no se agrega.
+     *
+     * @param numeroCuenta el número de cuenta.
+     * @param saldo        el saldo resultante.
+     */
+    public void actualizarSaldo(String numeroCuenta, Dinero saldo) {
+        alConfirmar(numeroCuenta, actual -> actual == null ? null
+                : new ResumenCuentaDto(numeroCuenta, actual.getTipoCuenta(), saldo, actual.getEstado(),
+                        actual.getClienteId()));
+    }
+
+    /**
+     * Descarta la copia de una cuenta al confirmarse la transacción actual, o
+     * de inmediato si no hay una.
+     *
+     * @param numeroCuenta el número de cuenta.
+     */
+    public void invalidar(String numeroCuenta) {
+        alConfirmar(numeroCuenta, actual -> null);
+    }
+
+    public EstadisticasCacheDto estadisticas() {
+        CacheStats stats = cuentas.stats();
+        EstadisticasCacheDto estadisticas = new EstadisticasCacheDto();
+        estadisticas.setTamanio(cuentas.estimatedSize());
+        estadisticas.setAciertos(stats.hitCount());
+        estadisticas.setFallos(stats.missCount());
+        estadisticas.setTasaAciertos(stats.hitRate());
+        estadisticas.setCargasExitosas(stats.loadSuccessCount());
+        estadisticas.setCargasFallidas(stats.loadFailureCount());
+        estadisticas.setTiempoPromedioCargaMs(stats.averageLoadPenalty() / 1_000_000.0);
+        estadisticas.setDesalojos(stats.evictionCount());
+        return estadisticas;
+    }
+
+    private ResumenCuentaDto consultar(String numeroCuenta) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        return transaccion.execute(estado -> cuentaRepository.findResumenByNumeroCuenta(numeroCuenta).orElse(null));
+    }
+
+    private void alConfirmar(String numeroCuenta, UnaryOperator<ResumenCuentaDto> cambio) {
+        long turno = turnos.incrementAndGet();
+        pendientes.compute(numeroCuenta, (clave, actuales) -> {
+            Pendientes registro = actuales != null ? actuales : new Pendientes();
+            registro.cantidad++;
+            registro.ultimoTurno = turno;
+            return registro;
+        });
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            terminar(numeroCuenta, turno, cambio, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                terminar(numeroCuenta, turno, cambio, estado == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void terminar(String numeroCuenta, long turno, UnaryOperator<ResumenCuentaDto> cambio,
+            boolean confirmada) {
+        // Bajo el mismo bloqueo que registra los avisos, para que otro no llegue en el medio
+        pendientes.compute(numeroCuenta, (clave, registro) -> {
+            if (confirmada && registro.cantidad == 1 && registro.ultimoTurno == turno) {
+                // compute espera a una carga en curso de la misma cuenta y la reemplaza
+                cuentas.asMap().compute(clave, (k, actual) -> cambio.apply(actual));
+            } else {
+                cuentas.invalidate(clave);
+            }
+            registro.cantidad--;
+            return registro.cantidad == 0 ? null : registro;
+        });
+    }
+
+    private static class Pendientes {
+        int cantidad;
+        long ultimoTurno;
+    }
+}
@@ -1,10 +1,12 @@
 package com.proyecto.neo.app.movimientos.services;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
 import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
 
 public interface CuentaService {
 
@@ -12,9 +14,23 @@ public interface CuentaService {
      * Obtiene una lista de todas las cuentas.
      * 
      * @return una lista de todas las cuentas.
+     * @deprecated devuelve la tabla completa; usar {@link #findPage}.
      */
+    @Deprecated
     List<Cuenta> findAll();
 
+    /**
+     * Obtiene una página de cuentas ordenadas por número de cuenta, buscada por
+     * clave a partir de la página anterior. Las cuentas no incluyen sus
+     * movimientos.
+     * 
+     * @param tamanio      el número máximo de cuentas de la página.
+     * @param continuacion el token devuelto por la página anterior, o null para
+     *                     la primera.
+     * @return la página de cuentas con el token de la siguiente.
+     */
+    PaginaDto<ResumenCuentaDto> findPage(int tamanio, String continuacion);
+
      /**
      * Obtiene una cuenta por su número de cuenta único.
      * 
@@ -25,10 +41,22 @@ public interface CuentaService {
     Optional<Cuenta> findByNumeroCuenta(String numeroCuenta);
 
     /**
-     * Guarda una nueva cuenta o actualiza una existente.
+     * Obtiene el estado y el saldo de una cuenta, sin sus movimientos, desde la
+     * caché de cuentas.
      * 
-     * @param cuenta la entidad cuenta a guardar o actualizar.
-     * @return la entidad cuenta guardada o actualizada.
+     * @param numeroCuenta el número de cuenta único.
+     * @return un Optional que contiene el resumen de la cuenta si se encuentra, o
+     *         vacío si no se encuentra.
+     */
+    Optional<ResumenCuentaDto> findResumenByNumeroCuenta(String numeroCuenta);
+
+    /**
+     * Guarda una nueva cuenta. Una cuenta existente se modifica con update.
+     * 
+     * @param cuenta la entidad cuenta a guardar.
+     * @return la entidad cuenta guardada.
+     * @throws com.proyecto.neo.app.movimientos.exceptions.CuentaExistenteException
+     *         si ya existe una cuenta con ese número.
      */
     Cuenta save(Cuenta cuenta);
 
@@ -38,10 +66,12 @@ public interface CuentaService {
      * @param clienteId    el identificador único del cliente asociado a la cuenta.
      * @param tipoCuenta   el tipo de cuenta a crear.
      * @param saldoInicial el saldo inicial de la cuenta.
-     * @param numeroCuenta el número de cuenta.
+     * @param numeroCuenta el número de cuenta; si se omite se genera uno.
      * @return la entidad cuenta creada.
+     * @throws com.proyecto.neo.app.movimientos.exceptions.CuentaExistenteException
+     *         si ya existe una cuenta con ese número.
      */
-    Cuenta create(Long clienteId, String tipoCuenta, BigDecimal saldoInicial, String numeroCuenta);
+    Cuenta create(Long clienteId, String tipoCuenta, Dinero saldoInicial, String numeroCuenta);
 
 
     /**
@@ -71,6 +101,14 @@ public interface CuentaService {
      */
     List<Cuenta> findByClienteId(Long clienteId);
 
+    /**
+     * Indica si el cliente tiene alguna cuenta, sin cargarlas.
+     * 
+     * @param clienteId el identificador del cliente.
+     * @return true si el cliente tiene al menos una cuenta.
+     */
+    boolean existsByClienteId(Long clienteId);
+
     /**
      * 
      * @param clienteId
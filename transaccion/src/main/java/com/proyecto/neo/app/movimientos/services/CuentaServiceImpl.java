@@ -1,27 +1,42 @@
 package com.proyecto.neo.app.movimientos.services;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
-import java.security.SecureRandom;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import com.proyecto.neo.app.movimientos.dto.ClienteDto;
+import com.proyecto.neo.app.comun.Continuacion;
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
 import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.exceptions.CuentaExistenteException;
 import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
 
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class CuentaServiceImpl implements CuentaService {
 
     @Autowired
-    private RestTemplate restTemplate;
+    private ClienteLocalService clienteLocalService;
     @Autowired
     private CuentaRepository repository;
+    @Autowired
+    private NumeroCuentaGenerador numeroCuentaGenerador;
+    @Autowired
+    private EliminacionClienteService eliminacionClienteService;
+    @Autowired
+    private CuentaCache cuentaCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional(readOnly = true)
     @Override
@@ -29,43 +44,54 @@ public class CuentaServiceImpl implements CuentaService {
         return (List<Cuenta>) repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public PaginaDto<ResumenCuentaDto> findPage(int tamanio, String continuacion) {
+        Continuacion.tamanioValido(tamanio);
+        String desde = continuacion != null ? Continuacion.decodificar(continuacion, 1)[0] : "";
+
+        List<ResumenCuentaDto> cuentas = repository.findResumenesDespuesDe(desde, Limit.of(tamanio + 1));
+        return Continuacion.pagina(cuentas, tamanio, cuenta -> new String[] { cuenta.getNumeroCuenta() });
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Cuenta> findByNumeroCuenta(String numeroCuenta) {
         return repository.findByNumeroCuenta(numeroCuenta);
     }
 
+    // Sin transacción: si la cuenta está en caché no hace falta una conexión
+    @Override
+    public Optional<ResumenCuentaDto> findResumenByNumeroCuenta(String numeroCuenta) {
+        return cuentaCache.obtener(numeroCuenta);
+    }
+
     @Override
     @Transactional
     public Cuenta save(Cuenta cuenta) {
-        return repository.save(cuenta);
+        return insertar(cuenta);
     }
 
     @Override
-    public Cuenta create(Long clienteId, String tipoCuenta, BigDecimal saldoInicial, String numeroCuenta) {
-        // Consultar el microservicio de Clientes
-        ResponseEntity<ClienteDto> response = restTemplate.getForEntity(
-            "http://localhost:8080/api/clientes/" + clienteId, ClienteDto.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                
-                // Crear y guardar la cuenta en la base de datos
-                Cuenta cuenta = new Cuenta();
-
-                if(numeroCuenta != null && !numeroCuenta.isEmpty()){
-                    cuenta.setNumeroCuenta(numeroCuenta);
-                }else{
-                    cuenta.setNumeroCuenta(generarNumeroCuentaUnico());
-                }
-                cuenta.setTipoCuenta(tipoCuenta);
-                cuenta.setSaldoInicial(saldoInicial);
-                cuenta.setEstado(Boolean.TRUE);
-                cuenta.setClienteId(clienteId); 
-                
-                return repository.save(cuenta);
-            } else {
-                throw new RuntimeException("Cliente no encontrado o error en la comunicación");
-            }
+    @Transactional
+    public Cuenta create(Long clienteId, String tipoCuenta, Dinero saldoInicial, String numeroCuenta) {
+        // Consultar el cliente en la proyección local; falla si el cliente no existe
+        clienteLocalService.obtener(clienteId);
+
+        // Crear y guardar la cuenta en la base de datos
+        Cuenta cuenta = new Cuenta();
+
+        if(numeroCuenta != null && !numeroCuenta.isEmpty()){
+            cuenta.setNumeroCuenta(numeroCuenta);
+        }else{
+            cuenta.setNumeroCuenta(numeroCuentaGenerador.siguiente());
+        }
+        cuenta.setTipoCuenta(tipoCuenta);
+        cuenta.setSaldoInicial(saldoInicial);
+        cuenta.setEstado(Boolean.TRUE);
+        cuenta.setClienteId(clienteId); 
+
+        return insertar(cuenta);
     }
 
     @Override
@@ -79,7 +105,7 @@ public class CuentaServiceImpl implements CuentaService {
             cuentaDb.setSaldoInicial(cuenta.getSaldoInicial());
             cuentaDb.setEstado(cuenta.getEstado());
 
-            return Optional.of(repository.save(cuentaDb));
+            return Optional.of(guardar(cuentaDb));
 
         }
         return cuentaOptional;
@@ -91,6 +117,8 @@ public class CuentaServiceImpl implements CuentaService {
         Optional<Cuenta> cuentaOptional = repository.findByNumeroCuenta(id);
         cuentaOptional.ifPresent(cuentaDb -> {
             repository.delete(cuentaDb);
+            entityManager.flush();
+            cuentaCache.invalidar(id);
         });
         return cuentaOptional;
     }
@@ -101,23 +129,42 @@ public class CuentaServiceImpl implements CuentaService {
         return repository.findByClienteId(clienteId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public void deleteByClienteId(Long clienteId) {
-        List<Cuenta> cuentas = repository.findByClienteId(clienteId);
-        cuentas.forEach(cuenta -> repository.delete(cuenta));
+    public boolean existsByClienteId(Long clienteId) {
+        return repository.existsByClienteId(clienteId);
     }
 
+    // La caché se avisa después de enviar la sentencia, que es la que bloquea la fila
+    private Cuenta guardar(Cuenta cuenta) {
+        Cuenta guardada = repository.save(cuenta);
+        entityManager.flush();
+        cuentaCache.actualizar(guardada);
+        return guardada;
+    }
 
-    private String generarNumeroCuentaUnico() {
-        SecureRandom random = new SecureRandom();
-        StringBuilder numeroCuenta = new StringBuilder(6);
-    
-        for (int i = 0; i < 6; i++) {
-            numeroCuenta.append(random.nextInt(10)); // Genera un dígito del 0 al 9
+    // persist y no save(): sobre un número existente save() reemplazaría esa cuenta. Es la clave
+    // primaria la que decide entre dos altas simultáneas con el mismo número
+    private Cuenta insertar(Cuenta cuenta) {
+        try {
+            entityManager.persist(cuenta);
+            entityManager.flush();
+        } catch (EntityExistsException e) {
+            throw new CuentaExistenteException("Ya existe una cuenta con el número " + cuenta.getNumeroCuenta());
+        } catch (ConstraintViolationException e) {
+            if (e.getKind() != ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw e;
+            }
+            throw new CuentaExistenteException("Ya existe una cuenta con el número " + cuenta.getNumeroCuenta());
         }
-    
-        return numeroCuenta.toString();
+        cuentaCache.actualizar(cuenta);
+        return cuenta;
+    }
+
+    // Sin transacción propia: la eliminación confirma cada tramo por separado
+    @Override
+    public void deleteByClienteId(Long clienteId) {
+        eliminacionClienteService.ejecutar(clienteId);
     }
 
 }
@@ -0,0 +1,204 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.neo.app.movimientos.entities.EliminacionCliente;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.EliminacionClienteRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Elimina las cuentas de un cliente y sus movimientos en segundo plano, con
+ * sentencias por conjuntos y sin cargar entidades. Los movimientos se eliminan
+ * por tramos, cada uno en su propia transacción, para no retener bloqueos ni
+ * llenar el registro de deshacer con clientes de años de historia.
+ * <p>
+ * El avance se guarda en {@link EliminacionCliente} tras cada tramo. Como cada
+ * paso elimina lo que queda, una eliminación interrumpida se retoma simplemente
+ * volviendo a ejecutarla, y las que quedaron en curso se retoman al iniciar. Los
+ * contadores cuentan lo eliminado desde que empezó la eliminación, incluidas
+ * las ejecuciones interrumpidas; una nueva eliminación tras una completada
+ * empieza de cero.
+ */
+@Service
+public class EliminacionClienteService {
+
+    private static final Logger log = LoggerFactory.getLogger(EliminacionClienteService.class);
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private CuentaCache cuentaCache;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Autowired
+    private EliminacionClienteRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${movimientos.eliminacion.tamanio-tramo:1000}")
+    private int tamanioTramo;
+
+    // Eliminaciones en curso en esta instancia, para no lanzar dos veces la misma
+    private final Map<Long, CompletableFuture<EliminacionCliente>> enCurso = new HashMap<>();
+
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "eliminacion-clientes");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Lanza en segundo plano la eliminación de las cuentas del cliente, o se une
+     * a la que ya esté en curso, y espera a que termine hasta el tiempo
+     * indicado.
+     *
+     * @param clienteId el identificador del cliente.
+     * @param espera    el tiempo máximo a esperar la finalización.
+     * @return el avance de la eliminación al terminar la espera.
+     */
+    public EliminacionCliente iniciar(Long clienteId, Duration espera) {
+        CompletableFuture<EliminacionCliente> eliminacion;
+        synchronized (enCurso) {
+            eliminacion = enCurso.get(clienteId);
+            if (eliminacion == null) {
+                registrarInicio(clienteId);
+                eliminacion = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return ejecutar(clienteId);
+                    } finally {
+                        synchronized (enCurso) {
+                            enCurso.remove(clienteId);
+                        }
+                    }
+                }, ejecutor);
+                enCurso.put(clienteId, eliminacion);
+            }
+        }
+        try {
+            return eliminacion.get(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException e) {
+            // Sigue en curso: se informa el avance registrado hasta ahora
+        }
+        return consultar(clienteId).orElseThrow();
+    }
+
+    public Optional<EliminacionCliente> consultar(Long clienteId) {
+        return repository.findById(clienteId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarPendientes() {
+        for (EliminacionCliente pendiente : repository.findByEstado(EliminacionCliente.EN_CURSO)) {
+            log.info("Retomando la eliminación de las cuentas del cliente {}", pendiente.getClienteId());
+            iniciar(pendiente.getClienteId(), Duration.ZERO);
+        }
+    }
+
+    /**
+     * Elimina en el hilo actual las cuentas del cliente y sus movimientos,
+     * registrando el avance tras cada tramo.
+     *
+     * @param clienteId el identificador del cliente.
+     * @return el avance final de la eliminación.
+     */
+    public EliminacionCliente ejecutar(Long clienteId) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        try {
+            for (String numeroCuenta : cuentaRepository.findNumerosCuentaByClienteId(clienteId)) {
+                int eliminados;
+                do {
+                    eliminados = transaccion.execute(estado -> {
+                        List<Long> ids = movimientoRepository.findIdsByNumeroCuenta(numeroCuenta,
+                                Limit.of(tamanioTramo));
+                        int filas = ids.isEmpty() ? 0 : movimientoRepository.eliminarPorIds(ids);
+                        avanzar(clienteId, 0, filas);
+                        return filas;
+                    });
+                } while (eliminados > 0);
+
+                transaccion.executeWithoutResult(estado -> {
+                    avanzar(clienteId, cuentaRepository.eliminar(numeroCuenta), 0);
+                    cuentaCache.invalidar(numeroCuenta);
+                });
+            }
+            return transaccion.execute(estado -> finalizar(clienteId, EliminacionCliente.COMPLETADA, null));
+        } catch (RuntimeException e) {
+            log.warn("Falló la eliminación de las cuentas del cliente {}", clienteId, e);
+            String mensaje = String.valueOf(e.getMessage());
+            return transaccion.execute(estado -> finalizar(clienteId, EliminacionCliente.FALLIDA,
+                    mensaje.length() > 1000 ? mensaje.substring(0, 1000) : mensaje));
+        }
+    }
+
+    private void registrarInicio(Long clienteId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            EliminacionCliente eliminacion = repository.findById(clienteId).orElseGet(() -> {
+                EliminacionCliente nueva = new EliminacionCliente();
+                nueva.setClienteId(clienteId);
+                return nueva;
+            });
+            // Una interrumpida o fallida se retoma y sus contadores siguen sumando lo ya eliminado; tras
+            // una completada, las cuentas que quedan son nuevas y la eliminación empieza de cero
+            if (eliminacion.getEstado() == null || EliminacionCliente.COMPLETADA.equals(eliminacion.getEstado())) {
+                eliminacion.setInicio(Instant.now());
+                eliminacion.setCuentasEliminadas(0);
+                eliminacion.setMovimientosEliminados(0);
+            }
+            eliminacion.setEstado(EliminacionCliente.EN_CURSO);
+            eliminacion.setError(null);
+            eliminacion.setActualizacion(Instant.now());
+            repository.save(eliminacion);
+        });
+    }
+
+    private void avanzar(Long clienteId, int cuentas, int movimientos) {
+        EliminacionCliente eliminacion = repository.findById(clienteId).orElseThrow();
+        eliminacion.setCuentasEliminadas(eliminacion.getCuentasEliminadas() + cuentas);
+        eliminacion.setMovimientosEliminados(eliminacion.getMovimientosEliminados() + movimientos);
+        eliminacion.setActualizacion(Instant.now());
+    }
+
+    private EliminacionCliente finalizar(Long clienteId, String estado, String error) {
+        EliminacionCliente eliminacion = repository.findById(clienteId).orElseThrow();
+        eliminacion.setEstado(estado);
+        eliminacion.setError(error);
+        eliminacion.setActualizacion(Instant.now());
+        return eliminacion;
+    }
+}
@@ -0,0 +1,153 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.proyecto.neo.app.movimientos.dto.ResultadoMovimientoDto;
+import com.proyecto.neo.app.movimientos.dto.SolicitudMovimientoDto;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Motor opcional de registro de movimientos con un único escritor por cuenta.
+ * Cada movimiento se encola en la partición que corresponde a su número de
+ * cuenta; el hilo escritor de la partición toma una ráfaga de la cola, la
+ * registra en una sola transacción y completa los futuros de quienes esperan.
+ */
+@Component
+@ConditionalOnProperty(name = "movimientos.pipeline.habilitado", havingValue = "true")
+public class MovimientoPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(MovimientoPipeline.class);
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Value("${movimientos.pipeline.particiones:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int particiones;
+
+    @Value("${movimientos.pipeline.tamanio-lote:200}")
+    private int tamanioLote;
+
+    @Value("${movimientos.pipeline.capacidad-cola:10000}")
+    private int capacidadCola;
+
+    private final List<BlockingQueue<Pendiente>> colas = new ArrayList<>();
+    private final List<Thread> escritores = new ArrayList<>();
+    private volatile boolean activo;
+
+    @PostConstruct
+    public void iniciar() {
+        activo = true;
+        for (int i = 0; i < particiones; i++) {
+            BlockingQueue<Pendiente> cola = new ArrayBlockingQueue<>(capacidadCola);
+            Thread escritor = new Thread(() -> escribir(cola), "movimientos-escritor-" + i);
+            escritor.setDaemon(true);
+            colas.add(cola);
+            escritores.add(escritor);
+            escritor.start();
+        }
+        log.info("Pipeline de movimientos iniciado con {} particiones y lotes de hasta {}", particiones, tamanioLote);
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        // Los escritores vacían lo que quede en sus colas antes de terminar
+        activo = false;
+        for (Thread escritor : escritores) {
+            escritor.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * Encola un movimiento en la partición de su cuenta.
+     *
+     * @param numeroCuenta   el número de cuenta del movimiento.
+     * @param tipoMovimiento el tipo de movimiento.
+     * @param valor          el valor del movimiento.
+     * @return un futuro que se completa con el movimiento registrado, o con
+     *         SaldoInsuficienteException si el saldo no alcanza.
+     */
+    public CompletableFuture<Movimiento> submit(String numeroCuenta, String tipoMovimiento, Dinero valor) {
+        SolicitudMovimientoDto solicitud = new SolicitudMovimientoDto();
+        solicitud.setNumeroCuenta(numeroCuenta);
+        solicitud.setTipoMovimiento(tipoMovimiento);
+        solicitud.setValor(valor);
+
+        Pendiente pendiente = new Pendiente(solicitud, new CompletableFuture<>());
+        if (!activo || !colas.get(Math.floorMod(numeroCuenta.hashCode(), colas.size())).offer(pendiente)) {
+            pendiente.futuro.completeExceptionally(
+                    new RejectedExecutionException("El registro de movimientos está saturado"));
+        }
+        return pendiente.futuro;
+    }
+
+    private void escribir(BlockingQueue<Pendiente> cola) {
+        List<Pendiente> lote = new ArrayList<>(tamanioLote);
+        while (activo || !cola.isEmpty()) {
+            try {
+                Pendiente primero = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, tamanioLote - 1);
+                registrar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void registrar(List<Pendiente> lote) {
+        List<SolicitudMovimientoDto> solicitudes = new ArrayList<>(lote.size());
+        lote.forEach(pendiente -> solicitudes.add(pendiente.solicitud));
+
+        List<ResultadoMovimientoDto> resultados;
+        try {
+            resultados = movimientoService.registerMovements(solicitudes);
+        } catch (RuntimeException e) {
+            log.error("Error al registrar un lote de {} movimientos", lote.size(), e);
+            lote.forEach(pendiente -> pendiente.futuro.completeExceptionally(e));
+            return;
+        }
+
+        // Los futuros se completan solo cuando la transacción del lote ya se confirmó
+        for (int i = 0; i < lote.size(); i++) {
+            ResultadoMovimientoDto resultado = resultados.get(i);
+            if (resultado.isExito()) {
+                lote.get(i).futuro.complete(resultado.getMovimiento());
+            } else {
+                lote.get(i).futuro.completeExceptionally(resultado.getExcepcion());
+            }
+        }
+    }
+
+    private static class Pendiente {
+        private final SolicitudMovimientoDto solicitud;
+        private final CompletableFuture<Movimiento> futuro;
+
+        private Pendiente(SolicitudMovimientoDto solicitud, CompletableFuture<Movimiento> futuro) {
+            this.solicitud = solicitud;
+            this.futuro = futuro;
+        }
+    }
+}
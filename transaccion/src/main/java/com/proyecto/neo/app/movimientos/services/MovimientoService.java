@@ -1,9 +1,13 @@
 package com.proyecto.neo.app.movimientos.services;
 
-import java.math.BigDecimal;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ResultadoMovimientoDto;
+import com.proyecto.neo.app.movimientos.dto.SolicitudMovimientoDto;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
 import com.proyecto.neo.app.movimientos.entities.Movimiento;
 
 public interface MovimientoService {
@@ -12,9 +16,27 @@ public interface MovimientoService {
      * Obtiene una lista de todos los movimientos.
      * 
      * @return una lista de todos los movimientos.
+     * @deprecated devuelve la tabla completa; usar {@link #findPage}.
      */
+    @Deprecated
     List<Movimiento> findAll();
 
+    /**
+     * Obtiene una página de los movimientos de una cuenta en un rango de fechas,
+     * ordenados por fecha. Cada página se busca por clave a partir de la anterior,
+     * así que cuesta lo mismo sin importar su profundidad.
+     * 
+     * @param numeroCuenta el número de cuenta.
+     * @param fechaInicio  el primer día del rango.
+     * @param fechaFin     el último día del rango, que entra completo.
+     * @param tamanio      el número máximo de movimientos de la página.
+     * @param continuacion el token devuelto por la página anterior, o null para
+     *                     la primera.
+     * @return la página de movimientos con el token de la siguiente.
+     */
+    PaginaDto<Movimiento> findPage(String numeroCuenta, Date fechaInicio, Date fechaFin, int tamanio,
+            String continuacion);
+
     /**
      * Obtiene un movimiento por su identificador único.
      * 
@@ -35,7 +57,30 @@ public interface MovimientoService {
      * @param valorDecimal   el valor del movimiento.
      * @return la entidad movimiento registrada.
      */
-    Movimiento registerMovement(String numeroCuenta, String tipoMovimiento, BigDecimal valorDecimal);
+    Movimiento registerMovement(String numeroCuenta, String tipoMovimiento, Dinero valorDecimal);
+
+    /**
+     * Registra un nuevo movimiento aplicando el saldo con una única actualización
+     * condicional en la base de datos, sin leer ni modificar la entidad cuenta.
+     * 
+     * @param numeroCuenta   el número de cuenta en la que se realizará el
+     *                       movimiento.
+     * @param tipoMovimiento el tipo de movimiento (por ejemplo, "depósito" o
+     *                       "retiro").
+     * @param valorDecimal   el valor del movimiento.
+     * @return la entidad movimiento registrada con el saldo resultante.
+     */
+    Movimiento registerMovementAtomic(String numeroCuenta, String tipoMovimiento, Dinero valorDecimal);
+
+    /**
+     * Registra un lote de movimientos sobre varias cuentas en una sola
+     * transacción. Los movimientos de cada cuenta se aplican en orden de llegada
+     * con la misma regla de saldo insuficiente que registerMovement.
+     * 
+     * @param solicitudes los movimientos a registrar.
+     * @return un resultado por cada solicitud, en el mismo orden recibido.
+     */
+    List<ResultadoMovimientoDto> registerMovements(List<SolicitudMovimientoDto> solicitudes);
 
     /**
      * Guarda un nuevo movimiento o actualiza uno existente.
@@ -1,68 +1,268 @@
 package com.proyecto.neo.app.movimientos.services;
 
-import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.proyecto.neo.app.comun.Continuacion;
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ResultadoMovimientoDto;
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
+import com.proyecto.neo.app.movimientos.dto.SolicitudMovimientoDto;
 import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
 import com.proyecto.neo.app.movimientos.entities.Movimiento;
 import com.proyecto.neo.app.movimientos.exceptions.SaldoInsuficienteException;
 import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
 import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class MovimientoServiceImpl implements MovimientoService {
+
+    // Debe coincidir con hibernate.jdbc.batch_size para que cada flush envíe lotes completos
+    private static final int TAMANIO_LOTE = 50;
+
+    // Límite de cuentas por consulta de bloqueo, para no generar listas IN enormes
+    private static final int CUENTAS_POR_CONSULTA = 1000;
+
     @Autowired
     private MovimientoRepository repository;
 
     @Autowired
     private CuentaRepository cuentaRepository;
 
+    @Autowired
+    private SaldoDiarioService saldoDiarioService;
+
+    @Autowired
+    private CuentaCache cuentaCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Si está activo, registerMovement aplica el saldo con una actualización condicional en la base
+    @Value("${movimientos.registro.atomico:false}")
+    private boolean registroAtomico;
+
     @Transactional(readOnly = true)
     @Override
     public List<Movimiento> findAll() {
         return (List<Movimiento>) repository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDto<Movimiento> findPage(String numeroCuenta, Date fechaInicio, Date fechaFin, int tamanio,
+            String continuacion) {
+        Continuacion.tamanioValido(tamanio);
+
+        // Días completos, igual que el reporte: el último día entra entero
+        Date inicio = SaldoDiarioService.inicioDelDia(SaldoDiarioService.dia(fechaInicio));
+        Date finExclusivo = SaldoDiarioService.inicioDelDia(SaldoDiarioService.dia(fechaFin).plusDays(1));
+
+        // La primera página empieza antes de cualquier movimiento del rango
+        Date fecha = inicio;
+        Long id = Long.MIN_VALUE;
+        if (continuacion != null) {
+            String[] claves = Continuacion.decodificar(continuacion, 2);
+            try {
+                fecha = Timestamp.from(Instant.parse(claves[0]));
+                id = Long.valueOf(claves[1]);
+            } catch (DateTimeException | NumberFormatException e) {
+                throw new IllegalArgumentException("Token de continuación inválido", e);
+            }
+        }
+
+        List<Movimiento> movimientos = repository.findPaginaDespuesDe(numeroCuenta, inicio, finExclusivo, fecha, id,
+                Limit.of(tamanio + 1));
+        return Continuacion.pagina(movimientos, tamanio, movimiento -> new String[] {
+                movimiento.getFecha().toInstant().toString(), movimiento.getId().toString() });
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Movimiento> findById(Long id) {
         return repository.findById(id);
     }
 
+    /**
+     * Registra un movimiento y lo mide en la métrica movimientos.registro,
+     * etiquetada con el resultado. Cada paso se mide aparte en
+     * movimientos.registro.fase: la búsqueda de la cuenta, la actualización del
+     * saldo, la inserción del movimiento y el resumen diario; en el modo no
+     * atómico se vacía el contexto tras cada paso para que su sentencia caiga
+     * en la fase que le corresponde.
+     */
     @Override
     @Transactional
-    public Movimiento registerMovement(String numeroCuenta, String tipoMovimiento, BigDecimal valor) {
-        Cuenta cuenta = cuentaRepository.findByNumeroCuenta(numeroCuenta)
+    public Movimiento registerMovement(String numeroCuenta, String tipoMovimiento, Dinero valor) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        String resultado = "error";
+        try {
+            Movimiento movimiento = registroAtomico
+                    ? registerMovementAtomic(numeroCuenta, tipoMovimiento, valor)
+                    : registrarConLectura(numeroCuenta, valor);
+            resultado = "exitoso";
+            return movimiento;
+        } catch (SaldoInsuficienteException e) {
+            resultado = "saldo_insuficiente";
+            throw e;
+        } finally {
+            muestra.stop(Timer.builder("movimientos.registro")
+                    .description("Registro de un movimiento individual")
+                    .tag("modo", registroAtomico ? "atomico" : "lectura")
+                    .tag("resultado", resultado)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Movimiento registrarConLectura(String numeroCuenta, Dinero valor) {
+        Cuenta cuenta = medirFase("busqueda", () -> cuentaRepository.findByNumeroCuenta(numeroCuenta))
                 .orElseThrow(() -> new RuntimeException("Cuenta no encontrada"));
+        verificarActiva(cuenta.getEstado());
 
-        BigDecimal nuevoSaldo = cuenta.getSaldoInicial().add(valor);
-        if (nuevoSaldo.compareTo(BigDecimal.ZERO) < 0) {
+        Dinero nuevoSaldo = cuenta.getSaldoInicial().sumar(valor);
+        if (nuevoSaldo.esNegativo()) {
+            contarSaldoInsuficiente("individual");
             throw new SaldoInsuficienteException("Saldo no disponible");
         }
 
-        BigDecimal valorPositivo = valor.abs();
+        medirFase("actualizacion", () -> {
+            cuenta.setSaldoInicial(nuevoSaldo);
+            cuentaRepository.save(cuenta);
+            entityManager.flush();
+            return null;
+        });
+        cuentaCache.actualizar(cuenta);
 
-        cuenta.setSaldoInicial(nuevoSaldo);
-        cuentaRepository.save(cuenta);
+        Movimiento movimiento = medirFase("insercion", () -> {
+            Movimiento guardado = repository.save(crearMovimiento(cuenta, valor, nuevoSaldo));
+            entityManager.flush();
+            return guardado;
+        });
+        medirFase("resumen", () -> {
+            saldoDiarioService.registrar(movimiento);
+            return null;
+        });
+        return movimiento;
+    }
 
-        Movimiento movimiento = new Movimiento();
-        movimiento.setFecha(new Date());
+    @Override
+    @Transactional
+    public Movimiento registerMovementAtomic(String numeroCuenta, String tipoMovimiento, Dinero valor) {
+        // La sentencia condicional comprueba el estado y el saldo y bloquea la fila,
+        // así que el saldo leído después es el resultante
+        if (medirFase("actualizacion",
+                () -> cuentaRepository.aplicarMovimiento(numeroCuenta, valor.toBigDecimal())) == 0) {
+            // Solo cuando se rechaza se lee la cuenta, para saber por qué
+            ResumenCuentaDto cuenta = cuentaRepository.findResumenByNumeroCuenta(numeroCuenta)
+                    .orElseThrow(() -> new RuntimeException("Cuenta no encontrada"));
+            verificarActiva(cuenta.getEstado());
+            contarSaldoInsuficiente("individual");
+            throw new SaldoInsuficienteException("Saldo no disponible");
+        }
+        Dinero nuevoSaldo = medirFase("busqueda",
+                () -> cuentaRepository.findSaldoByNumeroCuenta(numeroCuenta).orElseThrow());
+        cuentaCache.actualizarSaldo(numeroCuenta, nuevoSaldo);
 
-        if (valor.compareTo(BigDecimal.ZERO) < 0) {
-            movimiento.setTipoMovimiento("Retiro de " + valorPositivo.toString());
-        } else if (valor.compareTo(BigDecimal.ZERO) >= 0) {
-            movimiento.setTipoMovimiento("Deposito de " + valorPositivo.toString());
+        Cuenta cuenta = entityManager.getReference(Cuenta.class, numeroCuenta);
+        Movimiento movimiento = medirFase("insercion", () -> {
+            Movimiento guardado = repository.save(crearMovimiento(cuenta, valor, nuevoSaldo));
+            entityManager.flush();
+            return guardado;
+        });
+        medirFase("resumen", () -> {
+            saldoDiarioService.registrar(movimiento);
+            return null;
+        });
+        return movimiento;
+    }
+
+    @Override
+    @Transactional
+    public List<ResultadoMovimientoDto> registerMovements(List<SolicitudMovimientoDto> solicitudes) {
+        ResultadoMovimientoDto[] resultados = new ResultadoMovimientoDto[solicitudes.size()];
+
+        // Agrupa por cuenta conservando el orden de llegada dentro de cada una
+        Map<String, List<Integer>> indicesPorCuenta = new TreeMap<>();
+        for (int i = 0; i < solicitudes.size(); i++) {
+            SolicitudMovimientoDto solicitud = solicitudes.get(i);
+            if (solicitud.getNumeroCuenta() == null || solicitud.getValor() == null) {
+                resultados[i] = ResultadoMovimientoDto.fallido(i, solicitud.getNumeroCuenta(),
+                        new IllegalArgumentException("El número de cuenta y el valor son obligatorios"));
+                continue;
+            }
+            indicesPorCuenta.computeIfAbsent(solicitud.getNumeroCuenta(), k -> new ArrayList<>()).add(i);
         }
-        movimiento.setValor(valor);
-        movimiento.setSaldo(nuevoSaldo);
-        movimiento.setCuenta(cuenta);
 
-        return repository.save(movimiento);
+        Map<String, Cuenta> cuentas = bloquearCuentas(new ArrayList<>(indicesPorCuenta.keySet()));
+
+        List<Movimiento> pendientes = new ArrayList<>(TAMANIO_LOTE);
+        List<Movimiento> registrados = new ArrayList<>(solicitudes.size());
+        indicesPorCuenta.forEach((numeroCuenta, indices) -> {
+            Cuenta cuenta = cuentas.get(numeroCuenta);
+            for (int indice : indices) {
+                if (cuenta == null) {
+                    resultados[indice] = ResultadoMovimientoDto.fallido(indice, numeroCuenta,
+                            new RuntimeException("Cuenta no encontrada"));
+                    continue;
+                }
+                if (Boolean.FALSE.equals(cuenta.getEstado())) {
+                    resultados[indice] = ResultadoMovimientoDto.fallido(indice, numeroCuenta,
+                            new RuntimeException("Cuenta inactiva"));
+                    continue;
+                }
+
+                Dinero valor = solicitudes.get(indice).getValor();
+                Dinero nuevoSaldo = cuenta.getSaldoInicial().sumar(valor);
+                if (nuevoSaldo.esNegativo()) {
+                    contarSaldoInsuficiente("lote");
+                    resultados[indice] = ResultadoMovimientoDto.fallido(indice, numeroCuenta,
+                            new SaldoInsuficienteException("Saldo no disponible"));
+                    continue;
+                }
+                cuenta.setSaldoInicial(nuevoSaldo);
+
+                Movimiento movimiento = crearMovimiento(cuenta, valor, nuevoSaldo);
+                entityManager.persist(movimiento);
+                resultados[indice] = ResultadoMovimientoDto.exitoso(indice, movimiento);
+                registrados.add(movimiento);
+
+                pendientes.add(movimiento);
+                if (pendientes.size() == TAMANIO_LOTE) {
+                    vaciarPendientes(pendientes);
+                }
+            }
+        });
+        vaciarPendientes(pendientes);
+        saldoDiarioService.registrar(registrados);
+        // Las cuentas quedaron bloqueadas al leerlas, así que se puede avisar a la caché antes de confirmar
+        cuentas.values().forEach(cuentaCache::actualizar);
+
+        return Arrays.asList(resultados);
     }
 
     @Override
@@ -96,4 +296,57 @@ public class MovimientoServiceImpl implements MovimientoService {
         return movimientoOptional;
     }
 
+    private <T> T medirFase(String fase, Supplier<T> paso) {
+        return Timer.builder("movimientos.registro.fase")
+                .description("Pasos del registro de un movimiento individual")
+                .tag("fase", fase)
+                .register(meterRegistry)
+                .record(paso);
+    }
+
+    private static void verificarActiva(Boolean estado) {
+        if (Boolean.FALSE.equals(estado)) {
+            throw new RuntimeException("Cuenta inactiva");
+        }
+    }
+
+    private void contarSaldoInsuficiente(String registro) {
+        meterRegistry.counter("movimientos.saldo.insuficiente", "registro", registro).increment();
+    }
+
+    private Map<String, Cuenta> bloquearCuentas(List<String> numerosCuenta) {
+        Map<String, Cuenta> cuentas = new HashMap<>();
+        for (int desde = 0; desde < numerosCuenta.size(); desde += CUENTAS_POR_CONSULTA) {
+            List<String> bloque = numerosCuenta.subList(desde, Math.min(desde + CUENTAS_POR_CONSULTA, numerosCuenta.size()));
+            cuentaRepository.findByNumeroCuentaInOrderByNumeroCuenta(bloque)
+                    .forEach(cuenta -> cuentas.put(cuenta.getNumeroCuenta(), cuenta));
+        }
+        return cuentas;
+    }
+
+    private void vaciarPendientes(List<Movimiento> pendientes) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        // Envía los inserts en lote y suelta los movimientos para que el contexto no crezca
+        entityManager.flush();
+        pendientes.forEach(entityManager::detach);
+        pendientes.clear();
+    }
+
+    private Movimiento crearMovimiento(Cuenta cuenta, Dinero valor, Dinero nuevoSaldo) {
+        Movimiento movimiento = new Movimiento();
+        movimiento.setFecha(new Date());
+
+        if (valor.esNegativo()) {
+            movimiento.setTipoMovimiento("Retiro de " + valor.valorAbsoluto());
+        } else {
+            movimiento.setTipoMovimiento("Deposito de " + valor);
+        }
+        movimiento.setValor(valor);
+        movimiento.setSaldo(nuevoSaldo);
+        movimiento.setCuenta(cuenta);
+        return movimiento;
+    }
+
 }
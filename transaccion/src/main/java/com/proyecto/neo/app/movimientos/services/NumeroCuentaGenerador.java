@@ -0,0 +1,146 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.neo.app.movimientos.repositories.BloqueNumeroCuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Asigna números de cuenta únicos a partir de bloques reservados en la base de
+ * datos. Cada instancia reserva un bloque con una sola transacción y reparte sus
+ * números en memoria, así que solo se consulta la base una vez por bloque. Los
+ * números de un bloque que ya existan, por ejemplo porque se crearon con un
+ * número indicado por el usuario, se saltan.
+ * <p>
+ * El número tiene la longitud configurada; si se usa dígito verificador, el
+ * último dígito es el de Luhn sobre los anteriores.
+ */
+@Component
+public class NumeroCuentaGenerador {
+
+    private static final Logger log = LoggerFactory.getLogger(NumeroCuentaGenerador.class);
+
+    @Autowired
+    private BloqueNumeroCuentaRepository bloqueRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${movimientos.cuentas.numero.longitud:10}")
+    private int longitud;
+
+    @Value("${movimientos.cuentas.numero.digito-verificador:true}")
+    private boolean digitoVerificador;
+
+    @Value("${movimientos.cuentas.numero.tamanio-bloque:100}")
+    private int tamanioBloque;
+
+    private int digitosBase;
+    private long capacidad;
+
+    // Números base pendientes del bloque actual: desde siguiente hasta limite, sin incluirlo
+    private long siguiente;
+    private long limite;
+    private Set<String> ocupados = Set.of();
+
+    @PostConstruct
+    public void iniciar() {
+        digitosBase = digitoVerificador ? longitud - 1 : longitud;
+        if (digitosBase < 1 || digitosBase > 18) {
+            throw new IllegalStateException("Longitud de número de cuenta no soportada: " + longitud);
+        }
+        if (tamanioBloque < 1) {
+            throw new IllegalStateException("El tamaño de bloque debe ser positivo");
+        }
+        long potencia = 1;
+        for (int i = 0; i < digitosBase; i++) {
+            potencia *= 10;
+        }
+        capacidad = potencia;
+    }
+
+    /**
+     * Entrega el siguiente número de cuenta libre, reservando un bloque nuevo si
+     * el actual se agotó.
+     *
+     * @return un número de cuenta que no ha sido asignado antes.
+     * @throws IllegalStateException si ya no quedan números de la longitud
+     *                               configurada.
+     */
+    public synchronized String siguiente() {
+        while (true) {
+            while (siguiente < limite) {
+                String numeroCuenta = formatear(siguiente++);
+                if (!ocupados.contains(numeroCuenta)) {
+                    return numeroCuenta;
+                }
+            }
+            reservarBloque();
+        }
+    }
+
+    private void reservarBloque() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        // En su propia transacción, para liberar la fila del bloque aunque quien pide el número siga en otra
+        transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        long bloque = transaccion.execute(estado -> {
+            bloqueRepository.avanzar(longitud);
+            return bloqueRepository.findUltimoBloque(longitud);
+        });
+
+        long inicio = bloque * tamanioBloque;
+        if (inicio >= capacidad) {
+            throw new IllegalStateException("Se agotaron los números de cuenta de " + longitud + " dígitos");
+        }
+        long fin = Math.min(inicio + tamanioBloque, capacidad);
+
+        ocupados = new HashSet<>(cuentaRepository.findNumerosCuentaEntre(formatear(inicio), formatear(fin - 1)));
+        siguiente = inicio;
+        limite = fin;
+        log.debug("Reservado el bloque {} de números de cuenta de {} dígitos ({} ya ocupados)",
+                bloque, longitud, ocupados.size());
+    }
+
+    private String formatear(long base) {
+        String digitos = String.format("%0" + digitosBase + "d", base);
+        return digitoVerificador ? digitos + digitoVerificador(digitos) : digitos;
+    }
+
+    /**
+     * Calcula el dígito verificador de Luhn para una cadena de dígitos.
+     *
+     * @param digitos los dígitos a los que se agregará el verificador.
+     * @return el dígito que hace válida la cadena completa.
+     */
+    public static int digitoVerificador(String digitos) {
+        int suma = 0;
+        boolean duplicar = true;
+        for (int i = digitos.length() - 1; i >= 0; i--) {
+            int digito = digitos.charAt(i) - '0';
+            if (duplicar) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+            duplicar = !duplicar;
+        }
+        return (10 - suma % 10) % 10;
+    }
+}
@@ -1,72 +1,295 @@
 package com.proyecto.neo.app.movimientos.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.proyecto.neo.app.movimientos.dto.ClienteDto;
 import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
+import com.proyecto.neo.app.movimientos.dto.ReporteFilaDto;
 import com.proyecto.neo.app.movimientos.entities.Cuenta;
-import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.SaldoDiario;
 import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
 import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.proyecto.neo.app.movimientos.repositories.SaldoDiarioRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class ReporteService {
 
+    // Cada cuántos movimientos se envía al cliente lo ya escrito
+    private static final int MOVIMIENTOS_POR_ENVIO = 500;
+
     @Autowired
     private CuentaRepository cuentaRepository;
 
     @Autowired
     private MovimientoRepository movimientoRepository;
 
-     @Autowired
-    private RestTemplate restTemplate;
+    @Autowired
+    private SaldoDiarioRepository saldoDiarioRepository;
+
+    @Autowired
+    private ClienteLocalService clienteLocalService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Arma el reporte de estado de cuenta de un cliente. El periodo abarca los
+     * días completos de fechaInicio a fechaFin, inclusive, tanto para los
+     * movimientos como para los saldos y totales de los resúmenes diarios.
+     *
+     * @param clienteId   el identificador del cliente.
+     * @param fechaInicio la fecha de inicio del periodo.
+     * @param fechaFin    la fecha de fin del periodo; se incluye el día entero.
+     * @return el reporte de estado de cuenta.
+     */
+    @Transactional(readOnly = true)
     public EstadoCuentaDto generarReporte(Long clienteId, Date fechaInicio, Date fechaFin) {
-        // Obtener el cliente utilizando el endpoint /api/clientes/{id}
-        ResponseEntity<ClienteDto> response = restTemplate.getForEntity("http://localhost:8080/api/clientes/{id}", ClienteDto.class, clienteId);
-        ClienteDto cliente = response.getBody();
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        ClienteDto cliente = obtenerCliente(clienteId);
 
-         // Verificar si se encontró el cliente
-         if (cliente == null) {
-            throw new RuntimeException("Cliente no encontrado");
-        }
+        // Cuentas y movimientos del periodo en una sola consulta, y los saldos en otra
+        LocalDate desde = SaldoDiarioService.dia(fechaInicio);
+        LocalDate hasta = SaldoDiarioService.dia(fechaFin);
+        List<ReporteFilaDto> filas = cuentaRepository.findReporteByClienteId(clienteId,
+                SaldoDiarioService.inicioDelDia(desde), SaldoDiarioService.inicioDelDia(hasta.plusDays(1)));
+        List<SaldoDiario> saldos = saldoDiarioRepository.findParaReporte(clienteId, desde, hasta);
+        EstadoCuentaDto reporte = ensamblarReporte(clienteId, cliente.getNombre(), filas, saldos, desde, hasta);
 
-        // Obtener las cuentas del cliente
-        List<Cuenta> cuentas = cuentaRepository.findByClienteId(clienteId);
+        long movimientos = reporte.getCuentas().stream().mapToLong(cuenta -> cuenta.getMovimientos().size()).sum();
+        registrarTiempo(muestra, "completo", reporte.getCuentas().size(), movimientos);
+        return reporte;
+    }
 
+    /**
+     * Arma el reporte a partir de las filas de la consulta, que llegan ordenadas
+     * por cuenta, y de los resúmenes diarios de las cuentas.
+     *
+     * @param clienteId     el identificador del cliente.
+     * @param clienteNombre el nombre del cliente.
+     * @param filas         las filas de cuentas y movimientos.
+     * @param saldos        los resúmenes diarios del periodo y sus vecinos.
+     * @param desde         el primer día del periodo.
+     * @param hasta         el último día del periodo.
+     * @return el reporte de estado de cuenta.
+     */
+    public static EstadoCuentaDto ensamblarReporte(Long clienteId, String clienteNombre, List<ReporteFilaDto> filas,
+            List<SaldoDiario> saldos, LocalDate desde, LocalDate hasta) {
         EstadoCuentaDto reporte = new EstadoCuentaDto();
         reporte.setClienteId(clienteId);
-        reporte.setClienteNombre(cliente.getNombre());
-
-        List<EstadoCuentaDto.CuentaDto> cuentasDTO = cuentas.stream().map(cuenta -> {
-            EstadoCuentaDto.CuentaDto cuentaDTO = new EstadoCuentaDto.CuentaDto();
-            cuentaDTO.setNumeroCuenta(cuenta.getNumeroCuenta());
-            cuentaDTO.setTipoCuenta(cuenta.getTipoCuenta());
-            cuentaDTO.setSaldoInicial(cuenta.getSaldoInicial());
+        reporte.setClienteNombre(clienteNombre);
 
-            List<Movimiento> movimientos = movimientoRepository.findByCuenta_NumeroCuentaAndFechaBetween(cuenta.getNumeroCuenta(), fechaInicio, fechaFin);
-
-            List<EstadoCuentaDto.MovimientoDto> movimientosDTO = movimientos.stream().map(movimiento -> {
-                EstadoCuentaDto.MovimientoDto movimientoDTO = new EstadoCuentaDto.MovimientoDto();
-                movimientoDTO.setFecha(movimiento.getFecha());
-                movimientoDTO.setTipoMovimiento(movimiento.getTipoMovimiento());
-                movimientoDTO.setValor(movimiento.getValor());
-                movimientoDTO.setSaldo(movimiento.getSaldo());
-                return movimientoDTO;
-            }).collect(Collectors.toList());
+        List<EstadoCuentaDto.CuentaDto> cuentasDTO = new ArrayList<>();
+        EstadoCuentaDto.CuentaDto cuentaDTO = null;
+        for (ReporteFilaDto fila : filas) {
+            if (cuentaDTO == null || !cuentaDTO.getNumeroCuenta().equals(fila.getNumeroCuenta())) {
+                cuentaDTO = new EstadoCuentaDto.CuentaDto();
+                cuentaDTO.setNumeroCuenta(fila.getNumeroCuenta());
+                cuentaDTO.setTipoCuenta(fila.getTipoCuenta());
+                cuentaDTO.setSaldoInicial(fila.getSaldoInicial());
+                cuentaDTO.setMovimientos(new ArrayList<>());
+                cuentasDTO.add(cuentaDTO);
+            }
+            // Una cuenta sin movimientos en el periodo llega como una única fila sin movimiento
+            if (fila.getFecha() != null) {
+                cuentaDTO.getMovimientos().add(new EstadoCuentaDto.MovimientoDto(
+                        fila.getFecha(), fila.getTipoMovimiento(), fila.getValor(), fila.getSaldo()));
+            }
+        }
 
-            cuentaDTO.setMovimientos(movimientosDTO);
-            return cuentaDTO;
-        }).collect(Collectors.toList());
+        Map<String, List<SaldoDiario>> saldosPorCuenta = agruparPorCuenta(saldos);
+        cuentasDTO.forEach(cuenta -> resumir(cuenta, saldosPorCuenta.get(cuenta.getNumeroCuenta()), desde, hasta));
 
         reporte.setCuentas(cuentasDTO);
         return reporte;
     }
+
+    /**
+     * Completa los saldos de apertura y cierre y los totales del periodo de una
+     * cuenta a partir de sus resúmenes diarios, ordenados por fecha.
+     *
+     * @param cuenta la cuenta del reporte.
+     * @param saldos los resúmenes del periodo, el último anterior y el primero
+     *               posterior; null si la cuenta no tiene ninguno.
+     * @param desde  el primer día del periodo.
+     * @param hasta  el último día del periodo.
+     */
+    static void resumir(EstadoCuentaDto.CuentaDto cuenta, List<SaldoDiario> saldos, LocalDate desde,
+            LocalDate hasta) {
+        Dinero apertura = null;
+        Dinero cierre = null;
+        Dinero debitos = Dinero.CERO;
+        Dinero creditos = Dinero.CERO;
+        long cantidad = 0;
+
+        for (SaldoDiario saldo : saldos != null ? saldos : List.<SaldoDiario>of()) {
+            if (saldo.getFecha().isBefore(desde)) {
+                apertura = saldo.getSaldoCierre();
+                cierre = apertura;
+            } else if (!saldo.getFecha().isAfter(hasta)) {
+                if (apertura == null) {
+                    apertura = saldo.getSaldoApertura();
+                }
+                cierre = saldo.getSaldoCierre();
+                debitos = debitos.sumar(saldo.getTotalDebitos());
+                creditos = creditos.sumar(saldo.getTotalCreditos());
+                cantidad += saldo.getCantidadMovimientos();
+            } else if (apertura == null) {
+                // Sin movimientos hasta después del periodo: el saldo no cambió en todo el periodo
+                apertura = saldo.getSaldoApertura();
+                cierre = apertura;
+            }
+        }
+        if (apertura == null) {
+            // La cuenta nunca tuvo movimientos, así que su saldo actual es el de siempre
+            apertura = cuenta.getSaldoInicial();
+            cierre = apertura;
+        }
+
+        cuenta.setSaldoApertura(apertura);
+        cuenta.setSaldoCierre(cierre);
+        cuenta.setTotalDebitos(debitos);
+        cuenta.setTotalCreditos(creditos);
+        cuenta.setCantidadMovimientos(cantidad);
+    }
+
+    private static Map<String, List<SaldoDiario>> agruparPorCuenta(List<SaldoDiario> saldos) {
+        return saldos.stream().collect(Collectors.groupingBy(SaldoDiario::getNumeroCuenta));
+    }
+
+    /**
+     * Obtiene el cliente de la proyección local de clientes.
+     *
+     * @param clienteId el identificador del cliente.
+     * @return el cliente encontrado.
+     */
+    public ClienteDto obtenerCliente(Long clienteId) {
+        return clienteLocalService.obtener(clienteId);
+    }
+
+    /**
+     * Escribe el reporte de estado de cuenta como JSON directamente en la salida,
+     * con la misma forma y el mismo periodo que generarReporte. Los movimientos se leen con un cursor
+     * y se escriben a medida que llegan, así que la memoria usada no depende del
+     * tamaño del rango.
+     *
+     * @param cliente     el cliente del reporte.
+     * @param fechaInicio la fecha de inicio del periodo.
+     * @param fechaFin    la fecha de fin del periodo; se incluye el día entero.
+     * @param salida      el flujo donde se escribe el reporte.
+     * @throws IOException si falla la escritura.
+     */
+    @Transactional(readOnly = true)
+    public void escribirReporte(ClienteDto cliente, Date fechaInicio, Date fechaFin, OutputStream salida)
+            throws IOException {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        int cuentas = 0;
+        long totalMovimientos = 0;
+        JsonGenerator json = objectMapper.createGenerator(salida);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        json.writeStartObject();
+        json.writeNumberField("clienteId", cliente.getId());
+        json.writeStringField("clienteNombre", cliente.getNombre());
+        json.writeArrayFieldStart("cuentas");
+        json.flush();
+
+        LocalDate desde = SaldoDiarioService.dia(fechaInicio);
+        LocalDate hasta = SaldoDiarioService.dia(fechaFin);
+        Date inicio = SaldoDiarioService.inicioDelDia(desde);
+        Date fin = SaldoDiarioService.inicioDelDia(hasta.plusDays(1));
+        Map<String, List<SaldoDiario>> saldosPorCuenta = agruparPorCuenta(
+                saldoDiarioRepository.findParaReporte(cliente.getId(), desde, hasta));
+
+        for (Cuenta cuenta : cuentaRepository.findByClienteId(cliente.getId())) {
+            cuentas++;
+            EstadoCuentaDto.CuentaDto resumen = new EstadoCuentaDto.CuentaDto();
+            resumen.setSaldoInicial(cuenta.getSaldoInicial());
+            resumir(resumen, saldosPorCuenta.get(cuenta.getNumeroCuenta()), desde, hasta);
+
+            json.writeStartObject();
+            json.writeStringField("numeroCuenta", cuenta.getNumeroCuenta());
+            json.writeStringField("tipoCuenta", cuenta.getTipoCuenta());
+            json.writeFieldName("saldoInicial");
+            json.writeObject(cuenta.getSaldoInicial());
+            json.writeFieldName("saldoApertura");
+            json.writeObject(resumen.getSaldoApertura());
+            json.writeFieldName("saldoCierre");
+            json.writeObject(resumen.getSaldoCierre());
+            json.writeFieldName("totalDebitos");
+            json.writeObject(resumen.getTotalDebitos());
+            json.writeFieldName("totalCreditos");
+            json.writeObject(resumen.getTotalCreditos());
+            json.writeNumberField("cantidadMovimientos", resumen.getCantidadMovimientos());
+            json.writeArrayFieldStart("movimientos");
+
+            try (Stream<EstadoCuentaDto.MovimientoDto> movimientos = movimientoRepository
+                    .streamReporte(cuenta.getNumeroCuenta(), inicio, fin)) {
+                Iterator<EstadoCuentaDto.MovimientoDto> iterador = movimientos.iterator();
+                int escritos = 0;
+                while (iterador.hasNext()) {
+                    json.writeObject(iterador.next());
+                    if (++escritos % MOVIMIENTOS_POR_ENVIO == 0) {
+                        json.flush();
+                    }
+                }
+                totalMovimientos += escritos;
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+            json.flush();
+        }
+
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+        registrarTiempo(muestra, "streaming", cuentas, totalMovimientos);
+    }
+
+    /**
+     * Registra el tiempo de un reporte en la métrica reportes.generacion. Las
+     * cantidades van por rangos, para que las etiquetas no multipliquen las
+     * series.
+     */
+    private void registrarTiempo(Timer.Sample muestra, String formato, int cuentas, long movimientos) {
+        muestra.stop(Timer.builder("reportes.generacion")
+                .description("Generación del reporte de estado de cuenta")
+                .tag("formato", formato)
+                .tag("cuentas", rango(cuentas, 1, 5, 20))
+                .tag("movimientos", rango(movimientos, 100, 1_000, 10_000))
+                .register(meterRegistry));
+    }
+
+    static String rango(long cantidad, long... limites) {
+        long desde = 0;
+        for (long limite : limites) {
+            if (cantidad <= limite) {
+                return desde + "-" + limite;
+            }
+            desde = limite + 1;
+        }
+        return ">" + limites[limites.length - 1];
+    }
 }
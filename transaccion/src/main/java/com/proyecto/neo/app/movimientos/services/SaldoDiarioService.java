@@ -0,0 +1,173 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.entities.SaldoDiario;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.SaldoDiarioRepository;
+
+/**
+ * Mantiene los resúmenes diarios de saldo por cuenta. El registro de movimientos
+ * los actualiza en la misma transacción; los movimientos creados o modificados
+ * por el CRUD genérico no pasan por aquí, y sus días se corrigen con
+ * {@link #reconstruir(LocalDate, LocalDate)}.
+ */
+@Service
+public class SaldoDiarioService {
+
+    private static final Logger log = LoggerFactory.getLogger(SaldoDiarioService.class);
+
+    // Días que se reconstruyen por transacción, para no retener bloqueos durante toda la historia
+    private static final int DIAS_POR_TRAMO = 31;
+
+    @Autowired
+    private SaldoDiarioRepository repository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${movimientos.saldos-diarios.reconstruir-al-iniciar:false}")
+    private boolean reconstruirAlIniciar;
+
+    /**
+     * Suma un movimiento recién registrado al resumen de su día.
+     *
+     * @param movimiento el movimiento registrado.
+     */
+    @Transactional
+    public void registrar(Movimiento movimiento) {
+        registrar(List.of(movimiento));
+    }
+
+    /**
+     * Suma movimientos recién registrados a los resúmenes de sus días, con una
+     * sola sentencia por cuenta y día. Los movimientos de una misma cuenta deben
+     * venir en el orden en que se aplicaron.
+     *
+     * @param movimientos los movimientos registrados.
+     */
+    @Transactional
+    public void registrar(Collection<Movimiento> movimientos) {
+        Map<SaldoDiario.Clave, SaldoDiario> resumenes = new LinkedHashMap<>();
+        for (Movimiento movimiento : movimientos) {
+            String numeroCuenta = movimiento.getCuenta().getNumeroCuenta();
+            SaldoDiario resumen = resumenes.computeIfAbsent(
+                    new SaldoDiario.Clave(numeroCuenta, dia(movimiento.getFecha())), clave -> {
+                        SaldoDiario nuevo = new SaldoDiario();
+                        nuevo.setNumeroCuenta(clave.getNumeroCuenta());
+                        nuevo.setFecha(clave.getFecha());
+                        nuevo.setTotalDebitos(Dinero.CERO);
+                        nuevo.setTotalCreditos(Dinero.CERO);
+                        nuevo.setCantidadMovimientos(0L);
+                        return nuevo;
+                    });
+
+            Dinero valor = movimiento.getValor();
+            if (valor.esNegativo()) {
+                resumen.setTotalDebitos(resumen.getTotalDebitos().restar(valor));
+            } else {
+                resumen.setTotalCreditos(resumen.getTotalCreditos().sumar(valor));
+            }
+            resumen.setCantidadMovimientos(resumen.getCantidadMovimientos() + 1);
+            resumen.setSaldoCierre(movimiento.getSaldo());
+        }
+
+        resumenes.values().forEach(resumen -> repository.acumular(resumen.getNumeroCuenta(), resumen.getFecha(),
+                resumen.getSaldoCierre().toBigDecimal(), resumen.getTotalDebitos().toBigDecimal(),
+                resumen.getTotalCreditos().toBigDecimal(), resumen.getCantidadMovimientos()));
+    }
+
+    /**
+     * Vuelve a calcular desde los movimientos los resúmenes de un rango de días,
+     * reemplazando los existentes. Cada tramo de días se confirma por separado.
+     * <p>
+     * Mientras se reconstruye un tramo quedan bloqueadas las cuentas con
+     * movimientos en esos días, y todas las cuentas si el tramo llega al día de
+     * hoy, porque el registro suma los movimientos nuevos al resumen del día. Los
+     * registros sobre esas cuentas esperan a que se confirme el tramo en lugar de
+     * sumarse a un resumen que se está borrando.
+     *
+     * @param desde el primer día a reconstruir.
+     * @param hasta el último día a reconstruir, inclusive.
+     * @return el número de resúmenes creados.
+     */
+    public int reconstruir(LocalDate desde, LocalDate hasta) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        int creados = 0;
+        for (LocalDate tramo = desde; !tramo.isAfter(hasta); tramo = tramo.plusDays(DIAS_POR_TRAMO)) {
+            LocalDate inicio = tramo;
+            LocalDate fin = min(tramo.plusDays(DIAS_POR_TRAMO), hasta.plusDays(1));
+            Integer creadosTramo = transaccion.execute(estado -> {
+                cuentaRepository.bloquearConMovimientosEntre(inicioDelDia(inicio), inicioDelDia(fin),
+                        fin.isAfter(LocalDate.now()));
+                repository.deleteByFechaEntre(inicio, fin);
+                return repository.reconstruir(inicioDelDia(inicio), inicioDelDia(fin));
+            });
+            creados += creadosTramo;
+            log.info("Resúmenes diarios reconstruidos hasta {}: {}", fin.minusDays(1), creados);
+        }
+        return creados;
+    }
+
+    /**
+     * Reconstruye los resúmenes de toda la historia de movimientos.
+     *
+     * @return el número de resúmenes creados.
+     */
+    public int reconstruirTodo() {
+        Date primera = repository.findPrimeraFechaMovimiento();
+        if (primera == null) {
+            return 0;
+        }
+        return reconstruir(dia(primera), LocalDate.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirAlIniciar() {
+        if (reconstruirAlIniciar) {
+            reconstruirTodo();
+        }
+    }
+
+    /**
+     * Día calendario de una fecha, en la zona horaria con la que se guardan los
+     * movimientos.
+     */
+    public static LocalDate dia(Date fecha) {
+        return fecha.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * Primer instante de un día calendario, en la misma zona horaria que
+     * {@link #dia(Date)}.
+     */
+    public static Date inicioDelDia(LocalDate dia) {
+        return Date.from(dia.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
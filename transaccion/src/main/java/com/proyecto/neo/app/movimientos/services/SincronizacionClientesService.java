@@ -0,0 +1,182 @@
+package com.proyecto.neo.app.movimientos.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ClienteDto;
+import com.proyecto.neo.app.movimientos.dto.EventoClienteDto;
+import com.proyecto.neo.app.movimientos.dto.FeedEventosDto;
+import com.proyecto.neo.app.movimientos.entities.Sincronizacion;
+import com.proyecto.neo.app.movimientos.repositories.SincronizacionRepository;
+
+/**
+ * Mantiene la proyección local de clientes al día con el microservicio de
+ * clientes.
+ * <p>
+ * La primera vez anota la cabeza del feed de eventos y copia todos los clientes
+ * página a página; después aplica los eventos posteriores a esa cabeza. Los
+ * cambios ocurridos durante la copia se vuelven a aplicar desde el feed, así que
+ * la proyección converge aunque la copia no sea una foto consistente. Cada
+ * tramo de eventos se aplica en la misma transacción que guarda la posición
+ * alcanzada, de modo que un reinicio retoma sin perder ni duplicar cambios.
+ */
+@Service
+public class SincronizacionClientesService {
+
+    private static final Logger log = LoggerFactory.getLogger(SincronizacionClientesService.class);
+
+    private static final String NOMBRE = "clientes";
+    private static final int TAMANIO_TRAMO = 500;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private SincronizacionRepository sincronizacionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${movimientos.clientes.sincronizacion.habilitada:true}")
+    private boolean habilitada;
+
+    @Scheduled(fixedDelayString = "${movimientos.clientes.sincronizacion.intervalo-ms:1000}")
+    public void sincronizarPeriodicamente() {
+        if (!habilitada) {
+            return;
+        }
+        try {
+            sincronizar();
+        } catch (RestClientException e) {
+            // Se reintenta en la siguiente ejecución, desde la última posición guardada
+            log.warn("No se pudo sincronizar los clientes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hace la carga inicial si aún no se completó y aplica los eventos
+     * pendientes.
+     *
+     * @return la posición del feed alcanzada.
+     */
+    public synchronized long sincronizar() {
+        Sincronizacion estado = sincronizacionRepository.findById(NOMBRE).orElse(null);
+        if (estado == null || !estado.isCargaCompleta()) {
+            estado = cargaInicial();
+        }
+
+        long posicion = estado.getPosicion();
+        List<EventoClienteDto> eventos;
+        do {
+            FeedEventosDto feed = leerFeed(posicion, TAMANIO_TRAMO);
+            eventos = feed.getEventos();
+            if (!eventos.isEmpty()) {
+                long alcanzada = eventos.get(eventos.size() - 1).getPosicion();
+                List<EventoClienteDto> tramo = eventos;
+                new TransactionTemplate(transactionManager).executeWithoutResult(t -> {
+                    aplicarEventos(tramo);
+                    guardarPosicion(alcanzada, true);
+                });
+                posicion = alcanzada;
+            }
+        } while (eventos.size() == TAMANIO_TRAMO);
+        return posicion;
+    }
+
+    private Sincronizacion cargaInicial() {
+        // La cabeza se toma antes de copiar: lo que cambie durante la copia llega después por el feed
+        long cabeza = leerFeed(0, 1).getCabeza();
+        log.info("Carga inicial de clientes; el feed continuará desde la posición {}", cabeza);
+
+        String continuacion = null;
+        long copiados = 0;
+        do {
+            PaginaDto<ClienteDto> pagina = leerPagina(continuacion);
+            new TransactionTemplate(transactionManager).executeWithoutResult(t -> guardar(pagina.getElementos()));
+            copiados += pagina.getElementos().size();
+            continuacion = pagina.getContinuacion();
+        } while (continuacion != null);
+
+        log.info("Carga inicial de clientes completa: {} clientes", copiados);
+        return new TransactionTemplate(transactionManager).execute(t -> guardarPosicion(cabeza, true));
+    }
+
+    private void aplicarEventos(List<EventoClienteDto> eventos) {
+        // Cada evento trae los datos completos del cliente: basta con el último de cada uno
+        Map<Long, EventoClienteDto> ultimos = new LinkedHashMap<>();
+        eventos.forEach(evento -> ultimos.put(evento.getClienteId(), evento));
+
+        List<ClienteDto> vigentes = new ArrayList<>();
+        List<Object[]> eliminados = new ArrayList<>();
+        for (EventoClienteDto evento : ultimos.values()) {
+            if (evento.getCliente() == null) {
+                eliminados.add(new Object[] { evento.getClienteId() });
+            } else {
+                vigentes.add(evento.getCliente());
+            }
+        }
+        guardar(vigentes);
+        if (!eliminados.isEmpty()) {
+            jdbcTemplate.batchUpdate("delete from clientes_local where id = ?", eliminados);
+        }
+    }
+
+    private void guardar(List<ClienteDto> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into clientes_local (id, nombre, estado) values (?, ?, ?) "
+                + "on duplicate key update nombre = ?, estado = ?",
+                clientes, clientes.size(), (sentencia, cliente) -> {
+                    sentencia.setLong(1, cliente.getId());
+                    sentencia.setString(2, cliente.getNombre());
+                    sentencia.setObject(3, cliente.getEstado());
+                    sentencia.setString(4, cliente.getNombre());
+                    sentencia.setObject(5, cliente.getEstado());
+                });
+    }
+
+    private Sincronizacion guardarPosicion(long posicion, boolean cargaCompleta) {
+        Sincronizacion estado = sincronizacionRepository.findById(NOMBRE).orElseGet(() -> {
+            Sincronizacion nueva = new Sincronizacion();
+            nueva.setNombre(NOMBRE);
+            return nueva;
+        });
+        estado.setPosicion(posicion);
+        estado.setCargaCompleta(cargaCompleta);
+        return sincronizacionRepository.save(estado);
+    }
+
+    private FeedEventosDto leerFeed(long desde, int tamanio) {
+        return restTemplate.getForObject("/api/clientes/eventos?desde={desde}&tamanio={tamanio}",
+                FeedEventosDto.class, desde, tamanio);
+    }
+
+    private PaginaDto<ClienteDto> leerPagina(String continuacion) {
+        String uri = continuacion == null ? "/api/clientes/pagina?tamanio={tamanio}"
+                : "/api/clientes/pagina?tamanio={tamanio}&continuacion={continuacion}";
+        return restTemplate.exchange(uri, HttpMethod.GET, null,
+                new ParameterizedTypeReference<PaginaDto<ClienteDto>>() {
+                }, TAMANIO_TRAMO, continuacion).getBody();
+    }
+}
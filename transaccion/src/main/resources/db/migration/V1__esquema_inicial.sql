@@ -0,0 +1,33 @@
+-- Esquema de las tablas del microservicio de movimientos, tal como lo dejó ddl-auto=update.
+-- Usa IF NOT EXISTS para poder aplicarse sobre una base existente (ver base.sql).
+
+CREATE TABLE IF NOT EXISTS cuentas (
+  estado bit(1) DEFAULT NULL,
+  saldo_inicial decimal(38,2) DEFAULT NULL,
+  cliente_id bigint DEFAULT NULL,
+  numero_cuenta varchar(255) NOT NULL,
+  tipo_cuenta varchar(255) DEFAULT NULL,
+  PRIMARY KEY (numero_cuenta)
+);
+
+CREATE TABLE IF NOT EXISTS movimientos (
+  saldo decimal(38,2) DEFAULT NULL,
+  valor decimal(38,2) DEFAULT NULL,
+  fecha datetime(6) DEFAULT NULL,
+  id bigint NOT NULL,
+  numero_cuenta varchar(255) NOT NULL,
+  tipo_movimiento varchar(255) DEFAULT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_movimientos_cuenta FOREIGN KEY (numero_cuenta) REFERENCES cuentas (numero_cuenta)
+);
+
+CREATE TABLE IF NOT EXISTS movimientos_seq (
+  secuencia varchar(255) NOT NULL,
+  siguiente_valor bigint DEFAULT NULL,
+  PRIMARY KEY (secuencia)
+);
+
+-- El generador reserva identificadores a partir del siguiente al mayor existente
+INSERT INTO movimientos_seq (secuencia, siguiente_valor)
+SELECT 'movimientos', COALESCE(MAX(id), 0) + 1 FROM movimientos
+WHERE NOT EXISTS (SELECT 1 FROM movimientos_seq WHERE secuencia = 'movimientos');
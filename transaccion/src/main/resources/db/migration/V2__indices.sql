@@ -0,0 +1,6 @@
+-- CuentaRepository.findByClienteId y la consulta del reporte filtran por cliente
+CREATE INDEX idx_cuentas_cliente_id ON cuentas (cliente_id);
+
+-- MovimientoRepository.findByCuenta_NumeroCuentaAndFechaBetween y los reportes filtran
+-- por cuenta y rango de fechas
+CREATE INDEX idx_movimientos_cuenta_fecha ON movimientos (numero_cuenta, fecha);
@@ -0,0 +1,13 @@
+-- Resumen diario por cuenta que mantiene MovimientoService; los reportes leen de aquí
+-- saldos de apertura y cierre y totales del periodo. Para la historia anterior a esta
+-- versión se llena con la reconstrucción de SaldoDiarioService.
+CREATE TABLE saldos_diarios (
+  numero_cuenta varchar(255) NOT NULL,
+  fecha date NOT NULL,
+  saldo_cierre decimal(38,2) NOT NULL,
+  total_debitos decimal(38,2) NOT NULL,
+  total_creditos decimal(38,2) NOT NULL,
+  cantidad_movimientos bigint NOT NULL,
+  PRIMARY KEY (numero_cuenta, fecha),
+  CONSTRAINT fk_saldos_diarios_cuenta FOREIGN KEY (numero_cuenta) REFERENCES cuentas (numero_cuenta) ON DELETE CASCADE
+);
@@ -0,0 +1,8 @@
+-- Último bloque de números de cuenta reservado por longitud de número. Cada instancia
+-- del servicio reserva un bloque con una sola actualización y reparte sus números en
+-- memoria; las filas se crean al reservar el primer bloque de cada longitud.
+CREATE TABLE bloques_numero_cuenta (
+  longitud int NOT NULL,
+  ultimo_bloque bigint NOT NULL,
+  PRIMARY KEY (longitud)
+);
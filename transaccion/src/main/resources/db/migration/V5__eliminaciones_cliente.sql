@@ -0,0 +1,12 @@
+-- Avance de la eliminación de las cuentas y movimientos de un cliente. Permite consultar
+-- el progreso y retomar tras un reinicio las eliminaciones que quedaron en curso.
+CREATE TABLE eliminaciones_cliente (
+  cliente_id bigint NOT NULL,
+  estado varchar(20) NOT NULL,
+  cuentas_eliminadas bigint NOT NULL,
+  movimientos_eliminados bigint NOT NULL,
+  inicio datetime(6) NOT NULL,
+  actualizacion datetime(6) NOT NULL,
+  error varchar(1000) DEFAULT NULL,
+  PRIMARY KEY (cliente_id)
+);
@@ -0,0 +1,17 @@
+-- Proyección local de los clientes del microservicio general: solo lo que usan los
+-- reportes y el alta de cuentas. La mantiene SincronizacionClientesService con una
+-- carga inicial y luego con el feed de eventos de clientes.
+CREATE TABLE clientes_local (
+  id bigint NOT NULL,
+  nombre varchar(255) DEFAULT NULL,
+  estado bit(1) DEFAULT NULL,
+  PRIMARY KEY (id)
+);
+
+-- Hasta dónde se aplicó cada feed; se actualiza en la misma transacción que los cambios
+CREATE TABLE sincronizaciones (
+  nombre varchar(50) NOT NULL,
+  posicion bigint NOT NULL,
+  carga_completa bit(1) NOT NULL,
+  PRIMARY KEY (nombre)
+);
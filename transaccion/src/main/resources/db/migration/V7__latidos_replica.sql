@@ -0,0 +1,8 @@
+-- Latido que cada aplicación escribe en el primario para medir el atraso de la
+-- réplica de lectura (ver DataSourceReplicado). La comparten ambas aplicaciones,
+-- con una fila por origen.
+CREATE TABLE IF NOT EXISTS latidos_replica (
+  origen varchar(20) NOT NULL,
+  instante_ms bigint NOT NULL,
+  PRIMARY KEY (origen)
+);
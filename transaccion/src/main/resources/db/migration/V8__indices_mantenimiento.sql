@@ -0,0 +1,10 @@
+-- SaldoDiarioRepository.reconstruir agrupa los movimientos de un rango de fechas de
+-- todas las cuentas, y findPrimeraFechaMovimiento busca la fecha mínima
+CREATE INDEX idx_movimientos_fecha ON movimientos (fecha);
+
+-- SaldoDiarioRepository.deleteByFechaEntre borra los resúmenes de un rango de fechas
+-- de todas las cuentas antes de reconstruirlos
+CREATE INDEX idx_saldos_diarios_fecha ON saldos_diarios (fecha);
+
+-- EliminacionClienteRepository.findByEstado retoma al iniciar las eliminaciones en curso
+CREATE INDEX idx_eliminaciones_cliente_estado ON eliminaciones_cliente (estado);
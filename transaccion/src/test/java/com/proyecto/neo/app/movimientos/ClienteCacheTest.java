@@ -0,0 +1,110 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.proyecto.neo.app.movimientos.dto.ClienteDto;
+import com.proyecto.neo.app.movimientos.services.ClienteCache;
+
+@ExtendWith(MockitoExtension.class)
+public class ClienteCacheTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @InjectMocks
+    private ClienteCache clienteCache;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(clienteCache, "tamanioMaximo", 100L);
+        ReflectionTestUtils.setField(clienteCache, "ttl", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(clienteCache, "maximoObsoleto", Duration.ofHours(1));
+        ReflectionTestUtils.setField(clienteCache, "ticker", (Ticker) nanos::get);
+        ReflectionTestUtils.setField(clienteCache, "ejecutor", (Executor) Runnable::run);
+        clienteCache.iniciar();
+    }
+
+    @Test
+    public void testConsultasSimultaneasCompartenUnaLlamada() throws Exception {
+        CountDownLatch enLlamada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(restTemplate.getForEntity(anyString(), eq(ClienteDto.class), eq(7L))).thenAnswer(invocation -> {
+            enLlamada.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok(cliente(7L, "Jose Lema"));
+        });
+
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ClienteDto>> consultas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                consultas.add(hilos.submit(() -> clienteCache.obtener(7L)));
+            }
+            enLlamada.await(5, TimeUnit.SECONDS);
+            liberar.countDown();
+            for (Future<ClienteDto> consulta : consultas) {
+                assertEquals("Jose Lema", consulta.get(5, TimeUnit.SECONDS).getNombre());
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ClienteDto.class), eq(7L));
+        assertEquals(1L, clienteCache.estadisticas().getCargasExitosas());
+    }
+
+    @Test
+    public void testEntregaCopiaObsoletaSiLaConsultaFalla() {
+        when(restTemplate.getForEntity(anyString(), eq(ClienteDto.class), eq(7L)))
+                .thenReturn(ResponseEntity.ok(cliente(7L, "Jose Lema")))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        clienteCache.obtener(7L);
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        // Pasado el TTL la recarga falla y se conserva la copia anterior
+        assertEquals("Jose Lema", clienteCache.obtener(7L).getNombre());
+        assertEquals("Jose Lema", clienteCache.obtener(7L).getNombre());
+
+        // Pasada la antigüedad máxima ya no hay copia que entregar
+        nanos.addAndGet(Duration.ofHours(1).toNanos());
+        assertThrows(ResourceAccessException.class, () -> clienteCache.obtener(7L));
+    }
+
+    private ClienteDto cliente(Long id, String nombre) {
+        ClienteDto cliente = new ClienteDto();
+        cliente.setId(id);
+        cliente.setNombre(nombre);
+        return cliente;
+    }
+}
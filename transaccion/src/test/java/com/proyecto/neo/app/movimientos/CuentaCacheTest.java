@@ -0,0 +1,143 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Las transacciones se simulan abriendo la sincronización a mano y llamando a
+ * afterCompletion en el orden en que terminan.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CuentaCacheTest {
+
+    @Mock
+    private CuentaRepository cuentaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CuentaCache cuentaCache;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(cuentaCache, "tamanioMaximo", 100L);
+        ReflectionTestUtils.setField(cuentaCache, "inactividad", Duration.ofMinutes(30));
+        cuentaCache.iniciar();
+        when(cuentaRepository.findResumenByNumeroCuenta("478758"))
+                .thenReturn(Optional.of(resumen("100.00")), Optional.of(resumen("60.00")));
+    }
+
+    @AfterEach
+    public void limpiar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testLecturasRepetidasNoVanALaBase() {
+        cuentaCache.obtener("478758");
+        cuentaCache.obtener("478758");
+
+        assertEquals(Dinero.valueOf("100.00"), cuentaCache.obtener("478758").orElseThrow().getSaldoInicial());
+        verify(cuentaRepository, times(1)).findResumenByNumeroCuenta("478758");
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "cuentas").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "cuentas").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testElNuevoSaldoSeVeAlConfirmarYSeDescartaAlRevertir() {
+        cuentaCache.obtener("478758");
+
+        TransactionSynchronization confirmada = transaccion(() -> cuentaCache.actualizarSaldo("478758",
+                Dinero.valueOf("75.00")));
+        assertEquals(Dinero.valueOf("100.00"), cuentaCache.obtener("478758").orElseThrow().getSaldoInicial());
+        confirmada.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(Dinero.valueOf("75.00"), cuentaCache.obtener("478758").orElseThrow().getSaldoInicial());
+
+        transaccion(() -> cuentaCache.actualizarSaldo("478758", Dinero.valueOf("999.00")))
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        // Descartada la copia, la siguiente lectura vuelve a la base
+        assertEquals(Dinero.valueOf("60.00"), cuentaCache.obtener("478758").orElseThrow().getSaldoInicial());
+    }
+
+    @Test
+    public void testModificacionesQueTerminanFueraDeOrdenDescartanLaCopia() {
+        cuentaCache.obtener("478758");
+
+        TransactionSynchronization primera = transaccion(() -> cuentaCache.actualizar(cuenta("90.00")));
+        TransactionSynchronization segunda = transaccion(() -> cuentaCache.actualizar(cuenta("80.00")));
+        // La segunda se confirmó después, pero su aviso llega antes que el de la primera
+        segunda.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        primera.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(Dinero.valueOf("60.00"), cuentaCache.obtener("478758").orElseThrow().getSaldoInicial());
+
+        // Sin modificaciones pendientes, la siguiente se vuelve a escribir en la caché
+        transaccion(() -> cuentaCache.actualizar(cuenta("70.00")))
+                .afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(Dinero.valueOf("70.00"), cuentaCache.obtener("478758").orElseThrow().getSaldoInicial());
+        assertTrue(cuentaCache.obtener("478758").orElseThrow().getEstado());
+    }
+
+    private TransactionSynchronization transaccion(Runnable cambios) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cambios.run();
+            List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, sincronizaciones.size());
+            return sincronizaciones.get(0);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static ResumenCuentaDto resumen(String saldo) {
+        return new ResumenCuentaDto("478758", "Ahorro", Dinero.valueOf(saldo), Boolean.TRUE, 7L);
+    }
+
+    private static Cuenta cuenta(String saldo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta("478758");
+        cuenta.setTipoCuenta("Ahorro");
+        cuenta.setSaldoInicial(Dinero.valueOf(saldo));
+        cuenta.setEstado(Boolean.TRUE);
+        cuenta.setClienteId(7L);
+        return cuenta;
+    }
+}
@@ -0,0 +1,62 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.proyecto.neo.app.movimientos.dto.SolicitudMovimientoDto;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.DineroConverter;
+
+public class DineroTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testAritmeticaExactaConDesbordamientoControlado() {
+        Dinero saldo = Dinero.valueOf("100.10").sumar(Dinero.valueOf("-0.20"));
+
+        assertEquals(Dinero.deCentavos(9_990), saldo);
+        assertEquals(Dinero.valueOf("0.30"), Dinero.valueOf("0.10").sumar(Dinero.valueOf("0.20")));
+        assertEquals(Dinero.valueOf("40"), Dinero.valueOf("-40").valorAbsoluto());
+        assertEquals(-1, Dinero.valueOf("-0.01").signo());
+        assertEquals(Dinero.CERO, Dinero.valueOf("5").restar(Dinero.valueOf("5.00")));
+
+        Dinero maximo = Dinero.deCentavos(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> maximo.sumar(Dinero.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Dinero.deCentavos(Long.MIN_VALUE).restar(Dinero.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Dinero.deCentavos(Long.MIN_VALUE).negar());
+        assertThrows(ArithmeticException.class, () -> Dinero.valueOf("10.005"));
+        assertThrows(ArithmeticException.class, () -> Dinero.de(new BigDecimal("1e20")));
+    }
+
+    @Test
+    public void testTextoYJsonIgualesAlBigDecimalDeLaBase() throws Exception {
+        for (String texto : new String[] { "0.00", "-0.05", "1234.50", "-75.00", "92233720368547758.07" }) {
+            Dinero dinero = Dinero.valueOf(texto);
+            assertEquals(texto, dinero.toString());
+            assertEquals(objectMapper.writeValueAsString(new BigDecimal(texto)), objectMapper.writeValueAsString(dinero));
+        }
+
+        SolicitudMovimientoDto solicitud = objectMapper.readValue(
+                "{\"numeroCuenta\":\"478758\",\"valor\":-75.5}", SolicitudMovimientoDto.class);
+        assertEquals(Dinero.deCentavos(-7_550), solicitud.getValor());
+        assertEquals(Dinero.valueOf("20"), objectMapper.readValue("20", Dinero.class));
+        assertEquals(Dinero.valueOf("20.10"), objectMapper.readValue("\"20.1\"", Dinero.class));
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("10.005", Dinero.class));
+    }
+
+    @Test
+    public void testConversionDeColumna() {
+        DineroConverter converter = new DineroConverter();
+
+        assertEquals(new BigDecimal("-75.00"), converter.convertToDatabaseColumn(Dinero.valueOf("-75")));
+        assertEquals(Dinero.valueOf("2500"), converter.convertToEntityAttribute(new BigDecimal("2500.00")));
+        assertEquals(null, converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,134 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.EliminacionCliente;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.EliminacionClienteRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+import com.proyecto.neo.app.movimientos.services.EliminacionClienteService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = "movimientos.eliminacion.tamanio-tramo=100")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ EliminacionClienteService.class, CuentaCache.class, SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EliminacionClienteTest {
+
+    @Autowired
+    private EliminacionClienteService eliminacionService;
+
+    @Autowired
+    private EliminacionClienteRepository eliminacionRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @AfterEach
+    public void limpiar() {
+        movimientoRepository.deleteAll();
+        cuentaRepository.deleteAll();
+        eliminacionRepository.deleteAll();
+    }
+
+    @Test
+    public void testEliminaCuentasYMovimientosPorTramosSinTocarOtrosClientes() {
+        cuenta("478758", 7L, 250);
+        cuenta("225487", 7L, 30);
+        cuenta("496825", 8L, 5);
+
+        EliminacionCliente eliminacion = eliminacionService.iniciar(7L, Duration.ofSeconds(30));
+
+        assertEquals(EliminacionCliente.COMPLETADA, eliminacion.getEstado());
+        assertEquals(2, eliminacion.getCuentasEliminadas());
+        assertEquals(280, eliminacion.getMovimientosEliminados());
+        assertTrue(cuentaRepository.findByClienteId(7L).isEmpty());
+        assertEquals(1, cuentaRepository.findByClienteId(8L).size());
+        assertEquals(5, movimientoRepository.count());
+    }
+
+    @Test
+    public void testRepetirLaEliminacionRetomaLoQueQueda() {
+        cuenta("478758", 7L, 120);
+        eliminacionService.iniciar(7L, Duration.ofSeconds(30));
+        assertFalse(cuentaRepository.existsByClienteId(7L));
+
+        // Una cuenta que quedó sin eliminar porque la ejecución anterior falló: se sigue sumando
+        marcarFallida(7L);
+        cuenta("225487", 7L, 10);
+        EliminacionCliente eliminacion = eliminacionService.iniciar(7L, Duration.ofSeconds(30));
+
+        assertEquals(EliminacionCliente.COMPLETADA, eliminacion.getEstado());
+        assertEquals(2, eliminacion.getCuentasEliminadas());
+        assertEquals(130, eliminacion.getMovimientosEliminados());
+        assertEquals(0, movimientoRepository.count());
+    }
+
+    @Test
+    public void testEliminarDeNuevoTrasCompletarCuentaSoloLoNuevo() {
+        cuenta("478758", 7L, 120);
+        eliminacionService.iniciar(7L, Duration.ofSeconds(30));
+
+        // Una cuenta creada después de completar la eliminación
+        cuenta("225487", 7L, 10);
+        EliminacionCliente eliminacion = eliminacionService.iniciar(7L, Duration.ofSeconds(30));
+
+        assertEquals(EliminacionCliente.COMPLETADA, eliminacion.getEstado());
+        assertEquals(1, eliminacion.getCuentasEliminadas());
+        assertEquals(10, eliminacion.getMovimientosEliminados());
+    }
+
+    private void marcarFallida(Long clienteId) {
+        EliminacionCliente eliminacion = eliminacionRepository.findById(clienteId).orElseThrow();
+        eliminacion.setEstado(EliminacionCliente.FALLIDA);
+        eliminacionRepository.save(eliminacion);
+    }
+
+    private void cuenta(String numeroCuenta, Long clienteId, int movimientos) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setTipoCuenta("Ahorro");
+        cuenta.setSaldoInicial(Dinero.CERO);
+        cuenta.setEstado(Boolean.TRUE);
+        cuenta.setClienteId(clienteId);
+        cuentaRepository.save(cuenta);
+
+        List<Movimiento> lote = new ArrayList<>();
+        for (int i = 0; i < movimientos; i++) {
+            Movimiento movimiento = new Movimiento();
+            movimiento.setCuenta(cuenta);
+            movimiento.setFecha(new Date());
+            movimiento.setTipoMovimiento("Deposito");
+            movimiento.setValor(Dinero.valueOf("1"));
+            movimiento.setSaldo(Dinero.deCentavos((i + 1) * 100L));
+            lote.add(movimiento);
+        }
+        movimientoRepository.saveAll(lote);
+    }
+}
@@ -0,0 +1,349 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
+import com.proyecto.neo.app.movimientos.entities.EliminacionCliente;
+import com.proyecto.neo.app.movimientos.repositories.BloqueNumeroCuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.EliminacionClienteRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.proyecto.neo.app.movimientos.repositories.SaldoDiarioRepository;
+
+/**
+ * Ejecuta cada consulta de los repositorios, toma el SQL que generó Hibernate y
+ * comprueba con EXPLAIN que la base de datos la resuelve con un índice y no
+ * recorriendo la tabla completa. Cada caso indica con {@link Explica} la
+ * consulta que cubre, y {@link #testCadaConsultaTieneSuCaso()} exige un caso
+ * por cada consulta declarada en los repositorios.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.proyecto.neo.app.movimientos.IndicesTest$CapturaSql")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class IndicesTest {
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Autowired
+    private SaldoDiarioRepository saldoDiarioRepository;
+
+    @Autowired
+    private BloqueNumeroCuentaRepository bloqueRepository;
+
+    @Autowired
+    private EliminacionClienteRepository eliminacionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private final Date inicio = new Date(0);
+    private final Date fin = new Date();
+
+    @BeforeEach
+    public void setup() {
+        CapturaSql.sentencias.clear();
+    }
+
+    @Test
+    @Explica("CuentaRepository.findByClienteId")
+    public void testCuentaFindByClienteIdUsaIndice() {
+        cuentaRepository.findByClienteId(1L);
+        assertUsaIndice(ultimaSentencia(), "idx_cuentas_cliente_id", 1L);
+    }
+
+    @Test
+    @Explica("CuentaRepository.existsByClienteId")
+    public void testCuentaExistsByClienteIdUsaIndice() {
+        cuentaRepository.existsByClienteId(1L);
+        assertUsaIndice(ultimaSentencia(), "idx_cuentas_cliente_id", 1L, 1);
+    }
+
+    @Test
+    @Explica("CuentaRepository.findNumerosCuentaByClienteId")
+    public void testCuentaNumerosPorClienteUsaIndice() {
+        cuentaRepository.findNumerosCuentaByClienteId(1L);
+        assertUsaIndice(ultimaSentencia(), "idx_cuentas_cliente_id", 1L);
+    }
+
+    @Test
+    @Explica("CuentaRepository.eliminar")
+    public void testCuentaEliminarUsaIndice() {
+        cuentaRepository.eliminar("478758");
+        assertUsaIndice(ultimaSentencia(), "primary", "478758");
+    }
+
+    @Test
+    @Explica("CuentaRepository.findByNumeroCuenta")
+    public void testCuentaFindByNumeroCuentaUsaIndice() {
+        cuentaRepository.findByNumeroCuenta("478758");
+        assertUsaIndice(ultimaSentencia(), "primary", "478758");
+    }
+
+    @Test
+    @Explica("CuentaRepository.findByNumeroCuentaInOrderByNumeroCuenta")
+    public void testCuentaFindByNumeroCuentaInUsaIndice() {
+        cuentaRepository.findByNumeroCuentaInOrderByNumeroCuenta(List.of("225487", "478758"));
+        assertUsaIndice(ultimaSentencia(), "primary", "225487", "478758");
+    }
+
+    @Test
+    @Explica("CuentaRepository.findResumenesDespuesDe")
+    public void testCuentaPaginaUsaIndice() {
+        cuentaRepository.findResumenesDespuesDe("225487", Limit.of(51));
+        assertUsaIndice(ultimaSentencia(), "primary", "225487", 0, 51);
+    }
+
+    @Test
+    @Explica("CuentaRepository.findNumerosCuentaEntre")
+    public void testCuentaNumerosEntreUsaIndice() {
+        cuentaRepository.findNumerosCuentaEntre("0000000000", "0000000992");
+        assertUsaIndice(ultimaSentencia(), "primary", "0000000000", "0000000992");
+    }
+
+    @Test
+    @Explica("CuentaRepository.findSaldoByNumeroCuenta")
+    public void testCuentaSaldoUsaIndice() {
+        cuentaRepository.findSaldoByNumeroCuenta("478758");
+        assertUsaIndice(ultimaSentencia(), "primary", "478758");
+    }
+
+    @Test
+    @Explica("CuentaRepository.findResumenByNumeroCuenta")
+    public void testCuentaResumenUsaIndice() {
+        cuentaRepository.findResumenByNumeroCuenta("478758");
+        assertUsaIndice(ultimaSentencia(), "primary", "478758");
+    }
+
+    @Test
+    @Explica("CuentaRepository.aplicarMovimiento")
+    public void testCuentaAplicarMovimientoUsaIndice() {
+        cuentaRepository.aplicarMovimiento("478758", BigDecimal.TEN);
+        assertUsaIndice(ultimaSentencia(), "primary", BigDecimal.TEN, "478758", BigDecimal.TEN);
+    }
+
+    @Test
+    @Explica("CuentaRepository.bloquearConMovimientosEntre")
+    public void testCuentaBloquearConMovimientosUsaIndice() {
+        cuentaRepository.bloquearConMovimientosEntre(inicio, fin, false);
+        // Recorre todas las cuentas por la clave primaria a propósito, para bloquearlas en
+        // orden; lo que no debe recorrerse completa es la tabla de movimientos
+        assertUsaIndice(ultimaSentencia(), "idx_movimientos_cuenta_fecha", false, inicio, fin);
+    }
+
+    @Test
+    @Explica("CuentaRepository.findReporteByClienteId")
+    public void testCuentaReporteUsaIndices() {
+        cuentaRepository.findReporteByClienteId(1L, inicio, fin);
+        assertUsaIndice(ultimaSentencia(), "idx_movimientos_cuenta_fecha", inicio, fin, 1L);
+    }
+
+    @Test
+    @Explica("MovimientoRepository.findByCuenta_NumeroCuentaAndFechaBetween")
+    public void testMovimientoFindByCuentaYFechaUsaIndice() {
+        movimientoRepository.findByCuenta_NumeroCuentaAndFechaBetween("478758", inicio, fin);
+        assertUsaIndice(ultimaSentencia(), "idx_movimientos_cuenta_fecha", "478758", inicio, fin);
+    }
+
+    @Test
+    @Explica("MovimientoRepository.streamReporte")
+    public void testMovimientoStreamReporteUsaIndice() {
+        try (Stream<EstadoCuentaDto.MovimientoDto> movimientos = movimientoRepository.streamReporte("478758", inicio, fin)) {
+            movimientos.findFirst();
+        }
+        assertUsaIndice(ultimaSentencia(), "idx_movimientos_cuenta_fecha", "478758", inicio, fin);
+    }
+
+    @Test
+    @Explica("MovimientoRepository.findPaginaDespuesDe")
+    public void testMovimientoPaginaUsaIndice() {
+        movimientoRepository.findPaginaDespuesDe("478758", inicio, fin, inicio, 10L, Limit.of(51));
+        assertUsaIndice(ultimaSentencia(), "idx_movimientos_cuenta_fecha", "478758", inicio, fin, inicio, inicio,
+                10L, 0, 51);
+    }
+
+    @Test
+    @Explica("MovimientoRepository.findIdsByNumeroCuenta")
+    public void testMovimientoIdsPorCuentaUsaIndice() {
+        movimientoRepository.findIdsByNumeroCuenta("478758", Limit.of(1000));
+        // Sin filtro por fecha H2 prefiere el índice que crea para la clave foránea por cuenta
+        assertUsaIndice(ultimaSentencia(), "fk_movimientos_cuenta", "478758", 0, 1000);
+    }
+
+    @Test
+    @Explica("MovimientoRepository.eliminarPorIds")
+    public void testMovimientoEliminarPorIdsUsaIndice() {
+        movimientoRepository.eliminarPorIds(List.of(1L, 2L));
+        assertUsaIndice(ultimaSentencia(), "primary", 1L, 2L);
+    }
+
+    @Test
+    @Explica("SaldoDiarioRepository.findParaReporte")
+    public void testSaldoDiarioReporteUsaIndices() {
+        LocalDate desde = LocalDate.of(2024, 7, 1);
+        LocalDate hasta = LocalDate.of(2024, 7, 31);
+        saldoDiarioRepository.findParaReporte(1L, desde, hasta);
+        assertUsaIndice(ultimaSentencia(), "idx_cuentas_cliente_id", 1L, desde, hasta, desde, hasta);
+    }
+
+    @Test
+    @Explica("SaldoDiarioRepository.acumular")
+    public void testSaldoDiarioAcumularNoRecorreTabla() {
+        LocalDate dia = LocalDate.of(2024, 7, 1);
+        // La clave foránea exige la cuenta para que la inserción llegue a ejecutarse
+        jdbcTemplate.update("insert into cuentas (numero_cuenta, saldo_inicial, estado, cliente_id) "
+                + "values ('478758', 0, true, 1)");
+        saldoDiarioRepository.acumular("478758", dia, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN, 1);
+        assertSinRecorrido(ultimaSentencia(), "478758", dia, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN, 1,
+                BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN, 1);
+    }
+
+    @Test
+    @Explica("SaldoDiarioRepository.deleteByFechaEntre")
+    public void testSaldoDiarioBorrarPorFechaUsaIndice() {
+        LocalDate desde = LocalDate.of(2024, 7, 1);
+        LocalDate hasta = LocalDate.of(2024, 8, 1);
+        saldoDiarioRepository.deleteByFechaEntre(desde, hasta);
+        assertUsaIndice(ultimaSentencia(), "idx_saldos_diarios_fecha", desde, hasta);
+    }
+
+    @Test
+    @Explica("SaldoDiarioRepository.reconstruir")
+    public void testSaldoDiarioReconstruirUsaIndices() {
+        saldoDiarioRepository.reconstruir(inicio, fin);
+        assertUsaIndice(ultimaSentencia(), "idx_movimientos_fecha", inicio, fin);
+    }
+
+    @Test
+    @Explica("SaldoDiarioRepository.findPrimeraFechaMovimiento")
+    public void testSaldoDiarioPrimeraFechaUsaIndice() {
+        saldoDiarioRepository.findPrimeraFechaMovimiento();
+        assertUsaIndice(ultimaSentencia(), "idx_movimientos_fecha");
+    }
+
+    @Test
+    @Explica("BloqueNumeroCuentaRepository.avanzar")
+    public void testBloqueAvanzarNoRecorreTabla() {
+        bloqueRepository.avanzar(10);
+        assertSinRecorrido(ultimaSentencia(), 10);
+    }
+
+    @Test
+    @Explica("BloqueNumeroCuentaRepository.findUltimoBloque")
+    public void testBloqueUltimoUsaIndice() {
+        bloqueRepository.avanzar(10);
+        bloqueRepository.findUltimoBloque(10);
+        assertUsaIndice(ultimaSentencia(), "primary", 10);
+    }
+
+    @Test
+    @Explica("EliminacionClienteRepository.findByEstado")
+    public void testEliminacionPorEstadoUsaIndice() {
+        eliminacionRepository.findByEstado(EliminacionCliente.EN_CURSO);
+        assertUsaIndice(ultimaSentencia(), "idx_eliminaciones_cliente_estado", EliminacionCliente.EN_CURSO);
+    }
+
+    /**
+     * Falla si un repositorio declara una consulta que no tiene su caso en esta
+     * clase, o si un caso nombra una consulta que ya no existe.
+     */
+    @Test
+    public void testCadaConsultaTieneSuCaso() {
+        Set<String> explicadas = Arrays.stream(getClass().getDeclaredMethods())
+                .filter(metodo -> metodo.isAnnotationPresent(Explica.class))
+                .map(metodo -> metodo.getAnnotation(Explica.class).value())
+                .collect(Collectors.toSet());
+        Set<String> declaradas = new TreeSet<>();
+        Repositories repositorios = new Repositories(applicationContext);
+        for (Class<?> dominio : repositorios) {
+            RepositoryInformation informacion = repositorios.getRequiredRepositoryInformation(dominio);
+            for (Method consulta : informacion.getQueryMethods()) {
+                declaradas.add(informacion.getRepositoryInterface().getSimpleName() + "." + consulta.getName());
+            }
+        }
+
+        Set<String> sinCaso = new TreeSet<>(declaradas);
+        sinCaso.removeAll(explicadas);
+        Set<String> sobrantes = new TreeSet<>(explicadas);
+        sobrantes.removeAll(declaradas);
+        assertTrue(sinCaso.isEmpty(), "Consultas sin caso de EXPLAIN: " + sinCaso);
+        assertTrue(sobrantes.isEmpty(), "Casos de consultas que ya no existen: " + sobrantes);
+    }
+
+    private String ultimaSentencia() {
+        return CapturaSql.sentencias.get(CapturaSql.sentencias.size() - 1);
+    }
+
+    private void assertUsaIndice(String sql, String indice, Object... parametros) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parametros);
+        String texto = plan.toString().toLowerCase(Locale.ROOT);
+        assertFalse(texto.contains("tablescan"), "Recorrido completo de tabla en: " + texto);
+        assertTrue(texto.contains(indice), "No se usa " + indice + " en: " + texto);
+    }
+
+    /**
+     * Las inserciones con "on duplicate key update" encuentran la fila por la
+     * clave primaria, que EXPLAIN no muestra; solo se comprueba que no recorran
+     * ninguna tabla.
+     */
+    private void assertSinRecorrido(String sql, Object... parametros) {
+        String texto = jdbcTemplate.queryForList("EXPLAIN " + sql, parametros).toString().toLowerCase(Locale.ROOT);
+        assertFalse(texto.contains("tablescan"), "Recorrido completo de tabla en: " + texto);
+    }
+
+    /** La consulta, como Repositorio.metodo, cuyo plan comprueba el caso. */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    private @interface Explica {
+        String value();
+    }
+
+    public static class CapturaSql implements StatementInspector {
+        private static final List<String> sentencias = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            sentencias.add(sql);
+            return sql;
+        }
+    }
+}
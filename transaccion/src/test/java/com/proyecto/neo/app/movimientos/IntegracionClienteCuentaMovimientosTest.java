@@ -15,11 +15,11 @@ import org.springframework.web.client.RestTemplate;
 
 import com.proyecto.neo.app.movimientos.dto.ClienteDto;
 import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
 import com.proyecto.neo.app.movimientos.entities.Movimiento;
 import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
 import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
 
@@ -64,7 +64,7 @@ public class IntegracionClienteCuentaMovimientosTest {
         cuenta.setNumeroCuenta("12345678");
         cuenta.setClienteId(cliente.getId());
         cuenta.setTipoCuenta("Ahorros");
-        cuenta.setSaldoInicial(new BigDecimal("1000"));
+        cuenta.setSaldoInicial(Dinero.valueOf("1000"));
         cuenta.setMovimientos(new ArrayList<>());
         cuenta = cuentaRepository.save(cuenta);
 
@@ -73,8 +73,8 @@ public class IntegracionClienteCuentaMovimientosTest {
         movimiento.setCuenta(cuenta);
         movimiento.setFecha(new Date());
         movimiento.setTipoMovimiento("Depósito");
-        movimiento.setValor(new BigDecimal("500"));
-        movimiento.setSaldo(new BigDecimal("1500"));
+        movimiento.setValor(Dinero.valueOf("500"));
+        movimiento.setSaldo(Dinero.valueOf("1500"));
         cuenta.getMovimientos().add(movimiento);
         movimientoRepository.save(movimiento);
     }
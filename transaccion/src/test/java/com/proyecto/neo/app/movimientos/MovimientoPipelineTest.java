@@ -0,0 +1,140 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.proyecto.neo.app.movimientos.controllers.MovimientoController;
+import com.proyecto.neo.app.movimientos.dto.ResultadoMovimientoDto;
+import com.proyecto.neo.app.movimientos.dto.SolicitudMovimientoDto;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.exceptions.SaldoInsuficienteException;
+import com.proyecto.neo.app.movimientos.services.MovimientoPipeline;
+import com.proyecto.neo.app.movimientos.services.MovimientoService;
+
+@ExtendWith(MockitoExtension.class)
+public class MovimientoPipelineTest {
+
+    @Mock
+    private MovimientoService movimientoService;
+
+    @InjectMocks
+    private MovimientoPipeline pipeline;
+
+    @AfterEach
+    public void detener() throws InterruptedException {
+        pipeline.detener();
+    }
+
+    @Test
+    public void testCompletaFuturosConElResultadoDeCadaMovimiento() throws Exception {
+        // Rechaza los retiros y acepta los depósitos, como lo haría el servicio con saldo cero
+        AtomicInteger procesados = new AtomicInteger();
+        when(movimientoService.registerMovements(anyList())).thenAnswer(invocation -> {
+            List<SolicitudMovimientoDto> solicitudes = invocation.getArgument(0);
+            procesados.addAndGet(solicitudes.size());
+            List<ResultadoMovimientoDto> resultados = new ArrayList<>();
+            for (int i = 0; i < solicitudes.size(); i++) {
+                SolicitudMovimientoDto solicitud = solicitudes.get(i);
+                if (solicitud.getValor().esNegativo()) {
+                    resultados.add(ResultadoMovimientoDto.fallido(i, solicitud.getNumeroCuenta(),
+                            new SaldoInsuficienteException("Saldo no disponible")));
+                } else {
+                    Cuenta cuenta = new Cuenta();
+                    cuenta.setNumeroCuenta(solicitud.getNumeroCuenta());
+                    Movimiento movimiento = new Movimiento();
+                    movimiento.setCuenta(cuenta);
+                    movimiento.setValor(solicitud.getValor());
+                    resultados.add(ResultadoMovimientoDto.exitoso(i, movimiento));
+                }
+            }
+            return resultados;
+        });
+        ReflectionTestUtils.setField(pipeline, "particiones", 2);
+        ReflectionTestUtils.setField(pipeline, "tamanioLote", 50);
+        ReflectionTestUtils.setField(pipeline, "capacidadCola", 1000);
+        pipeline.iniciar();
+
+        List<CompletableFuture<Movimiento>> depositos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            depositos.add(pipeline.submit("478758", "Deposito", Dinero.valueOf("1")));
+        }
+        CompletableFuture<Movimiento> retiro = pipeline.submit("478758", "Retiro", Dinero.valueOf("-5"));
+
+        for (CompletableFuture<Movimiento> deposito : depositos) {
+            assertEquals(Dinero.valueOf("1"), deposito.get(5, TimeUnit.SECONDS).getValor());
+        }
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> retiro.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof SaldoInsuficienteException);
+        assertEquals(201, procesados.get());
+    }
+
+    @Test
+    public void testColaLlenaRespondeServicioNoDisponible() throws Exception {
+        // El escritor queda ocupado con el primer movimiento y el segundo llena la cola
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(movimientoService.registerMovements(anyList())).thenAnswer(invocation -> {
+            liberar.await();
+            List<SolicitudMovimientoDto> solicitudes = invocation.getArgument(0);
+            return List.of(ResultadoMovimientoDto.fallido(0, solicitudes.get(0).getNumeroCuenta(),
+                    new SaldoInsuficienteException("Saldo no disponible")));
+        });
+        ReflectionTestUtils.setField(pipeline, "particiones", 1);
+        ReflectionTestUtils.setField(pipeline, "tamanioLote", 1);
+        ReflectionTestUtils.setField(pipeline, "capacidadCola", 1);
+        pipeline.iniciar();
+
+        MovimientoController controller = new MovimientoController();
+        ReflectionTestUtils.setField(controller, "pipeline", pipeline);
+        ReflectionTestUtils.setField(controller, "reintentarEn", 2L);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        try {
+            pipeline.submit("478758", "Deposito", Dinero.valueOf("1"));
+            while (pipeline.submit("478758", "Deposito", Dinero.valueOf("1")).isCompletedExceptionally()) {
+                // Espera a que el escritor tome el primero y quede lugar en la cola
+                Thread.onSpinWait();
+            }
+
+            MvcResult resultado = mockMvc.perform(post("/api/movimientos/registrar")
+                    .param("numeroCuenta", "478758")
+                    .param("tipoMovimiento", "Deposito")
+                    .param("valor", "1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"));
+        } finally {
+            liberar.countDown();
+        }
+    }
+}
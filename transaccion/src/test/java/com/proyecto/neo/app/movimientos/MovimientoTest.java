@@ -0,0 +1,217 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ResumenCuentaDto;
+import com.proyecto.neo.app.movimientos.dto.ResultadoMovimientoDto;
+import com.proyecto.neo.app.movimientos.dto.SolicitudMovimientoDto;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.exceptions.SaldoInsuficienteException;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+import com.proyecto.neo.app.movimientos.services.MovimientoServiceImpl;
+import com.proyecto.neo.app.movimientos.services.SaldoDiarioService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+public class MovimientoTest {
+
+    @Mock
+    private MovimientoRepository movimientoRepository;
+
+    @Mock
+    private CuentaRepository cuentaRepository;
+
+    @Mock
+    private SaldoDiarioService saldoDiarioService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CuentaCache cuentaCache;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private MovimientoServiceImpl movimientoService;
+
+    @Test
+    public void testRegistroAtomicoUsaSaldoResultante() {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta("478758");
+
+        when(cuentaRepository.aplicarMovimiento("478758", new BigDecimal("-75.00"))).thenReturn(1);
+        when(cuentaRepository.findSaldoByNumeroCuenta("478758")).thenReturn(Optional.of(Dinero.valueOf("2500.00")));
+        when(entityManager.getReference(Cuenta.class, "478758")).thenReturn(cuenta);
+        when(movimientoRepository.save(any(Movimiento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Movimiento movimiento = movimientoService.registerMovementAtomic("478758", "Retiro", Dinero.valueOf("-75.00"));
+
+        assertEquals(Dinero.valueOf("2500.00"), movimiento.getSaldo());
+        assertEquals(Dinero.valueOf("-75.00"), movimiento.getValor());
+        assertEquals("Retiro de 75.00", movimiento.getTipoMovimiento());
+        assertEquals(cuenta, movimiento.getCuenta());
+        verify(cuentaRepository, never()).findByNumeroCuenta(any());
+        verify(cuentaRepository, never()).save(any());
+        verify(saldoDiarioService).registrar(movimiento);
+        verify(cuentaCache).actualizarSaldo("478758", Dinero.valueOf("2500.00"));
+    }
+
+    @Test
+    public void testRegistroAtomicoRechazaCuentaInactiva() {
+        when(cuentaRepository.aplicarMovimiento("478758", new BigDecimal("10.00"))).thenReturn(0);
+        when(cuentaRepository.findResumenByNumeroCuenta("478758")).thenReturn(Optional.of(
+                new ResumenCuentaDto("478758", "Ahorro", Dinero.valueOf("100.00"), Boolean.FALSE, 7L)));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> movimientoService.registerMovementAtomic("478758", "Deposito", Dinero.valueOf("10")));
+        assertEquals("Cuenta inactiva", ex.getMessage());
+        verifyNoInteractions(movimientoRepository, cuentaCache);
+        assertEquals(0, meterRegistry.find("movimientos.saldo.insuficiente").counters().size());
+    }
+
+    @Test
+    public void testRegistroAtomicoSaldoInsuficiente() {
+        when(cuentaRepository.aplicarMovimiento("495878", new BigDecimal("-10.00"))).thenReturn(0);
+        when(cuentaRepository.findResumenByNumeroCuenta("495878")).thenReturn(Optional.of(
+                new ResumenCuentaDto("495878", "Corriente", Dinero.valueOf("5.00"), Boolean.TRUE, 7L)));
+
+        assertThrows(SaldoInsuficienteException.class,
+                () -> movimientoService.registerMovementAtomic("495878", "Retiro", Dinero.valueOf("-10")));
+        verify(movimientoRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.get("movimientos.saldo.insuficiente").tag("registro", "individual")
+                .counter().count());
+    }
+
+    @Test
+    public void testRegistroMideCadaFaseYElResultado() {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta("478758");
+        cuenta.setSaldoInicial(Dinero.valueOf("100.00"));
+
+        when(cuentaRepository.findByNumeroCuenta("478758")).thenReturn(Optional.of(cuenta));
+        when(movimientoRepository.save(any(Movimiento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        movimientoService.registerMovement("478758", "Retiro", Dinero.valueOf("-40.00"));
+        assertThrows(SaldoInsuficienteException.class,
+                () -> movimientoService.registerMovement("478758", "Retiro", Dinero.valueOf("-90.00")));
+
+        assertEquals(1, meterRegistry.get("movimientos.registro").tag("resultado", "exitoso").timer().count());
+        assertEquals(1, meterRegistry.get("movimientos.registro").tag("resultado", "saldo_insuficiente").timer()
+                .count());
+        assertEquals(2, meterRegistry.get("movimientos.registro.fase").tag("fase", "busqueda").timer().count());
+        for (String fase : List.of("actualizacion", "insercion", "resumen")) {
+            assertEquals(1, meterRegistry.get("movimientos.registro.fase").tag("fase", fase).timer().count());
+        }
+        assertEquals(1.0, meterRegistry.get("movimientos.saldo.insuficiente").counter().count());
+    }
+
+    @Test
+    public void testRegistroAtomicoCuentaNoEncontrada() {
+        when(cuentaRepository.aplicarMovimiento("000000", new BigDecimal("10.00"))).thenReturn(0);
+        when(cuentaRepository.findResumenByNumeroCuenta("000000")).thenReturn(Optional.empty());
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> movimientoService.registerMovementAtomic("000000", "Deposito", Dinero.valueOf("10")));
+        assertEquals("Cuenta no encontrada", ex.getMessage());
+    }
+
+    @Test
+    public void testRegistroLoteAplicaEnOrdenDeLlegadaPorCuenta() {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta("225487");
+        cuenta.setSaldoInicial(Dinero.valueOf("100.00"));
+
+        when(cuentaRepository.findByNumeroCuentaInOrderByNumeroCuenta(List.of("000000", "225487")))
+                .thenReturn(List.of(cuenta));
+
+        List<ResultadoMovimientoDto> resultados = movimientoService.registerMovements(List.of(
+                solicitud("225487", "-80"),
+                solicitud("000000", "10"),
+                solicitud("225487", "-30"),
+                solicitud("225487", "50")));
+
+        assertEquals(4, resultados.size());
+        assertTrue(resultados.get(0).isExito());
+        assertEquals(Dinero.valueOf("20.00"), resultados.get(0).getMovimiento().getSaldo());
+        assertFalse(resultados.get(1).isExito());
+        assertEquals("Cuenta no encontrada", resultados.get(1).getError());
+        assertFalse(resultados.get(2).isExito());
+        assertTrue(resultados.get(2).getExcepcion() instanceof SaldoInsuficienteException);
+        assertTrue(resultados.get(3).isExito());
+        assertEquals(Dinero.valueOf("70.00"), resultados.get(3).getMovimiento().getSaldo());
+        assertEquals(Dinero.valueOf("70.00"), cuenta.getSaldoInicial());
+        verify(entityManager, times(2)).persist(any(Movimiento.class));
+        verify(saldoDiarioService).registrar(List.of(resultados.get(0).getMovimiento(), resultados.get(3).getMovimiento()));
+    }
+
+    @Test
+    public void testPaginaContinuaDesdeElUltimoMovimiento() {
+        Date inicio = SaldoDiarioService.inicioDelDia(LocalDate.of(2024, 8, 1));
+        Date fin = SaldoDiarioService.inicioDelDia(LocalDate.of(2024, 8, 2));
+        Date despues = new Date(inicio.getTime() + 2_000);
+        Movimiento primero = movimiento(1L, new Date(inicio.getTime() + 1_000));
+        Movimiento segundo = movimiento(2L, despues);
+        Movimiento tercero = movimiento(3L, despues);
+
+        // El último día se busca completo, hasta el inicio del siguiente
+        Date finExclusivo = SaldoDiarioService.inicioDelDia(LocalDate.of(2024, 8, 3));
+        when(movimientoRepository.findPaginaDespuesDe("478758", inicio, finExclusivo, inicio, Long.MIN_VALUE,
+                Limit.of(3))).thenReturn(List.of(primero, segundo, tercero));
+        when(movimientoRepository.findPaginaDespuesDe("478758", inicio, finExclusivo, despues, 2L, Limit.of(3)))
+                .thenReturn(List.of(tercero));
+
+        PaginaDto<Movimiento> pagina = movimientoService.findPage("478758", inicio, fin, 2, null);
+        assertEquals(List.of(primero, segundo), pagina.getElementos());
+
+        PaginaDto<Movimiento> siguiente = movimientoService.findPage("478758", inicio, fin, 2, pagina.getContinuacion());
+        assertEquals(List.of(tercero), siguiente.getElementos());
+        assertNull(siguiente.getContinuacion());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> movimientoService.findPage("478758", inicio, fin, 2, "no-es-un-token"));
+    }
+
+    private Movimiento movimiento(Long id, Date fecha) {
+        Movimiento movimiento = new Movimiento();
+        movimiento.setId(id);
+        movimiento.setFecha(fecha);
+        return movimiento;
+    }
+
+    private SolicitudMovimientoDto solicitud(String numeroCuenta, String valor) {
+        SolicitudMovimientoDto solicitud = new SolicitudMovimientoDto();
+        solicitud.setNumeroCuenta(numeroCuenta);
+        solicitud.setValor(Dinero.valueOf(valor));
+        return solicitud;
+    }
+}
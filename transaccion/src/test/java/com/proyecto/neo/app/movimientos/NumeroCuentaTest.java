@@ -0,0 +1,162 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.exceptions.CuentaExistenteException;
+import com.proyecto.neo.app.movimientos.repositories.BloqueNumeroCuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.services.ClienteLocalService;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+import com.proyecto.neo.app.movimientos.services.CuentaService;
+import com.proyecto.neo.app.movimientos.services.CuentaServiceImpl;
+import com.proyecto.neo.app.movimientos.services.EliminacionClienteService;
+import com.proyecto.neo.app.movimientos.services.NumeroCuentaGenerador;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = { "movimientos.cuentas.numero.longitud=8",
+        "movimientos.cuentas.numero.tamanio-bloque=10" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ NumeroCuentaGenerador.class, CuentaServiceImpl.class, CuentaCache.class, SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class NumeroCuentaTest {
+
+    @Autowired
+    private NumeroCuentaGenerador generador;
+
+    @Autowired
+    private BloqueNumeroCuentaRepository bloqueRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @MockBean
+    private ClienteLocalService clienteLocalService;
+
+    @MockBean
+    private EliminacionClienteService eliminacionClienteService;
+
+    @AfterEach
+    public void limpiar() {
+        cuentaRepository.deleteAll();
+        bloqueRepository.deleteAll();
+    }
+
+    @Test
+    public void testNumerosUnicosEntreHilosConUnaReservaPorBloque() throws Exception {
+        Set<String> numeros = ConcurrentHashMap.newKeySet();
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tareas.add(hilos.submit(() -> {
+                for (int j = 0; j < 50; j++) {
+                    numeros.add(generador.siguiente());
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        hilos.shutdown();
+
+        assertEquals(400, numeros.size());
+        assertEquals(39L, bloqueRepository.findUltimoBloque(8));
+        for (String numero : numeros) {
+            assertEquals(8, numero.length());
+            assertEquals(numero.charAt(7) - '0', NumeroCuentaGenerador.digitoVerificador(numero.substring(0, 7)));
+        }
+    }
+
+    @Test
+    public void testSaltaLosNumerosQueYaExisten() {
+        // Los dos primeros números del bloque 0 con su dígito de Luhn
+        cuenta("00000000");
+        cuenta("00000018");
+
+        assertEquals("00000026", generador.siguiente());
+        assertFalse(Set.of("00000000", "00000018").contains(generador.siguiente()));
+    }
+
+    @Test
+    public void testAltasSimultaneasConElMismoNumeroCreanUnaSolaCuenta() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Dinero saldo = Dinero.deCentavos(100L * (i + 1));
+            tareas.add(hilos.submit(() -> {
+                salida.await();
+                return cuentaService.create(7L, "Ahorro", saldo, "12345678");
+            }));
+        }
+        salida.countDown();
+
+        int creadas = 0;
+        for (Future<?> tarea : tareas) {
+            try {
+                tarea.get();
+                creadas++;
+            } catch (ExecutionException e) {
+                assertEquals(CuentaExistenteException.class, e.getCause().getClass());
+            }
+        }
+        hilos.shutdown();
+        assertEquals(1, creadas);
+
+        // El alta genérica tampoco reemplaza la cuenta existente
+        Dinero saldo = cuentaRepository.findSaldoByNumeroCuenta("12345678").orElseThrow();
+        Cuenta otra = new Cuenta();
+        otra.setNumeroCuenta("12345678");
+        otra.setTipoCuenta("Corriente");
+        otra.setSaldoInicial(Dinero.valueOf("999.00"));
+        otra.setEstado(Boolean.TRUE);
+        otra.setClienteId(8L);
+        assertThrows(CuentaExistenteException.class, () -> cuentaService.save(otra));
+        assertEquals(saldo, cuentaRepository.findSaldoByNumeroCuenta("12345678").orElseThrow());
+    }
+
+    @Test
+    public void testDigitoVerificadorDeLuhn() {
+        assertEquals(3, NumeroCuentaGenerador.digitoVerificador("7992739871"));
+        assertEquals(0, NumeroCuentaGenerador.digitoVerificador("0000000"));
+    }
+
+    private void cuenta(String numeroCuenta) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setTipoCuenta("Ahorro");
+        cuenta.setSaldoInicial(Dinero.CERO);
+        cuenta.setEstado(Boolean.TRUE);
+        cuenta.setClienteId(7L);
+        cuentaRepository.save(cuenta);
+    }
+}
@@ -0,0 +1,172 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import com.proyecto.neo.app.comun.ContadorSentencias;
+import com.proyecto.neo.app.comun.DataSourceMedido;
+import com.proyecto.neo.app.comun.PerfilSql;
+import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
+import com.proyecto.neo.app.movimientos.entities.ClienteLocal;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.repositories.ClienteLocalRepository;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.proyecto.neo.app.movimientos.services.ClienteCache;
+import com.proyecto.neo.app.movimientos.services.ClienteLocalService;
+import com.proyecto.neo.app.movimientos.services.ReporteService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Presupuestos de sentencias con {@link PerfilSql}. Sin transacción de prueba,
+ * para que cada operación pida su conexión dentro del perfil.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ReporteService.class, ClienteLocalService.class, ClienteCache.class, SimpleMeterRegistry.class,
+        PerfilSqlTest.MedirSql.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PerfilSqlTest {
+
+    @Autowired
+    private ReporteService reporteService;
+
+    @Autowired
+    private ClienteLocalRepository clienteLocalRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    private final Date inicio = new Date(0);
+    private final Date fin = new Date(System.currentTimeMillis() + 60_000);
+
+    @BeforeEach
+    public void setup() {
+        ClienteLocal cliente = new ClienteLocal();
+        cliente.setId(7L);
+        cliente.setNombre("Jose Lema");
+        cliente.setEstado(Boolean.TRUE);
+        clienteLocalRepository.save(cliente);
+        for (String numeroCuenta : List.of("225487", "478758", "496825")) {
+            Cuenta cuenta = new Cuenta();
+            cuenta.setNumeroCuenta(numeroCuenta);
+            cuenta.setTipoCuenta("Ahorro");
+            cuenta.setSaldoInicial(Dinero.valueOf("100.00"));
+            cuenta.setEstado(Boolean.TRUE);
+            cuenta.setClienteId(7L);
+            cuentaRepository.save(cuenta);
+
+            Movimiento movimiento = new Movimiento();
+            movimiento.setCuenta(cuenta);
+            movimiento.setFecha(new Date());
+            movimiento.setTipoMovimiento("Deposito de 100.00");
+            movimiento.setValor(Dinero.valueOf("100.00"));
+            movimiento.setSaldo(Dinero.valueOf("100.00"));
+            movimientoRepository.save(movimiento);
+        }
+    }
+
+    @AfterEach
+    public void limpiar() {
+        movimientoRepository.deleteAll();
+        cuentaRepository.deleteAll();
+        clienteLocalRepository.deleteAll();
+    }
+
+    @Test
+    public void testReporteCabeEnSuPresupuesto() throws Exception {
+        EstadoCuentaDto[] reporte = new EstadoCuentaDto[1];
+
+        PerfilSql perfil = PerfilSql.medir(() -> reporte[0] = reporteService.generarReporte(7L, inicio, fin))
+                .verificarMaximoSentencias(3)
+                .verificarSinRepeticiones(2);
+
+        assertEquals(3, reporte[0].getCuentas().size());
+        // El cliente y las tres filas de cuenta con su movimiento
+        assertEquals(4, perfil.getFilas());
+    }
+
+    @Test
+    public void testDetectaUnaConsultaPorCadaCuenta() throws Exception {
+        PerfilSql perfil = PerfilSql.medir(() -> cuentaRepository.findByClienteId(7L).forEach(cuenta -> movimientoRepository
+                .findByCuenta_NumeroCuentaAndFechaBetween(cuenta.getNumeroCuenta(), inicio, fin)));
+
+        assertEquals(4, perfil.getSentencias());
+        List<Map.Entry<String, Integer>> repetidas = perfil.repetidas(3);
+        assertEquals(1, repetidas.size());
+        assertTrue(repetidas.get(0).getKey().contains("from movimientos"));
+        assertEquals(3, repetidas.get(0).getValue());
+        assertThrows(AssertionError.class, () -> perfil.verificarSinRepeticiones(3));
+    }
+
+    @Test
+    public void testUnPerfilInternoSeSumaAlQueLoContiene() throws Exception {
+        PerfilSql[] interno = new PerfilSql[1];
+
+        PerfilSql externo = PerfilSql.medir(() -> {
+            cuentaRepository.findByClienteId(7L);
+            interno[0] = PerfilSql.medir(() -> cuentaRepository.findByNumeroCuenta("478758"));
+        });
+
+        assertEquals(1, interno[0].getSentencias());
+        assertEquals(2, externo.getSentencias());
+    }
+
+    @TestConfiguration
+    static class MedirSql {
+        @Bean
+        HibernatePropertiesCustomizer inspectorSentencias() {
+            return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSentencias());
+        }
+
+        @Bean
+        static BeanPostProcessor medirSql() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof DataSourceMedido)
+                            ? new DataSourceMedido(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+}
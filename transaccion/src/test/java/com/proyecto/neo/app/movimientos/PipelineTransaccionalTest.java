@@ -0,0 +1,129 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.proyecto.neo.app.movimientos.entities.ClienteLocal;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.repositories.ClienteLocalRepository;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.proyecto.neo.app.movimientos.repositories.SaldoDiarioRepository;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+import com.proyecto.neo.app.movimientos.services.MovimientoPipeline;
+import com.proyecto.neo.app.movimientos.services.MovimientoServiceImpl;
+import com.proyecto.neo.app.movimientos.services.SaldoDiarioService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * El pipeline con varias particiones registrando en H2, cada lote en su
+ * transacción. Cada cuenta recibe depósitos seguidos de retiros del mismo
+ * valor, que solo tienen saldo si se aplican en el orden en que se encolaron.
+ */
+@DataJpaTest(properties = { "movimientos.pipeline.habilitado=true", "movimientos.pipeline.particiones=4",
+        "movimientos.pipeline.tamanio-lote=16" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ MovimientoPipeline.class, MovimientoServiceImpl.class, SaldoDiarioService.class, CuentaCache.class,
+        SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PipelineTransaccionalTest {
+
+    private static final List<String> CUENTAS = List.of("225487", "478758", "496825", "585545", "123456", "654321");
+
+    private static final int DEPOSITOS_POR_CUENTA = 40;
+
+    @Autowired
+    private MovimientoPipeline pipeline;
+
+    @Autowired
+    private ClienteLocalRepository clienteLocalRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Autowired
+    private SaldoDiarioRepository saldoDiarioRepository;
+
+    @BeforeEach
+    public void setup() {
+        ClienteLocal cliente = new ClienteLocal();
+        cliente.setId(7L);
+        cliente.setNombre("Jose Lema");
+        cliente.setEstado(Boolean.TRUE);
+        clienteLocalRepository.save(cliente);
+        for (String numeroCuenta : CUENTAS) {
+            Cuenta cuenta = new Cuenta();
+            cuenta.setNumeroCuenta(numeroCuenta);
+            cuenta.setTipoCuenta("Ahorro");
+            cuenta.setSaldoInicial(Dinero.CERO);
+            cuenta.setEstado(Boolean.TRUE);
+            cuenta.setClienteId(7L);
+            cuentaRepository.save(cuenta);
+        }
+    }
+
+    @AfterEach
+    public void limpiar() {
+        saldoDiarioRepository.deleteAll();
+        movimientoRepository.deleteAll();
+        cuentaRepository.deleteAll();
+        clienteLocalRepository.deleteAll();
+    }
+
+    @Test
+    public void testConservaElOrdenDeCadaCuentaEntreParticiones() throws Exception {
+        // Un hilo por cuenta, para que el orden de llegada de cada una sea conocido
+        List<CompletableFuture<Void>> clientes = new ArrayList<>();
+        for (String numeroCuenta : CUENTAS) {
+            clientes.add(CompletableFuture.runAsync(() -> {
+                List<CompletableFuture<Movimiento>> registros = new ArrayList<>();
+                for (int i = 1; i <= DEPOSITOS_POR_CUENTA; i++) {
+                    registros.add(pipeline.submit(numeroCuenta, "Deposito", Dinero.deCentavos(i * 100L)));
+                    registros.add(pipeline.submit(numeroCuenta, "Retiro", Dinero.deCentavos(-i * 100L)));
+                }
+                registros.forEach(CompletableFuture::join);
+            }));
+        }
+        CompletableFuture.allOf(clientes.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+        List<Movimiento> movimientos = (List<Movimiento>) movimientoRepository.findAll();
+        movimientos.sort(Comparator.comparing(Movimiento::getId));
+        for (String numeroCuenta : CUENTAS) {
+            List<Movimiento> deLaCuenta = movimientos.stream()
+                    .filter(movimiento -> movimiento.getCuenta().getNumeroCuenta().equals(numeroCuenta))
+                    .toList();
+            assertEquals(2 * DEPOSITOS_POR_CUENTA, deLaCuenta.size());
+            for (int i = 0; i < DEPOSITOS_POR_CUENTA; i++) {
+                Dinero valor = Dinero.deCentavos((i + 1) * 100L);
+                assertEquals(valor, deLaCuenta.get(2 * i).getValor());
+                assertEquals(valor, deLaCuenta.get(2 * i).getSaldo());
+                assertEquals(valor.negar(), deLaCuenta.get(2 * i + 1).getValor());
+                assertEquals(Dinero.CERO, deLaCuenta.get(2 * i + 1).getSaldo());
+            }
+            assertEquals(Dinero.CERO, cuentaRepository.findSaldoByNumeroCuenta(numeroCuenta).orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.proyecto.neo.app.movimientos.entities.ClienteLocal;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.exceptions.SaldoInsuficienteException;
+import com.proyecto.neo.app.movimientos.repositories.ClienteLocalRepository;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.proyecto.neo.app.movimientos.repositories.SaldoDiarioRepository;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+import com.proyecto.neo.app.movimientos.services.MovimientoService;
+import com.proyecto.neo.app.movimientos.services.MovimientoServiceImpl;
+import com.proyecto.neo.app.movimientos.services.SaldoDiarioService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Retiros simultáneos sobre una misma cuenta con la actualización condicional
+ * de {@link CuentaRepository#aplicarMovimiento}, cada uno en su propia
+ * transacción contra H2. Se usan menos hilos que conexiones tiene el pool,
+ * porque cada registro pide además una conexión para el generador de ids.
+ * La misma sentencia rechaza los débitos a una cuenta ya desactivada.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ MovimientoServiceImpl.class, SaldoDiarioService.class, CuentaCache.class, SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RegistroConcurrenteTest {
+
+    private static final int HILOS = 8;
+
+    private static final int RETIROS_POR_HILO = 10;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private ClienteLocalRepository clienteLocalRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @Autowired
+    private SaldoDiarioRepository saldoDiarioRepository;
+
+    @Autowired
+    private CuentaCache cuentaCache;
+
+    @BeforeEach
+    public void setup() {
+        ClienteLocal cliente = new ClienteLocal();
+        cliente.setId(7L);
+        cliente.setNombre("Jose Lema");
+        cliente.setEstado(Boolean.TRUE);
+        clienteLocalRepository.save(cliente);
+
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta("478758");
+        cuenta.setTipoCuenta("Ahorro");
+        cuenta.setSaldoInicial(Dinero.valueOf("100.00"));
+        cuenta.setEstado(Boolean.TRUE);
+        cuenta.setClienteId(7L);
+        cuentaRepository.save(cuenta);
+    }
+
+    @AfterEach
+    public void limpiar() {
+        saldoDiarioRepository.deleteAll();
+        movimientoRepository.deleteAll();
+        cuentaRepository.deleteAll();
+        clienteLocalRepository.deleteAll();
+    }
+
+    @Test
+    public void testRetirosSimultaneosNoSobregiranLaCuenta() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<int[]>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < HILOS; i++) {
+                resultados.add(hilos.submit((Callable<int[]>) () -> {
+                    salida.await();
+                    int[] exitososYRechazados = new int[2];
+                    for (int j = 0; j < RETIROS_POR_HILO; j++) {
+                        try {
+                            movimientoService.registerMovementAtomic("478758", "Retiro", Dinero.valueOf("-7.00"));
+                            exitososYRechazados[0]++;
+                        } catch (SaldoInsuficienteException e) {
+                            exitososYRechazados[1]++;
+                        }
+                    }
+                    return exitososYRechazados;
+                }));
+            }
+            salida.countDown();
+
+            int exitosos = 0;
+            int rechazados = 0;
+            for (Future<int[]> resultado : resultados) {
+                int[] exitososYRechazados = resultado.get(60, TimeUnit.SECONDS);
+                exitosos += exitososYRechazados[0];
+                rechazados += exitososYRechazados[1];
+            }
+
+            // 100.00 alcanza para 14 retiros de 7.00; el resto se rechaza sin tocar el saldo
+            assertEquals(14, exitosos);
+            assertEquals(HILOS * RETIROS_POR_HILO - 14, rechazados);
+            assertEquals(Dinero.valueOf("2.00"), cuentaRepository.findSaldoByNumeroCuenta("478758").orElseThrow());
+
+            // Cada movimiento guarda un saldo distinto: los retiros se aplicaron uno tras otro
+            List<Movimiento> movimientos = (List<Movimiento>) movimientoRepository.findAll();
+            movimientos.sort(Comparator.comparing(Movimiento::getSaldo).reversed());
+            assertEquals(14, movimientos.size());
+            for (int i = 0; i < movimientos.size(); i++) {
+                assertFalse(movimientos.get(i).getSaldo().esNegativo());
+                assertEquals(Dinero.deCentavos(10_000 - 700L * (i + 1)), movimientos.get(i).getSaldo());
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCuentaDesactivadaNoSeDebitaAunqueLaCacheLaVeaActiva() {
+        // La caché ve la cuenta activa; luego se desactiva directamente en la base
+        assertTrue(cuentaCache.obtener("478758").orElseThrow().getEstado());
+        Cuenta cuenta = cuentaRepository.findById("478758").orElseThrow();
+        cuenta.setEstado(Boolean.FALSE);
+        cuentaRepository.save(cuenta);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> movimientoService.registerMovementAtomic("478758", "Retiro", Dinero.valueOf("-7.00")));
+
+        assertEquals("Cuenta inactiva", ex.getMessage());
+        assertEquals(Dinero.valueOf("100.00"), cuentaRepository.findSaldoByNumeroCuenta("478758").orElseThrow());
+        assertEquals(0, movimientoRepository.count());
+    }
+}
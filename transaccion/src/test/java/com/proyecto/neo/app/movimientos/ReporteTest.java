@@ -0,0 +1,262 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ClienteDto;
+import com.proyecto.neo.app.movimientos.dto.EstadoCuentaDto;
+import com.proyecto.neo.app.movimientos.entities.ClienteLocal;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.entities.SaldoDiario;
+import com.proyecto.neo.app.movimientos.services.ClienteCache;
+import com.proyecto.neo.app.movimientos.services.ClienteLocalService;
+import com.proyecto.neo.app.movimientos.services.CuentaCache;
+import com.proyecto.neo.app.movimientos.services.MovimientoService;
+import com.proyecto.neo.app.movimientos.services.MovimientoServiceImpl;
+import com.proyecto.neo.app.movimientos.services.ReporteService;
+import com.proyecto.neo.app.movimientos.services.SaldoDiarioService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ReporteService.class, SaldoDiarioService.class, ClienteLocalService.class, ClienteCache.class,
+        MovimientoServiceImpl.class, CuentaCache.class, SimpleMeterRegistry.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class ReporteTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReporteService reporteService;
+
+    @Autowired
+    private SaldoDiarioService saldoDiarioService;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    private ClienteDto cliente;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry.clear();
+        cliente = new ClienteDto();
+        cliente.setId(7L);
+        cliente.setNombre("Jose Lema");
+
+        Cuenta ahorros = cuenta("478758", "Ahorro");
+        movimiento(ahorros, fecha(2024, 7, 2), "575.00", "575.00");
+        movimiento(ahorros, fecha(2024, 7, 1), "100.00", "100.00");
+        movimiento(ahorros, fecha(2024, 9, 1), "50.00", "625.00");
+        Cuenta corriente = cuenta("225487", "Corriente");
+        movimiento(corriente, fecha(2024, 7, 15), "-40.00", "60.00");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testReporteSeArmaConUnaConsultaDeMovimientosYUnaDeSaldos() {
+        clienteLocal();
+        cuenta("496825", "Ahorro");
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        EstadoCuentaDto reporte = reporteService.generarReporte(7L, fecha(2024, 7, 1), fecha(2024, 8, 1));
+
+        // El cliente por clave primaria en la proyección local, los movimientos y los saldos
+        assertEquals(3, estadisticas.getPrepareStatementCount());
+        // Solo el cliente local; ni cuentas ni movimientos se cargan como entidades
+        assertEquals(1, estadisticas.getEntityLoadCount());
+        assertEquals(3, reporte.getCuentas().size());
+        assertEquals("225487", reporte.getCuentas().get(0).getNumeroCuenta());
+        assertEquals(1, reporte.getCuentas().get(0).getMovimientos().size());
+        assertEquals(2, reporte.getCuentas().get(1).getMovimientos().size());
+        assertTrue(reporte.getCuentas().get(2).getMovimientos().isEmpty());
+    }
+
+    @Test
+    public void testReporteConElClienteEnLaProyeccionLocalNoLlamaAlMicroservicio() {
+        clienteLocal();
+
+        EstadoCuentaDto reporte = reporteService.generarReporte(7L, fecha(2024, 7, 1), fecha(2024, 8, 1));
+
+        assertEquals("Jose Lema", reporte.getClienteNombre());
+        verifyNoInteractions(restTemplate);
+        assertEquals(1, meterRegistry.get("reportes.generacion").tag("formato", "completo").tag("cuentas", "2-5")
+                .tag("movimientos", "0-100").timer().count());
+    }
+
+    @Test
+    public void testReporteEnStreamingFiltraPorRangoYOrdenaPorFecha() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        reporteService.escribirReporte(cliente, fecha(2024, 7, 1), fecha(2024, 8, 1), salida);
+
+        EstadoCuentaDto reporte = objectMapper.readValue(salida.toByteArray(), EstadoCuentaDto.class);
+        assertEquals(7L, reporte.getClienteId());
+        assertEquals("Jose Lema", reporte.getClienteNombre());
+        assertEquals(2, reporte.getCuentas().size());
+
+        EstadoCuentaDto.CuentaDto ahorros = reporte.getCuentas().stream()
+                .filter(c -> c.getNumeroCuenta().equals("478758")).findFirst().orElseThrow();
+        assertEquals(2, ahorros.getMovimientos().size());
+        assertEquals(Dinero.valueOf("100.00"), ahorros.getMovimientos().get(0).getValor());
+        assertEquals(Dinero.valueOf("575.00"), ahorros.getMovimientos().get(1).getSaldo());
+    }
+
+    @Test
+    public void testReporteTomaSaldosYTotalesDeLosResumenesDiarios() {
+        when(restTemplate.getForEntity(anyString(), eq(ClienteDto.class), eq(7L)))
+                .thenReturn(ResponseEntity.ok(cliente));
+        assertEquals(4, saldoDiarioService.reconstruir(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+
+        EstadoCuentaDto reporte = reporteService.generarReporte(7L, fecha(2024, 7, 2), fecha(2024, 8, 1));
+
+        EstadoCuentaDto.CuentaDto corriente = reporte.getCuentas().get(0);
+        assertEquals(Dinero.valueOf("100.00"), corriente.getSaldoApertura());
+        assertEquals(Dinero.valueOf("60.00"), corriente.getSaldoCierre());
+        assertEquals(Dinero.valueOf("40.00"), corriente.getTotalDebitos());
+        assertEquals(1L, corriente.getCantidadMovimientos());
+
+        // El 1 de julio queda antes del periodo: la apertura es su cierre
+        EstadoCuentaDto.CuentaDto ahorros = reporte.getCuentas().get(1);
+        assertEquals(Dinero.valueOf("100.00"), ahorros.getSaldoApertura());
+        assertEquals(Dinero.valueOf("575.00"), ahorros.getSaldoCierre());
+        assertEquals(Dinero.valueOf("575.00"), ahorros.getTotalCreditos());
+        assertEquals(1L, ahorros.getCantidadMovimientos());
+    }
+
+    @Test
+    public void testElUltimoDiaEntraCompletoEnMovimientosYTotales() throws Exception {
+        when(restTemplate.getForEntity(anyString(), eq(ClienteDto.class), eq(7L)))
+                .thenReturn(ResponseEntity.ok(cliente));
+        Cuenta corriente = entityManager.find(Cuenta.class, "225487");
+        movimiento(corriente, Date.from(fecha(2024, 8, 1).toInstant().plusSeconds(15 * 3600)), "-10.00", "50.00");
+        movimiento(corriente, fecha(2024, 8, 2), "-5.00", "45.00");
+        entityManager.flush();
+        saldoDiarioService.reconstruir(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        EstadoCuentaDto reporte = reporteService.generarReporte(7L, fecha(2024, 7, 2), fecha(2024, 8, 1));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        reporteService.escribirReporte(cliente, fecha(2024, 7, 2), fecha(2024, 8, 1), salida);
+        EstadoCuentaDto enStreaming = objectMapper.readValue(salida.toByteArray(), EstadoCuentaDto.class);
+
+        // El movimiento de la tarde del 1 de agosto está en la lista y en los totales; el del 2, en ninguno
+        for (EstadoCuentaDto reporteGenerado : List.of(reporte, enStreaming)) {
+            EstadoCuentaDto.CuentaDto cuenta = reporteGenerado.getCuentas().stream()
+                    .filter(c -> c.getNumeroCuenta().equals("225487")).findFirst().orElseThrow();
+            assertEquals(2, cuenta.getMovimientos().size());
+            assertEquals(2L, cuenta.getCantidadMovimientos());
+            assertEquals(Dinero.valueOf("50.00"), cuenta.getTotalDebitos());
+            assertEquals(Dinero.valueOf("50.00"), cuenta.getSaldoCierre());
+        }
+
+        // El listado por páginas devuelve los mismos movimientos para el mismo rango
+        PaginaDto<Movimiento> pagina = movimientoService.findPage("225487", fecha(2024, 7, 2), fecha(2024, 8, 1), 50,
+                null);
+        assertEquals(2, pagina.getElementos().size());
+        assertEquals(Dinero.valueOf("-10.00"), pagina.getElementos().get(1).getValor());
+    }
+
+    @Test
+    public void testResumenDiarioAcumulaLosMovimientosRegistrados() {
+        Cuenta cuenta = entityManager.find(Cuenta.class, "225487");
+        saldoDiarioService.registrar(List.of(
+                nuevoMovimiento(cuenta, fecha(2024, 10, 1), "30.00", "90.00"),
+                nuevoMovimiento(cuenta, fecha(2024, 10, 1), "-50.00", "40.00")));
+        saldoDiarioService.registrar(nuevoMovimiento(cuenta, fecha(2024, 10, 1), "5.00", "45.00"));
+        entityManager.clear();
+
+        SaldoDiario saldo = entityManager.find(SaldoDiario.class,
+                new SaldoDiario.Clave("225487", LocalDate.of(2024, 10, 1)));
+        assertEquals(Dinero.valueOf("45.00"), saldo.getSaldoCierre());
+        assertEquals(Dinero.valueOf("35.00"), saldo.getTotalCreditos());
+        assertEquals(Dinero.valueOf("50.00"), saldo.getTotalDebitos());
+        assertEquals(3L, saldo.getCantidadMovimientos());
+        assertEquals(Dinero.valueOf("60.00"), saldo.getSaldoApertura());
+    }
+
+    private void clienteLocal() {
+        ClienteLocal local = new ClienteLocal();
+        local.setId(7L);
+        local.setNombre("Jose Lema");
+        local.setEstado(Boolean.TRUE);
+        entityManager.persistAndFlush(local);
+        entityManager.clear();
+    }
+
+    private Cuenta cuenta(String numeroCuenta, String tipoCuenta) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setTipoCuenta(tipoCuenta);
+        cuenta.setSaldoInicial(Dinero.CERO);
+        cuenta.setEstado(Boolean.TRUE);
+        cuenta.setClienteId(7L);
+        return entityManager.persist(cuenta);
+    }
+
+    private void movimiento(Cuenta cuenta, Date fecha, String valor, String saldo) {
+        entityManager.persist(nuevoMovimiento(cuenta, fecha, valor, saldo));
+    }
+
+    private Movimiento nuevoMovimiento(Cuenta cuenta, Date fecha, String valor, String saldo) {
+        Movimiento movimiento = new Movimiento();
+        movimiento.setCuenta(cuenta);
+        movimiento.setFecha(fecha);
+        movimiento.setTipoMovimiento("Deposito");
+        movimiento.setValor(Dinero.valueOf(valor));
+        movimiento.setSaldo(Dinero.valueOf(saldo));
+        return movimiento;
+    }
+
+    private static Date fecha(int anio, int mes, int dia) {
+        return Date.from(LocalDate.of(anio, mes, dia).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
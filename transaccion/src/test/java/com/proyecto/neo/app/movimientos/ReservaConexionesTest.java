@@ -0,0 +1,153 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.neo.app.comun.DataSourceConReserva;
+import com.proyecto.neo.app.movimientos.entities.ClienteLocal;
+import com.proyecto.neo.app.movimientos.entities.Cuenta;
+import com.proyecto.neo.app.movimientos.entities.Dinero;
+import com.proyecto.neo.app.movimientos.entities.Movimiento;
+import com.proyecto.neo.app.movimientos.repositories.ClienteLocalRepository;
+import com.proyecto.neo.app.movimientos.repositories.CuentaRepository;
+import com.proyecto.neo.app.movimientos.repositories.MovimientoRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Tantas transacciones como conexiones tiene el pool, que piden a la vez el
+ * primer bloque de movimientos_seq, con el pool que arma
+ * {@link AppConfig#reservaConexiones}. Una reserva el bloque con una segunda
+ * conexión mientras la otra la espera reteniendo la suya; sin la reserva la
+ * primera agotaría el timeout de conexión.
+ */
+@DataJpaTest(properties = { "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReservaConexionesTest.Reserva.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReservaConexionesTest {
+
+    private static final int HILOS = 2;
+
+    // Más de un bloque de 50, para que también se reserven bloques con el pool ya en uso
+    private static final int MOVIMIENTOS_POR_HILO = 60;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClienteLocalRepository clienteLocalRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private MovimientoRepository movimientoRepository;
+
+    @BeforeEach
+    public void setup() {
+        ClienteLocal cliente = new ClienteLocal();
+        cliente.setId(7L);
+        cliente.setNombre("Jose Lema");
+        cliente.setEstado(Boolean.TRUE);
+        clienteLocalRepository.save(cliente);
+        for (int i = 0; i < HILOS; i++) {
+            Cuenta cuenta = new Cuenta();
+            cuenta.setNumeroCuenta("47875" + i);
+            cuenta.setTipoCuenta("Ahorro");
+            cuenta.setSaldoInicial(Dinero.CERO);
+            cuenta.setEstado(Boolean.TRUE);
+            cuenta.setClienteId(7L);
+            cuentaRepository.save(cuenta);
+        }
+    }
+
+    @AfterEach
+    public void limpiar() {
+        movimientoRepository.deleteAll();
+        cuentaRepository.deleteAll();
+        clienteLocalRepository.deleteAll();
+    }
+
+    @Test
+    public void testInsercionesConElPoolLlenoNoSeBloquean() throws Exception {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        CyclicBarrier poolLleno = new CyclicBarrier(HILOS);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<CompletableFuture<Void>> registros = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                String numeroCuenta = "47875" + i;
+                registros.add(CompletableFuture.runAsync(() -> transaccion.executeWithoutResult(estado -> {
+                    // Con la cuenta leída, cada transacción ya retiene una de las dos conexiones
+                    Cuenta cuenta = cuentaRepository.findByNumeroCuenta(numeroCuenta).orElseThrow();
+                    try {
+                        poolLleno.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    for (int j = 0; j < MOVIMIENTOS_POR_HILO; j++) {
+                        movimientoRepository.save(movimiento(cuenta));
+                    }
+                }), hilos));
+            }
+            CompletableFuture.allOf(registros.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertEquals(HILOS * MOVIMIENTOS_POR_HILO, movimientoRepository.count());
+        HikariDataSource reserva = (HikariDataSource) dataSource.unwrap(DataSourceConReserva.class).getReserva();
+        assertTrue(reserva.getHikariPoolMXBean().getTotalConnections() > 0);
+    }
+
+    private static Movimiento movimiento(Cuenta cuenta) {
+        Movimiento movimiento = new Movimiento();
+        movimiento.setCuenta(cuenta);
+        movimiento.setFecha(new Date());
+        movimiento.setTipoMovimiento("Deposito de 1.00");
+        movimiento.setValor(Dinero.valueOf("1.00"));
+        movimiento.setSaldo(Dinero.valueOf("1.00"));
+        return movimiento;
+    }
+
+    @TestConfiguration
+    static class Reserva {
+        @Bean
+        static BeanPostProcessor reservaConexiones(Environment environment) {
+            return AppConfig.reservaConexiones(environment);
+        }
+    }
+}
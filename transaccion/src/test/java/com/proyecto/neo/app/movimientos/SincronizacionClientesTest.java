@@ -0,0 +1,120 @@
+package com.proyecto.neo.app.movimientos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import com.proyecto.neo.app.comun.PaginaDto;
+import com.proyecto.neo.app.movimientos.dto.ClienteDto;
+import com.proyecto.neo.app.movimientos.dto.EventoClienteDto;
+import com.proyecto.neo.app.movimientos.dto.FeedEventosDto;
+import com.proyecto.neo.app.movimientos.entities.ClienteLocal;
+import com.proyecto.neo.app.movimientos.repositories.ClienteLocalRepository;
+import com.proyecto.neo.app.movimientos.repositories.SincronizacionRepository;
+import com.proyecto.neo.app.movimientos.services.SincronizacionClientesService;
+
+@DataJpaTest(properties = "movimientos.clientes.sincronizacion.habilitada=false")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SincronizacionClientesService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SincronizacionClientesTest {
+
+    @Autowired
+    private SincronizacionClientesService sincronizacionService;
+
+    @Autowired
+    private ClienteLocalRepository clienteLocalRepository;
+
+    @Autowired
+    private SincronizacionRepository sincronizacionRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @AfterEach
+    public void limpiar() {
+        clienteLocalRepository.deleteAll();
+        sincronizacionRepository.deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCargaInicialYLuegoAplicaLosEventosDesdeLaCabeza() {
+        when(restTemplate.getForObject(anyString(), eq(FeedEventosDto.class), eq(0L), eq(1)))
+                .thenReturn(feed(5L));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class),
+                eq(500), isNull()))
+                .thenReturn(ResponseEntity.ok(new PaginaDto<>(List.of(cliente(1L, "Jose Lema", true),
+                        cliente(2L, "Marianela Montalvo", true)), null)));
+        // Tras la copia: el cliente 1 cambia dos veces, el 2 se elimina y el 3 se crea
+        when(restTemplate.getForObject(anyString(), eq(FeedEventosDto.class), eq(5L), eq(500)))
+                .thenReturn(feed(9L,
+                        evento(6L, 1L, "ACTUALIZADO", cliente(1L, "Jose Lema Ortiz", true)),
+                        evento(7L, 2L, "ELIMINADO", null),
+                        evento(8L, 3L, "CREADO", cliente(3L, "Juan Osorio", true)),
+                        evento(9L, 1L, "ACTUALIZADO", cliente(1L, "Jose Lema Ortiz", false))));
+        when(restTemplate.getForObject(anyString(), eq(FeedEventosDto.class), eq(9L), eq(500)))
+                .thenReturn(feed(9L));
+
+        assertEquals(9L, sincronizacionService.sincronizar());
+
+        ClienteLocal jose = clienteLocalRepository.findById(1L).orElseThrow();
+        assertEquals("Jose Lema Ortiz", jose.getNombre());
+        assertFalse(jose.getEstado());
+        assertFalse(clienteLocalRepository.existsById(2L));
+        assertEquals("Juan Osorio", clienteLocalRepository.findById(3L).orElseThrow().getNombre());
+
+        // La siguiente sincronización retoma desde la posición guardada, sin repetir la carga
+        assertEquals(9L, sincronizacionService.sincronizar());
+        verify(restTemplate, never()).getForObject(anyString(), eq(FeedEventosDto.class), eq(9L), eq(1));
+        assertEquals(9L, sincronizacionRepository.findById("clientes").orElseThrow().getPosicion());
+    }
+
+    private static FeedEventosDto feed(Long cabeza, EventoClienteDto... eventos) {
+        FeedEventosDto feed = new FeedEventosDto();
+        feed.setCabeza(cabeza);
+        feed.setEventos(List.of(eventos));
+        return feed;
+    }
+
+    private static EventoClienteDto evento(Long posicion, Long clienteId, String tipo, ClienteDto cliente) {
+        EventoClienteDto evento = new EventoClienteDto();
+        evento.setPosicion(posicion);
+        evento.setClienteId(clienteId);
+        evento.setTipo(tipo);
+        evento.setCliente(cliente);
+        return evento;
+    }
+
+    private static ClienteDto cliente(Long id, String nombre, boolean estado) {
+        ClienteDto cliente = new ClienteDto();
+        cliente.setId(id);
+        cliente.setNombre(nombre);
+        cliente.setEstado(estado);
+        return cliente;
+    }
+}